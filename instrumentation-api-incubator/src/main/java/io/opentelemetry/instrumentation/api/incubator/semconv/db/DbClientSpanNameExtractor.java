@@ -211,7 +211,8 @@ public abstract class DbClientSpanNameExtractor<REQUEST> implements SpanNameExtr
           return computeSpanName(dbName, null, null, null);
         }
         SqlQuery analyzedQuery =
-            SqlQueryAnalyzerUtil.analyze(rawQueryTexts.iterator().next(), dialect);
+            SqlQueryAnalyzerUtil.analyze(
+                rawQueryTexts.iterator().next(), dialect, getter.getPreparedQuery(request, 0));
         return computeSpanName(
             dbName,
             analyzedQuery.getOperationName(),
@@ -221,7 +222,9 @@ public abstract class DbClientSpanNameExtractor<REQUEST> implements SpanNameExtr
 
       if (rawQueryTexts.size() == 1) {
         String rawQueryText = rawQueryTexts.iterator().next();
-        SqlQuery analyzedQuery = SqlQueryAnalyzerUtil.analyzeWithSummary(rawQueryText, dialect);
+        SqlQuery analyzedQuery =
+            SqlQueryAnalyzerUtil.analyzeWithSummary(
+                rawQueryText, dialect, getter.getPreparedQuery(request, 0));
         boolean batch = isBatch(request);
         String querySummary = analyzedQuery.getQuerySummary();
         if (querySummary != null) {
@@ -282,7 +285,8 @@ public abstract class DbClientSpanNameExtractor<REQUEST> implements SpanNameExtr
       if (rawQueryTexts.size() == 1) {
         String rawQuery = rawQueryTexts.iterator().next();
         SqlDialect dialect = getter.getSqlDialect(request);
-        SqlQuery analyzedQuery = SqlQueryAnalyzerUtil.analyze(rawQuery, dialect);
+        SqlQuery analyzedQuery =
+            SqlQueryAnalyzerUtil.analyze(rawQuery, dialect, getter.getPreparedQuery(request, 0));
         operationName = analyzedQuery.getOperationName();
       }
       return computeSpanName(dbName, operationName, null, null);
@@ -0,0 +1,66 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds the analyzed query of a prepared statement, so that the query text of a statement that is
+ * executed many times is looked up once instead of on every execution.
+ *
+ * <p>Instrumentations attach an instance to the prepared statement of the instrumented library, for
+ * example with a {@code VirtualField}, and return it from {@link
+ * SqlClientAttributesGetter#getPreparedQuery(Object, int)}.
+ */
+public final class PreparedSqlQuery {
+
+  @Nullable private volatile Entry analyzed;
+  @Nullable private volatile Entry analyzedWithSummary;
+
+  public static PreparedSqlQuery create() {
+    return new PreparedSqlQuery();
+  }
+
+  private PreparedSqlQuery() {}
+
+  SqlQuery analyze(String queryText, SqlDialect dialect) {
+    Entry entry = analyzed;
+    if (entry == null || !entry.matches(queryText, dialect)) {
+      entry = new Entry(queryText, dialect, SqlQueryAnalyzerUtil.analyze(queryText, dialect));
+      analyzed = entry;
+    }
+    return entry.query;
+  }
+
+  SqlQuery analyzeWithSummary(String queryText, SqlDialect dialect) {
+    Entry entry = analyzedWithSummary;
+    if (entry == null || !entry.matches(queryText, dialect)) {
+      entry =
+          new Entry(
+              queryText, dialect, SqlQueryAnalyzerUtil.analyzeWithSummary(queryText, dialect));
+      analyzedWithSummary = entry;
+    }
+    return entry.query;
+  }
+
+  private static final class Entry {
+    private final String queryText;
+    private final SqlDialect dialect;
+    private final SqlQuery query;
+
+    private Entry(String queryText, SqlDialect dialect, SqlQuery query) {
+      this.queryText = queryText;
+      this.dialect = dialect;
+      this.query = query;
+    }
+
+    // the query text of a prepared statement is usually the same instance on every execution, so
+    // that equals() returns on the identity check
+    private boolean matches(String queryText, SqlDialect dialect) {
+      return this.dialect == dialect && this.queryText.equals(queryText);
+    }
+  }
+}
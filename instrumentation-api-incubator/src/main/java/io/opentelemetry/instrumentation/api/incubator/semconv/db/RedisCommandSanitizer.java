@@ -7,11 +7,14 @@ package io.opentelemetry.instrumentation.api.incubator.semconv.db;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
 
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
  * This class is responsible for masking potentially sensitive data in Redis commands.
@@ -42,6 +45,15 @@ public final class RedisCommandSanitizer {
   // visible for testing
   static final int LIMIT = 32 * 1024;
 
+  // commands without arguments, or with only masked arguments, always sanitize to the same text
+  private static final int MAX_CACHED_SHAPE_ARGS = 16;
+  private static final Cache<String, String[]> shapes = Cache.bounded(256);
+
+  // builders that grew larger than this are not kept for reuse
+  private static final int MAX_REUSED_BUILDER_CAPACITY = 4096;
+  private static final ThreadLocal<StringBuilder> builders =
+      ThreadLocal.withInitial(StringBuilder::new);
+
   static {
     Map<String, CommandSanitizer> sanitizers = new HashMap<>();
 
@@ -364,42 +376,108 @@ public final class RedisCommandSanitizer {
   }
 
   public String sanitize(String command, List<?> args) {
+    CommandSanitizer commandSanitizer = getCommandSanitizer(command);
+    if (args.isEmpty() || commandSanitizer == DEFAULT) {
+      String shape = getShape(command, args.size());
+      if (shape != null) {
+        return shape;
+      }
+    }
+
+    StringBuilder sanitized = builders.get();
+    sanitized.setLength(0);
+    commandSanitizer.sanitize(command, args, sanitized);
+    String result = sanitized.toString();
+    if (sanitized.capacity() > MAX_REUSED_BUILDER_CAPACITY) {
+      builders.remove();
+    }
+    return result;
+  }
+
+  /**
+   * Appends the sanitized command to {@code sanitized}, which allows callers to reuse a builder.
+   * At most {@code LIMIT} characters are appended; arguments beyond it are not converted to text.
+   */
+  public void sanitize(String command, List<?> args, StringBuilder sanitized) {
+    getCommandSanitizer(command).sanitize(command, args, sanitized);
+  }
+
+  private CommandSanitizer getCommandSanitizer(String command) {
     if (!querySanitizationEnabled) {
-      return KeepAllArgs.INSTANCE.sanitize(command, args);
+      return KeepAllArgs.INSTANCE;
+    }
+    // clients usually send upper case command names, which avoids converting them
+    CommandSanitizer commandSanitizer = SANITIZERS.get(command);
+    if (commandSanitizer == null) {
+      commandSanitizer = SANITIZERS.getOrDefault(command.toUpperCase(Locale.ROOT), DEFAULT);
     }
-    return SANITIZERS
-        .getOrDefault(command.toUpperCase(Locale.ROOT), DEFAULT)
-        .sanitize(command, args);
+    return commandSanitizer;
   }
 
-  private static boolean isOverLimit(StringBuilder builder) {
-    return builder.length() > LIMIT;
+  @Nullable
+  private static String getShape(String command, int numOfArgs) {
+    if (numOfArgs > MAX_CACHED_SHAPE_ARGS) {
+      return null;
+    }
+    String[] commandShapes =
+        shapes.computeIfAbsent(command, c -> new String[MAX_CACHED_SHAPE_ARGS + 1]);
+    String shape = commandShapes[numOfArgs];
+    if (shape == null) {
+      StringBuilder sanitized = new StringBuilder();
+      DEFAULT.sanitize(command, nCopies(numOfArgs, "?"), sanitized);
+      shape = sanitized.toString();
+      commandShapes[numOfArgs] = shape;
+    }
+    return shape;
   }
 
-  private static String limit(StringBuilder builder) {
-    if (builder.length() > LIMIT) {
-      builder.delete(LIMIT, builder.length());
+  /**
+   * Appends the text, or as much of it as fits within {@code end}, returning false when the
+   * sanitized command reached the length limit.
+   */
+  private static boolean append(StringBuilder sanitized, int end, String text) {
+    int remaining = end - sanitized.length();
+    if (text.length() >= remaining) {
+      sanitized.append(text, 0, remaining);
+      return false;
     }
-    return builder.toString();
+    sanitized.append(text);
+    return true;
+  }
+
+  private static boolean appendArg(StringBuilder sanitized, int end, Object arg) {
+    if (!append(sanitized, end, " ")) {
+      return false;
+    }
+    if (arg instanceof byte[]) {
+      byte[] bytes = (byte[]) arg;
+      // a char is decoded from at most 4 bytes, so there is no need to decode more than that
+      int remaining = end - sanitized.length();
+      int length = (int) Math.min(bytes.length, 4L * remaining);
+      return append(sanitized, end, new String(bytes, 0, length, UTF_8));
+    }
+    return append(sanitized, end, String.valueOf(arg));
   }
 
   interface CommandSanitizer {
-    String sanitize(String command, List<?> args);
+    /** Appends the sanitized command, truncated to {@code LIMIT} characters, to the builder. */
+    void sanitize(String command, List<?> args, StringBuilder sanitized);
   }
 
   enum KeepAllArgs implements CommandSanitizer {
     INSTANCE;
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
+    public void sanitize(String command, List<?> args, StringBuilder sanitized) {
+      int end = sanitized.length() + LIMIT;
+      if (!append(sanitized, end, command)) {
+        return;
+      }
       for (Object arg : args) {
-        sanitized.append(" ").append(argToString(arg));
-        if (isOverLimit(sanitized)) {
-          return limit(sanitized);
+        if (!appendArg(sanitized, end, arg)) {
+          return;
         }
       }
-      return sanitized.toString();
     }
   }
 
@@ -413,21 +491,21 @@ public final class RedisCommandSanitizer {
     }
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
+    public void sanitize(String command, List<?> args, StringBuilder sanitized) {
+      int end = sanitized.length() + LIMIT;
+      if (!append(sanitized, end, command)) {
+        return;
+      }
       for (int i = 0; i < numOfArgsToKeep && i < args.size(); ++i) {
-        sanitized.append(" ").append(argToString(args.get(i)));
-        if (isOverLimit(sanitized)) {
-          return limit(sanitized);
+        if (!appendArg(sanitized, end, args.get(i))) {
+          return;
         }
       }
       for (int i = numOfArgsToKeep; i < args.size(); ++i) {
-        sanitized.append(" ?");
-        if (isOverLimit(sanitized)) {
-          return limit(sanitized);
+        if (!append(sanitized, end, " ?")) {
+          return;
         }
       }
-      return sanitized.toString();
     }
   }
 
@@ -441,24 +519,24 @@ public final class RedisCommandSanitizer {
     }
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
+    public void sanitize(String command, List<?> args, StringBuilder sanitized) {
+      int end = sanitized.length() + LIMIT;
+      if (!append(sanitized, end, command)) {
+        return;
+      }
       // append all "initial" arguments before key-value pairs start
       for (int i = 0; i < numOfArgsBeforeKeyValue && i < args.size(); ++i) {
-        sanitized.append(" ").append(argToString(args.get(i)));
-        if (isOverLimit(sanitized)) {
-          return limit(sanitized);
+        if (!appendArg(sanitized, end, args.get(i))) {
+          return;
         }
       }
 
       // loop over keys only
       for (int i = numOfArgsBeforeKeyValue; i < args.size(); i += 2) {
-        sanitized.append(" ").append(argToString(args.get(i))).append(" ?");
-        if (isOverLimit(sanitized)) {
-          return limit(sanitized);
+        if (!appendArg(sanitized, end, args.get(i)) || !append(sanitized, end, " ?")) {
+          return;
         }
       }
-      return sanitized.toString();
     }
   }
 
@@ -466,8 +544,11 @@ public final class RedisCommandSanitizer {
     INSTANCE;
 
     @Override
-    public String sanitize(String command, List<?> args) {
-      StringBuilder sanitized = new StringBuilder(command);
+    public void sanitize(String command, List<?> args, StringBuilder sanitized) {
+      int end = sanitized.length() + LIMIT;
+      if (!append(sanitized, end, command)) {
+        return;
+      }
 
       // get the number of keys passed from the command itself (second arg)
       int numberOfKeys = 0;
@@ -482,19 +563,16 @@ public final class RedisCommandSanitizer {
       int i = 0;
       // log the script, number of keys and all keys
       for (; i < (numberOfKeys + 2) && i < args.size(); ++i) {
-        sanitized.append(" ").append(argToString(args.get(i)));
-        if (isOverLimit(sanitized)) {
-          return limit(sanitized);
+        if (!appendArg(sanitized, end, args.get(i))) {
+          return;
         }
       }
       // mask the rest
       for (; i < args.size(); ++i) {
-        sanitized.append(" ?");
-        if (isOverLimit(sanitized)) {
-          return limit(sanitized);
+        if (!append(sanitized, end, " ?")) {
+          return;
         }
       }
-      return sanitized.toString();
     }
   }
 
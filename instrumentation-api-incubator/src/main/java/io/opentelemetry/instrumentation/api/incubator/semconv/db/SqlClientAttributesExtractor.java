@@ -108,7 +108,9 @@ public final class SqlClientAttributesExtractor<REQUEST, RESPONSE>
       Collection<String> oldSemconvRawQueryTexts = getter.getRawQueryTextsForOldSemconv(request);
       if (oldSemconvRawQueryTexts.size() == 1) { // for backcompat(?)
         String rawQueryText = oldSemconvRawQueryTexts.iterator().next();
-        SqlQuery analyzedQuery = SqlQueryAnalyzerUtil.analyze(rawQueryText, dialect);
+        SqlQuery analyzedQuery =
+            SqlQueryAnalyzerUtil.analyze(
+                rawQueryText, dialect, getter.getPreparedQuery(request, 0));
         String operationName = analyzedQuery.getOperationName();
         attributes.put(
             DB_STATEMENT, querySanitizationEnabled ? analyzedQuery.getQueryText() : rawQueryText);
@@ -126,7 +128,9 @@ public final class SqlClientAttributesExtractor<REQUEST, RESPONSE>
       }
       if (rawQueryTexts.size() == 1) {
         String rawQueryText = rawQueryTexts.iterator().next();
-        SqlQuery analyzedQuery = SqlQueryAnalyzerUtil.analyzeWithSummary(rawQueryText, dialect);
+        SqlQuery analyzedQuery =
+            SqlQueryAnalyzerUtil.analyzeWithSummary(
+                rawQueryText, dialect, getter.getPreparedQuery(request, 0));
         boolean shouldSanitize =
             querySanitizationEnabled && !getter.isParameterizedQuery(request, 0);
         attributes.put(DB_QUERY_TEXT, shouldSanitize ? analyzedQuery.getQueryText() : rawQueryText);
@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.api.incubator.semconv.db;
 
 import java.util.Collection;
+import javax.annotation.Nullable;
 
 /**
  * An interface for getting SQL database client attributes.
@@ -126,4 +127,15 @@ public interface SqlClientAttributesGetter<REQUEST, RESPONSE>
   default boolean isParameterizedQuery(REQUEST request, int queryIndex) {
     return false;
   }
+
+  /**
+   * Returns the {@link PreparedSqlQuery} of the prepared statement that the query at {@code
+   * queryIndex} in {@link #getRawQueryTexts(Object)} was read from, or {@code null} when the query
+   * was not read from a prepared statement. The analyzed query is kept in the returned instance and
+   * reused by later executions of the same prepared statement.
+   */
+  @Nullable
+  default PreparedSqlQuery getPreparedQuery(REQUEST request, int queryIndex) {
+    return null;
+  }
 }
@@ -10,6 +10,7 @@ import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.internal.InstrumenterContext;
 import java.util.HashMap;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
  * Helper class for analyzing sql that keeps analysis results in {@link InstrumenterContext} so that
@@ -35,5 +36,19 @@ class SqlQueryAnalyzerUtil {
         key -> analyzer.analyzeWithSummary(key.getQueryText(), key.getDialect()));
   }
 
+  static SqlQuery analyze(
+      String queryText, SqlDialect dialect, @Nullable PreparedSqlQuery preparedQuery) {
+    return preparedQuery != null
+        ? preparedQuery.analyze(queryText, dialect)
+        : analyze(queryText, dialect);
+  }
+
+  static SqlQuery analyzeWithSummary(
+      String queryText, SqlDialect dialect, @Nullable PreparedSqlQuery preparedQuery) {
+    return preparedQuery != null
+        ? preparedQuery.analyzeWithSummary(queryText, dialect)
+        : analyzeWithSummary(queryText, dialect);
+  }
+
   private SqlQueryAnalyzerUtil() {}
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.net.internal;
+
+import javax.annotation.Nullable;
+
+/**
+ * The components of a url parsed by {@link UrlParser#parse(String)}. The path is only extracted
+ * when it is requested.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ParsedUrl {
+
+  private final String url;
+  private final Authority authority;
+  private final int authorityEndIndexExclusive;
+
+  ParsedUrl(String url, Authority authority, int authorityEndIndexExclusive) {
+    this.url = url;
+    this.authority = authority;
+    this.authorityEndIndexExclusive = authorityEndIndexExclusive;
+  }
+
+  public String getScheme() {
+    return authority.scheme;
+  }
+
+  public String getHost() {
+    return authority.host;
+  }
+
+  @Nullable
+  public Integer getPort() {
+    return authority.port;
+  }
+
+  @Nullable
+  public String getPath() {
+    int pathStartIndex = authorityEndIndexExclusive;
+    if (pathStartIndex == url.length() || url.charAt(pathStartIndex) != '/') {
+      return null;
+    }
+
+    // look for the end of the path:
+    //   '?', '#' ==> end of path
+    int pathEndIndexExclusive = pathStartIndex + 1;
+    for (; pathEndIndexExclusive < url.length(); pathEndIndexExclusive++) {
+      char c = url.charAt(pathEndIndexExclusive);
+      if (c == '?' || c == '#') {
+        break;
+      }
+    }
+    return url.substring(pathStartIndex, pathEndIndexExclusive);
+  }
+
+  /** The scheme, host, and port parsed from the beginning of a url, up to its path. */
+  static final class Authority {
+
+    private final String prefix;
+    private final String scheme;
+    private final String host;
+    @Nullable private final Integer port;
+
+    Authority(String prefix, String scheme, String host, @Nullable Integer port) {
+      this.prefix = prefix;
+      this.scheme = scheme;
+      this.host = host;
+      this.port = port;
+    }
+
+    boolean matches(String url, int authorityEndIndexExclusive) {
+      return prefix.length() == authorityEndIndexExclusive && url.startsWith(prefix);
+    }
+  }
+}
@@ -5,7 +5,7 @@
 
 package io.opentelemetry.instrumentation.api.incubator.semconv.net.internal;
 
-import java.util.function.Predicate;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import javax.annotation.Nullable;
 
 /**
@@ -14,81 +14,22 @@ import javax.annotation.Nullable;
  */
 public final class UrlParser {
 
-  @Nullable
-  public static String getHost(String url) {
-
-    int startIndex = getHostStartIndex(url);
-    if (startIndex == -1) {
-      return null;
-    }
-
-    int endIndexExclusive = getHostEndIndexExclusive(url, startIndex);
-    if (endIndexExclusive == startIndex) {
-      return null;
-    }
-
-    return url.substring(startIndex, endIndexExclusive);
-  }
-
-  @Nullable
-  public static Integer getPort(String url) {
-
-    int hostStartIndex = getHostStartIndex(url);
-    if (hostStartIndex == -1) {
-      return null;
-    }
-
-    int hostEndIndexExclusive = getHostEndIndexExclusive(url, hostStartIndex);
-    if (hostEndIndexExclusive == hostStartIndex) {
-      return null;
-    }
-
-    if (hostEndIndexExclusive < url.length() && url.charAt(hostEndIndexExclusive) != ':') {
-      return null;
-    }
-
-    int portStartIndex = hostEndIndexExclusive + 1;
-
-    int portEndIndexExclusive = getPortEndIndexExclusive(url, portStartIndex);
-    if (portEndIndexExclusive == portStartIndex) {
-      return null;
-    }
-
-    return safeParse(url.substring(portStartIndex, portEndIndexExclusive));
-  }
+  // clients usually send requests to a small set of base urls, so the parsed scheme, host, and port
+  // are cached by the url prefix that they were parsed from; must be a power of two
+  private static final int AUTHORITY_CACHE_SIZE = 256;
+  private static final AtomicReferenceArray<ParsedUrl.Authority> authorityCache =
+      new AtomicReferenceArray<>(AUTHORITY_CACHE_SIZE);
 
+  /**
+   * Parses the scheme, host, port, and path of the url in a single pass, returning null when the
+   * url has no host.
+   */
   @Nullable
-  public static String getPath(String url) {
-
-    int hostStartIndex = getHostStartIndex(url);
-    if (hostStartIndex == -1) {
-      return null;
-    }
-
-    int hostEndIndexExclusive = getHostEndIndexExclusive(url, hostStartIndex);
-    if (hostEndIndexExclusive == hostStartIndex) {
-      return null;
-    }
-
-    int pathStartIndex = url.indexOf('/', hostEndIndexExclusive);
-    if (pathStartIndex == -1) {
-      return null;
-    }
-
-    int pathEndIndexExclusive = getPathEndIndexExclusive(url, pathStartIndex);
-    if (pathEndIndexExclusive == pathStartIndex) {
-      return null;
-    }
-
-    return url.substring(pathStartIndex, pathEndIndexExclusive);
-  }
-
-  private static int getHostStartIndex(String url) {
-
+  public static ParsedUrl parse(String url) {
     int schemeEndIndex = url.indexOf(':');
     if (schemeEndIndex == -1) {
       // not a valid url
-      return -1;
+      return null;
     }
 
     int len = url.length();
@@ -96,49 +37,84 @@ public final class UrlParser {
         || url.charAt(schemeEndIndex + 1) != '/'
         || url.charAt(schemeEndIndex + 2) != '/') {
       // has no authority component
-      return -1;
+      return null;
     }
 
-    return schemeEndIndex + 3;
-  }
+    int hostStartIndex = schemeEndIndex + 3;
+    int hash = 0;
+    for (int i = 0; i < hostStartIndex; i++) {
+      hash = 31 * hash + url.charAt(i);
+    }
 
-  private static int getHostEndIndexExclusive(String url, int startIndex) {
     // look for the end of the host:
     //   ':' ==> start of port, or
     //   '/', '?', '#' ==> start of path
-    return getEndIndexExclusive(
-        url, startIndex, c -> (c == ':' || c == '/' || c == '?' || c == '#'));
-  }
+    int hostEndIndexExclusive = hostStartIndex;
+    for (; hostEndIndexExclusive < len; hostEndIndexExclusive++) {
+      char c = url.charAt(hostEndIndexExclusive);
+      if (c == ':' || c == '/' || c == '?' || c == '#') {
+        break;
+      }
+      hash = 31 * hash + c;
+    }
+    if (hostEndIndexExclusive == hostStartIndex) {
+      return null;
+    }
 
-  private static int getPortEndIndexExclusive(String url, int startIndex) {
     // look for the end of the port:
     //   '/', '?', '#' ==> start of path
-    return getEndIndexExclusive(url, startIndex, c -> (c == '/' || c == '?' || c == '#'));
+    int authorityEndIndexExclusive = hostEndIndexExclusive;
+    if (hostEndIndexExclusive < len && url.charAt(hostEndIndexExclusive) == ':') {
+      hash = 31 * hash + ':';
+      authorityEndIndexExclusive++;
+      for (; authorityEndIndexExclusive < len; authorityEndIndexExclusive++) {
+        char c = url.charAt(authorityEndIndexExclusive);
+        if (c == '/' || c == '?' || c == '#') {
+          break;
+        }
+        hash = 31 * hash + c;
+      }
+    }
+
+    int cacheIndex = (hash ^ (hash >>> 16)) & (AUTHORITY_CACHE_SIZE - 1);
+    ParsedUrl.Authority authority = authorityCache.get(cacheIndex);
+    if (authority == null || !authority.matches(url, authorityEndIndexExclusive)) {
+      authority =
+          new ParsedUrl.Authority(
+              url.substring(0, authorityEndIndexExclusive),
+              url.substring(0, schemeEndIndex),
+              url.substring(hostStartIndex, hostEndIndexExclusive),
+              parsePort(url, hostEndIndexExclusive + 1, authorityEndIndexExclusive));
+      authorityCache.set(cacheIndex, authority);
+    }
+    return new ParsedUrl(url, authority, authorityEndIndexExclusive);
   }
 
-  private static int getPathEndIndexExclusive(String url, int startIndex) {
-    // look for the end of the path:
-    //   '?', '#' ==> end of path
-    return getEndIndexExclusive(url, startIndex, c -> (c == '?' || c == '#'));
+  @Nullable
+  public static String getHost(String url) {
+    ParsedUrl parsedUrl = parse(url);
+    return parsedUrl == null ? null : parsedUrl.getHost();
   }
 
-  private static int getEndIndexExclusive(
-      String url, int startIndex, Predicate<Character> predicate) {
-    int index;
-    int len = url.length();
-    for (index = startIndex; index < len; index++) {
-      char c = url.charAt(index);
-      if (predicate.test(c)) {
-        break;
-      }
-    }
-    return index;
+  @Nullable
+  public static Integer getPort(String url) {
+    ParsedUrl parsedUrl = parse(url);
+    return parsedUrl == null ? null : parsedUrl.getPort();
   }
 
   @Nullable
-  private static Integer safeParse(String port) {
+  public static String getPath(String url) {
+    ParsedUrl parsedUrl = parse(url);
+    return parsedUrl == null ? null : parsedUrl.getPath();
+  }
+
+  @Nullable
+  private static Integer parsePort(String url, int startIndex, int endIndexExclusive) {
+    if (startIndex >= endIndexExclusive) {
+      return null;
+    }
     try {
-      return Integer.valueOf(port);
+      return Integer.valueOf(url.substring(startIndex, endIndexExclusive));
     } catch (NumberFormatException e) {
       return null;
     }
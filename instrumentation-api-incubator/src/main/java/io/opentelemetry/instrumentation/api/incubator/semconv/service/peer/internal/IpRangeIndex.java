@@ -0,0 +1,123 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.service.peer.internal;
+
+import static java.util.Collections.reverseOrder;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * An index of IPv4 and IPv6 address ranges in CIDR notation, that finds the most specific range
+ * containing an address. Ranges are kept in one hash table per prefix length, so a lookup takes one
+ * hash lookup per distinct prefix length, starting from the longest.
+ */
+final class IpRangeIndex<T> {
+
+  // prefix length -> masked address -> value, ordered from the longest prefix
+  private final TreeMap<Integer, Map<ByteBuffer, T>> ipv4Ranges = new TreeMap<>(reverseOrder());
+  private final TreeMap<Integer, Map<ByteBuffer, T>> ipv6Ranges = new TreeMap<>(reverseOrder());
+
+  boolean isEmpty() {
+    return ipv4Ranges.isEmpty() && ipv6Ranges.isEmpty();
+  }
+
+  /**
+   * Adds a range, returning the value already associated with it, or {@code value} when the range
+   * was not indexed yet.
+   */
+  T putIfAbsent(byte[] address, int prefixLength, T value) {
+    TreeMap<Integer, Map<ByteBuffer, T>> ranges = address.length == 4 ? ipv4Ranges : ipv6Ranges;
+    Map<ByteBuffer, T> values = ranges.computeIfAbsent(prefixLength, x -> new HashMap<>());
+    T existing = values.putIfAbsent(ByteBuffer.wrap(mask(address, prefixLength)), value);
+    return existing != null ? existing : value;
+  }
+
+  /** Returns the value of the most specific range that contains the address, if any. */
+  @Nullable
+  T get(byte[] address) {
+    TreeMap<Integer, Map<ByteBuffer, T>> ranges = address.length == 4 ? ipv4Ranges : ipv6Ranges;
+    for (Map.Entry<Integer, Map<ByteBuffer, T>> entry : ranges.entrySet()) {
+      T value = entry.getValue().get(ByteBuffer.wrap(mask(address, entry.getKey())));
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  private static byte[] mask(byte[] address, int prefixLength) {
+    byte[] masked = new byte[address.length];
+    for (int i = 0; i < address.length; i++) {
+      int bits = Math.min(Math.max(prefixLength - i * 8, 0), 8);
+      masked[i] = (byte) (address[i] & (0xff00 >> bits));
+    }
+    return masked;
+  }
+
+  /**
+   * Parses an IPv4 or IPv6 address literal, returning null for anything else, including host names,
+   * which are never resolved.
+   */
+  @Nullable
+  static byte[] parseAddress(String value) {
+    if (value.startsWith("[") && value.endsWith("]")) {
+      value = value.substring(1, value.length() - 1);
+    }
+    if (value.indexOf(':') != -1) {
+      return parseIpv6(value);
+    }
+    return parseIpv4(value);
+  }
+
+  @Nullable
+  private static byte[] parseIpv4(String value) {
+    byte[] address = new byte[4];
+    int octet = 0;
+    int octetValue = -1;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= '0' && c <= '9') {
+        octetValue = (octetValue == -1 ? 0 : octetValue * 10) + (c - '0');
+        if (octetValue > 255) {
+          return null;
+        }
+      } else if (c == '.' && octetValue != -1 && octet < 3) {
+        address[octet++] = (byte) octetValue;
+        octetValue = -1;
+      } else {
+        return null;
+      }
+    }
+    if (octet != 3 || octetValue == -1) {
+      return null;
+    }
+    address[3] = (byte) octetValue;
+    return address;
+  }
+
+  @Nullable
+  private static byte[] parseIpv6(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (Character.digit(c, 16) == -1 && c != ':' && c != '.' && c != '%') {
+        return null;
+      }
+    }
+    try {
+      // a literal containing ':' is parsed without a name service lookup
+      byte[] address = InetAddress.getByName(value).getAddress();
+      return address.length == 16 ? address : null;
+    } catch (UnknownHostException ignored) {
+      return null;
+    }
+  }
+}
@@ -17,9 +17,14 @@ import com.google.auto.value.AutoValue;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.instrumentation.api.incubator.config.internal.DeclarativeConfigUtil;
+import io.opentelemetry.instrumentation.api.incubator.semconv.net.internal.ParsedUrl;
 import io.opentelemetry.instrumentation.api.incubator.semconv.net.internal.UrlParser;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
@@ -47,7 +52,19 @@ public class ServicePeerResolver {
           comparing(ServiceMatcher::getPort, nullsFirst(naturalOrder()))
               .thenComparing(ServiceMatcher::getPath, nullsFirst(naturalOrder())));
 
-  private final Map<String, Map<ServiceMatcher, ServicePeer>> servicePeerMapping = new HashMap<>();
+  private static final String WILDCARD_PREFIX = "*.";
+  // bounds the memory used by the resolved hosts, client requests can target any host
+  private static final int RESOLVED_HOSTS_CACHE_SIZE = 1000;
+
+  // exact host -> matchers
+  private final Map<String, HostMatchers> hostMatchers = new HashMap<>();
+  // lowercase domain of a "*.domain" peer -> matchers
+  private final Map<String, HostMatchers> domainMatchers = new HashMap<>();
+  private final IpRangeIndex<HostMatchers> ipRangeMatchers = new IpRangeIndex<>();
+  // host -> the matchers of the exact host, domains and address ranges that include it, from the
+  // most to the least specific
+  private final Cache<String, List<HostMatchers>> resolvedHosts =
+      Cache.bounded(RESOLVED_HOSTS_CACHE_SIZE);
 
   public ServicePeerResolver(OpenTelemetry openTelemetry) {
     DeclarativeConfigUtil.getInstrumentationConfig(openTelemetry, "common")
@@ -73,24 +90,70 @@ public class ServicePeerResolver {
             });
   }
 
+  private ServicePeerResolver() {}
+
+  /**
+   * Creates a resolver from a map of peers to service names, in the format of the {@code
+   * service_peer_mapping} entries.
+   */
+  // Visible for benchmarks
+  static ServicePeerResolver create(Map<String, String> serviceNamesByPeer) {
+    ServicePeerResolver resolver = new ServicePeerResolver();
+    serviceNamesByPeer.forEach((peer, serviceName) -> resolver.addMapping(peer, serviceName, null));
+    return resolver;
+  }
+
   private void addMapping(
       String peer, @Nullable String serviceName, @Nullable String serviceNamespace) {
     if (serviceName == null && serviceNamespace == null) {
       return;
     }
     ServicePeer info = new ServicePeer(serviceName, serviceNamespace);
+
+    // an address range in CIDR notation, e.g. 10.0.0.0/8
+    int slash = peer.indexOf('/');
+    if (slash != -1 && isPrefixLength(peer, slash + 1)) {
+      byte[] address = IpRangeIndex.parseAddress(peer.substring(0, slash));
+      int prefixLength = Integer.parseInt(peer.substring(slash + 1));
+      if (address != null && prefixLength <= address.length * 8) {
+        ipRangeMatchers
+            .putIfAbsent(address, prefixLength, new HostMatchers())
+            .add(ServiceMatcher.create(null, null), info);
+        return;
+      }
+    }
+
     // prepend a scheme so that UrlParser can parse the host, port, and path
-    String url = "https://" + peer;
-    String host = UrlParser.getHost(url);
-    Integer port = UrlParser.getPort(url);
-    String path = UrlParser.getPath(url);
-    Map<ServiceMatcher, ServicePeer> matchers =
-        servicePeerMapping.computeIfAbsent(host, x -> new HashMap<>());
-    matchers.putIfAbsent(ServiceMatcher.create(port, path), info);
+    ParsedUrl url = UrlParser.parse("https://" + peer);
+    String host = url == null ? null : url.getHost();
+    ServiceMatcher matcher =
+        url == null
+            ? ServiceMatcher.create(null, null)
+            : ServiceMatcher.create(url.getPort(), url.getPath());
+    if (host != null && host.startsWith(WILDCARD_PREFIX)) {
+      String domain = host.substring(WILDCARD_PREFIX.length()).toLowerCase(Locale.ROOT);
+      domainMatchers.computeIfAbsent(domain, x -> new HostMatchers()).add(matcher, info);
+    } else {
+      hostMatchers.computeIfAbsent(host, x -> new HostMatchers()).add(matcher, info);
+    }
+  }
+
+  private static boolean isPrefixLength(String peer, int start) {
+    int length = peer.length() - start;
+    if (length < 1 || length > 3) {
+      return false;
+    }
+    for (int i = start; i < peer.length(); i++) {
+      char c = peer.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
   }
 
   public boolean isEmpty() {
-    return servicePeerMapping.isEmpty();
+    return hostMatchers.isEmpty() && domainMatchers.isEmpty() && ipRangeMatchers.isEmpty();
   }
 
   @SuppressWarnings("deprecation") // old semconv
@@ -124,15 +187,81 @@ public class ServicePeerResolver {
   @Nullable
   private ServicePeer resolveServicePeer(
       String host, @Nullable Integer port, Supplier<String> pathSupplier) {
-    Map<ServiceMatcher, ServicePeer> matchers = servicePeerMapping.get(host);
-    if (matchers == null) {
+    if (domainMatchers.isEmpty() && ipRangeMatchers.isEmpty()) {
+      HostMatchers matchers = hostMatchers.get(host);
+      return matchers != null ? matchers.resolve(port, pathSupplier) : null;
+    }
+    List<HostMatchers> candidates = resolvedHosts.computeIfAbsent(host, this::resolveHostMatchers);
+    // a less specific host pattern is only used when none of the more specific ones match
+    for (HostMatchers matchers : candidates) {
+      ServicePeer servicePeer = matchers.resolve(port, pathSupplier);
+      if (servicePeer != null) {
+        return servicePeer;
+      }
+    }
+    return null;
+  }
+
+  private List<HostMatchers> resolveHostMatchers(String host) {
+    List<HostMatchers> candidates = new ArrayList<>();
+    HostMatchers exactMatchers = hostMatchers.get(host);
+    if (exactMatchers != null) {
+      candidates.add(exactMatchers);
+    }
+    if (!domainMatchers.isEmpty()) {
+      String lowercaseHost = host.toLowerCase(Locale.ROOT);
+      // "*.example.com" matches the subdomains of example.com, the longest domain first
+      for (int dot = lowercaseHost.indexOf('.');
+          dot != -1;
+          dot = lowercaseHost.indexOf('.', dot + 1)) {
+        HostMatchers matchers = domainMatchers.get(lowercaseHost.substring(dot + 1));
+        if (matchers != null) {
+          candidates.add(matchers);
+        }
+      }
+    }
+    if (!ipRangeMatchers.isEmpty()) {
+      byte[] address = IpRangeIndex.parseAddress(host);
+      HostMatchers matchers = address != null ? ipRangeMatchers.get(address) : null;
+      if (matchers != null) {
+        candidates.add(matchers);
+      }
+    }
+    return candidates.isEmpty() ? emptyList() : candidates;
+  }
+
+  /** The matchers of a host pattern, sorted so that the most specific matcher comes first. */
+  private static final class HostMatchers {
+
+    private final List<ServiceMatcher> matchers = new ArrayList<>();
+    private final List<ServicePeer> servicePeers = new ArrayList<>();
+
+    void add(ServiceMatcher matcher, ServicePeer servicePeer) {
+      int index = 0;
+      while (index < matchers.size()) {
+        int comparison = matcherComparator.compare(matcher, matchers.get(index));
+        if (comparison == 0) {
+          // the first mapping of a peer wins
+          return;
+        }
+        if (comparison > 0) {
+          break;
+        }
+        index++;
+      }
+      matchers.add(index, matcher);
+      servicePeers.add(index, servicePeer);
+    }
+
+    @Nullable
+    ServicePeer resolve(@Nullable Integer port, Supplier<String> pathSupplier) {
+      for (int i = 0; i < matchers.size(); i++) {
+        if (matchers.get(i).matches(port, pathSupplier)) {
+          return servicePeers.get(i);
+        }
+      }
       return null;
     }
-    return matchers.entrySet().stream()
-        .filter(entry -> entry.getKey().matches(port, pathSupplier))
-        .max((o1, o2) -> matcherComparator.compare(o1.getKey(), o2.getKey()))
-        .map(Map.Entry::getValue)
-        .orElse(null);
   }
 
   @AutoValue
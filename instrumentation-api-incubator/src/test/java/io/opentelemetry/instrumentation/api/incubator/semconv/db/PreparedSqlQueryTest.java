@@ -0,0 +1,58 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import static io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlDialect.DOUBLE_QUOTES_ARE_IDENTIFIERS;
+import static io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlDialect.DOUBLE_QUOTES_ARE_STRING_LITERALS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.api.internal.InstrumenterContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PreparedSqlQueryTest {
+
+  @AfterEach
+  void reset() {
+    InstrumenterContext.reset();
+  }
+
+  @Test
+  void reusesAnalyzedQuery() {
+    PreparedSqlQuery preparedQuery = PreparedSqlQuery.create();
+    String queryText = "SELECT name FROM test WHERE id = 1";
+
+    SqlQuery analyzed = preparedQuery.analyze(queryText, DOUBLE_QUOTES_ARE_STRING_LITERALS);
+    SqlQuery analyzedWithSummary =
+        preparedQuery.analyzeWithSummary(queryText, DOUBLE_QUOTES_ARE_STRING_LITERALS);
+    // later executions are not in the same instrumenter call
+    InstrumenterContext.reset();
+
+    assertThat(analyzed.getQueryText()).isEqualTo("SELECT name FROM test WHERE id = ?");
+    assertThat(analyzedWithSummary.getQuerySummary()).isEqualTo("SELECT test");
+    assertThat(preparedQuery.analyze(queryText, DOUBLE_QUOTES_ARE_STRING_LITERALS))
+        .isSameAs(analyzed);
+    assertThat(preparedQuery.analyzeWithSummary(queryText, DOUBLE_QUOTES_ARE_STRING_LITERALS))
+        .isSameAs(analyzedWithSummary);
+  }
+
+  @Test
+  void analyzesAgainWhenQueryChanges() {
+    PreparedSqlQuery preparedQuery = PreparedSqlQuery.create();
+    String queryText = "SELECT * FROM test WHERE name = \"x\"";
+
+    SqlQuery analyzed = preparedQuery.analyze(queryText, DOUBLE_QUOTES_ARE_STRING_LITERALS);
+    InstrumenterContext.reset();
+
+    assertThat(analyzed.getQueryText()).isEqualTo("SELECT * FROM test WHERE name = ?");
+    assertThat(preparedQuery.analyze(queryText, DOUBLE_QUOTES_ARE_IDENTIFIERS).getQueryText())
+        .isEqualTo(queryText);
+    assertThat(
+            preparedQuery.analyze("DELETE FROM test", DOUBLE_QUOTES_ARE_IDENTIFIERS)
+                .getOperationName())
+        .isEqualTo("DELETE");
+  }
+}
@@ -9,6 +9,7 @@ import static java.util.Arrays.asList;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
@@ -240,6 +241,31 @@ class RedisCommandSanitizerTest {
     assertThat(result).startsWith("HMSET hash key0 ? key1 ?");
   }
 
+  @Test
+  void truncateLongByteArrayArgument() {
+    byte[] value = new byte[2 * RedisCommandSanitizer.LIMIT];
+    Arrays.fill(value, (byte) 'a');
+    String result = RedisCommandSanitizer.create(true).sanitize("GET", asList(value));
+
+    assertThat(result.length()).isEqualTo(RedisCommandSanitizer.LIMIT);
+    assertThat(result).startsWith("GET aaa");
+  }
+
+  @Test
+  void appendToBuilder() {
+    StringBuilder sanitized = new StringBuilder("prefix: ");
+    RedisCommandSanitizer.create(true).sanitize("SET", list("key", "value"), sanitized);
+    assertThat(sanitized.toString()).isEqualTo("prefix: SET key ?");
+  }
+
+  @Test
+  void shouldReuseSanitizedCommandWithoutArguments() {
+    RedisCommandSanitizer sanitizer = RedisCommandSanitizer.create(true);
+    assertThat(sanitizer.sanitize("AUTH", list("password")))
+        .isSameAs(sanitizer.sanitize("AUTH", list("other")));
+    assertThat(sanitizer.sanitize("PING", list())).isEqualTo("PING");
+  }
+
   static Stream<Arguments> sanitizeArgs() {
     return Stream.of(
         // Connection
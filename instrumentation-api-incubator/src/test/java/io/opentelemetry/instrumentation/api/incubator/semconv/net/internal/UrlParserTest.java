@@ -246,4 +246,44 @@ class UrlParserTest {
     assertThat(UrlParser.getPath("/#fragment")).isNull();
     assertThat(UrlParser.getPath("/api/v1#fragment")).isNull();
   }
+
+  @Test
+  void testGetPathWithSlashInQuery() {
+    assertThat(UrlParser.getPath("https://localhost?redirect=/api/v1")).isNull();
+    assertThat(UrlParser.getPath("https://localhost:8080#/api/v1")).isNull();
+    assertThat(UrlParser.getPath("https://localhost/?redirect=/api/v1")).isEqualTo("/");
+  }
+
+  @Test
+  void testParse() {
+    ParsedUrl parsedUrl = UrlParser.parse("https://localhost:8080/api/v1?query#fragment");
+    assertThat(parsedUrl).isNotNull();
+    assertThat(parsedUrl.getScheme()).isEqualTo("https");
+    assertThat(parsedUrl.getHost()).isEqualTo("localhost");
+    assertThat(parsedUrl.getPort()).isEqualTo(8080);
+    assertThat(parsedUrl.getPath()).isEqualTo("/api/v1");
+
+    assertThat(UrlParser.parse("https:/api/v1")).isNull();
+    assertThat(UrlParser.parse("/api/v1")).isNull();
+  }
+
+  @Test
+  void testParseUrlsWithSamePrefix() {
+    // the second url is parsed using the cached scheme, host, and port of the first one
+    for (int i = 0; i < 2; i++) {
+      ParsedUrl parsedUrl = UrlParser.parse("http://example.com:8080/users/" + i);
+      assertThat(parsedUrl).isNotNull();
+      assertThat(parsedUrl.getHost()).isEqualTo("example.com");
+      assertThat(parsedUrl.getPort()).isEqualTo(8080);
+      assertThat(parsedUrl.getPath()).isEqualTo("/users/" + i);
+    }
+
+    // a url that only shares the beginning of the cached prefix
+    ParsedUrl parsedUrl = UrlParser.parse("http://example.com:80801/users");
+    assertThat(parsedUrl).isNotNull();
+    assertThat(parsedUrl.getPort()).isEqualTo(80801);
+    parsedUrl = UrlParser.parse("http://example.com:808/users");
+    assertThat(parsedUrl).isNotNull();
+    assertThat(parsedUrl.getPort()).isEqualTo(808);
+  }
 }
@@ -39,6 +39,19 @@ class ServicePeerResolverTest {
           mapping("1.2.3.4:8080/api", "ipPortApi", "ipPortApiNs"),
           mapping("nsonly.com", null, "nsOnly"));
 
+  // resolver with wildcard host and address range mappings
+  private static final ServicePeerResolver patternResolver =
+      createResolver(
+          mapping("*.example.com", "wildcardSvc", null),
+          mapping("*.example.com:8443/api", "wildcardApiSvc", null),
+          mapping("*.Internal.Example.com", "internalSvc", "internalNs"),
+          mapping("exact.example.com:8080", "exactSvc", null),
+          mapping("10.0.0.0/8", "rangeSvc", "rangeNs"),
+          mapping("10.1.0.0/16", "narrowRangeSvc", null),
+          mapping("10.1.2.4", "exactIpSvc", null),
+          mapping("fd00::/8", "ipv6RangeSvc", null),
+          mapping("numbers.com/8", "numbersSvc", null));
+
   @ParameterizedTest
   @MethodSource("resolutionCases")
   void shouldResolve(
@@ -82,6 +95,49 @@ class ServicePeerResolverTest {
         Arguments.of("1.2.3.4", 9000, "/api", "ipSvc", "ipNs"));
   }
 
+  @ParameterizedTest
+  @MethodSource("patternResolutionCases")
+  void shouldResolvePatterns(
+      String host,
+      @Nullable Integer port,
+      @Nullable String path,
+      @Nullable String expectedName,
+      @Nullable String expectedNamespace) {
+    AttributesBuilder attrs = Attributes.builder();
+    patternResolver.resolve(host, port, () -> path, attrs::put);
+    Attributes result = attrs.build();
+
+    assertName(expectedName, result);
+    assertNamespace(expectedNamespace, result);
+  }
+
+  static Stream<Arguments> patternResolutionCases() {
+    return Stream.of(
+        // wildcard matches any subdomain, case-insensitively
+        Arguments.of("a.example.com", null, null, "wildcardSvc", null),
+        Arguments.of("A.B.Example.COM", null, null, "wildcardSvc", null),
+        // wildcard does not match the domain itself
+        Arguments.of("example.com", null, null, null, null),
+        // the longest matching domain wins
+        Arguments.of("x.internal.example.com", null, null, "internalSvc", "internalNs"),
+        // an exact host wins over a wildcard
+        Arguments.of("exact.example.com", 8080, null, "exactSvc", null),
+        // a wildcard is used when the exact host mappings don't match the port
+        Arguments.of("exact.example.com", 9090, null, "wildcardSvc", null),
+        // port and path are matched for wildcards too
+        Arguments.of("a.example.com", 8443, "/api/users", "wildcardApiSvc", null),
+        // the most specific address range wins
+        Arguments.of("10.1.2.3", null, null, "narrowRangeSvc", null),
+        Arguments.of("10.200.0.1", null, null, "rangeSvc", "rangeNs"),
+        Arguments.of("11.0.0.1", null, null, null, null),
+        Arguments.of("fd00::1", null, null, "ipv6RangeSvc", null),
+        Arguments.of("[fd00::1]", null, null, "ipv6RangeSvc", null),
+        // an exact address wins over an address range
+        Arguments.of("10.1.2.4", null, null, "exactIpSvc", null),
+        // a path that looks like a prefix length is a path for host names
+        Arguments.of("numbers.com", null, "/8/items", "numbersSvc", null));
+  }
+
   @Test
   void emptyWhenNoMappings() {
     ServicePeerResolver empty = createResolver();
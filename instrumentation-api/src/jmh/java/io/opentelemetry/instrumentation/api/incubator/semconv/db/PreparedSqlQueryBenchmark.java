@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import java.util.Collection;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares extracting the attributes of a statement that carries a {@link PreparedSqlQuery}, like
+ * a bound statement of a prepared query, with a simple statement whose query text is looked up in
+ * the shared analysis cache on every execution.
+ */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class PreparedSqlQueryBenchmark {
+
+  private static final String QUERY =
+      "SELECT id, name, email FROM users WHERE tenant_id = ? AND id = ? LIMIT 10";
+
+  private static final AttributesExtractor<Statement, Void> extractor =
+      SqlClientAttributesExtractor.create(new StatementAttributesGetter());
+
+  private final Statement boundStatement = new Statement(QUERY, PreparedSqlQuery.create());
+  private final Statement simpleStatement = new Statement(QUERY, null);
+
+  @Benchmark
+  public Attributes boundStatement() {
+    return extract(boundStatement);
+  }
+
+  @Benchmark
+  public Attributes simpleStatement() {
+    return extract(simpleStatement);
+  }
+
+  private static Attributes extract(Statement statement) {
+    AttributesBuilder attributes = Attributes.builder();
+    extractor.onStart(attributes, Context.root(), statement);
+    return attributes.build();
+  }
+
+  private static final class Statement {
+    private final String queryText;
+    @Nullable private final PreparedSqlQuery preparedQuery;
+
+    private Statement(String queryText, @Nullable PreparedSqlQuery preparedQuery) {
+      this.queryText = queryText;
+      this.preparedQuery = preparedQuery;
+    }
+  }
+
+  private static final class StatementAttributesGetter
+      implements SqlClientAttributesGetter<Statement, Void> {
+
+    @Override
+    public String getDbSystemName(Statement statement) {
+      return "cassandra";
+    }
+
+    @Override
+    public SqlDialect getSqlDialect(Statement statement) {
+      return SqlDialect.DOUBLE_QUOTES_ARE_IDENTIFIERS;
+    }
+
+    @Override
+    @Nullable
+    public String getDbNamespace(Statement statement) {
+      return "test";
+    }
+
+    @Override
+    public Collection<String> getRawQueryTexts(Statement statement) {
+      return singleton(statement.queryText);
+    }
+
+    @Override
+    public boolean isParameterizedQuery(Statement statement, int queryIndex) {
+      return statement.preparedQuery != null;
+    }
+
+    @Override
+    @Nullable
+    public PreparedSqlQuery getPreparedQuery(Statement statement, int queryIndex) {
+      return statement.preparedQuery;
+    }
+  }
+}
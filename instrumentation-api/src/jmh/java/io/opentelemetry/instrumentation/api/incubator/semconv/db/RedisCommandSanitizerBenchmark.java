@@ -0,0 +1,65 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class RedisCommandSanitizerBenchmark {
+
+  private static final List<Object> GET_ARGS = asList("user:12345:profile");
+  private static final List<Object> SET_ARGS =
+      asList("user:12345:profile", "{\"name\":\"example\",\"visits\":42}", "EX", "3600");
+  private static final List<Object> HSET_ARGS =
+      asList("session:abcdef".getBytes(UTF_8), "field".getBytes(UTF_8), new byte[4096]);
+  private static final List<Object> AUTH_ARGS = asList("password");
+
+  private final RedisCommandSanitizer sanitizer = RedisCommandSanitizer.create(true);
+
+  @Benchmark
+  public String ping() {
+    return sanitizer.sanitize("PING", emptyList());
+  }
+
+  @Benchmark
+  public String get() {
+    return sanitizer.sanitize("GET", GET_ARGS);
+  }
+
+  @Benchmark
+  public String set() {
+    return sanitizer.sanitize("SET", SET_ARGS);
+  }
+
+  @Benchmark
+  public String hsetBytes() {
+    return sanitizer.sanitize("HSET", HSET_ARGS);
+  }
+
+  @Benchmark
+  public String auth() {
+    return sanitizer.sanitize("AUTH", AUTH_ARGS);
+  }
+}
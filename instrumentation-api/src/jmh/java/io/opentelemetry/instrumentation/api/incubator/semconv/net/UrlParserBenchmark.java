@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.net;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.instrumentation.api.incubator.semconv.net.internal.ParsedUrl;
+import io.opentelemetry.instrumentation.api.incubator.semconv.net.internal.UrlParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class UrlParserBenchmark {
+
+  // urls of an http client calling a few services, with varying paths and queries
+  private static final String[] URLS = {
+    "https://api.example.com/v1/users/12345?expand=orders&limit=50",
+    "https://api.example.com/v1/users/67890/orders",
+    "http://inventory.svc.cluster.local:8080/items/sku-1234",
+    "http://inventory.svc.cluster.local:8080/items?category=books&page=3",
+    "https://storage.example-cloud.com/bucket-name/path/to/object.json",
+    "http://10.12.34.56:9200/logs-2024.06.01/_search?size=100",
+    "https://auth.example.com/oauth2/token",
+    "http://localhost:8081/health#status",
+  };
+
+  private int index;
+
+  @Benchmark
+  public void getHostPortAndPath(Blackhole blackhole) {
+    String url = URLS[index++ & 7];
+    blackhole.consume(UrlParser.getHost(url));
+    blackhole.consume(UrlParser.getPort(url));
+    blackhole.consume(UrlParser.getPath(url));
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    ParsedUrl parsedUrl = UrlParser.parse(URLS[index++ & 7]);
+    if (parsedUrl != null) {
+      blackhole.consume(parsedUrl.getHost());
+      blackhole.consume(parsedUrl.getPort());
+      blackhole.consume(parsedUrl.getPath());
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.service.peer.internal;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+public class ServicePeerResolverBenchmark {
+
+  private static final int MAPPINGS = 10_000;
+
+  // exact hosts, wildcard domains, address ranges, and hosts that are not mapped
+  private static final String[] HOSTS = {
+    "service-1232.mesh.local",
+    "api.tenant-566.example.com",
+    "10.12.35.56",
+    "unmapped.example.org",
+  };
+
+  private final ServicePeerResolver resolver = createResolver();
+  private int index;
+
+  private static ServicePeerResolver createResolver() {
+    Map<String, String> serviceNamesByPeer = new HashMap<>();
+    for (int i = 0; i < MAPPINGS; i++) {
+      switch (i % 4) {
+        case 0:
+          serviceNamesByPeer.put("service-" + i + ".mesh.local", "service-" + i);
+          break;
+        case 1:
+          serviceNamesByPeer.put("service-" + i + ".mesh.local:8080/api", "service-" + i);
+          break;
+        case 2:
+          serviceNamesByPeer.put("*.tenant-" + i + ".example.com", "tenant-" + i);
+          break;
+        default:
+          serviceNamesByPeer.put(
+              "10." + (i / 256 % 256) + "." + (i % 256) + ".0/24", "subnet-" + i);
+      }
+    }
+    return ServicePeerResolver.create(serviceNamesByPeer);
+  }
+
+  @Benchmark
+  public void resolve(Blackhole blackhole) {
+    String host = HOSTS[index++ & 3];
+    resolver.resolve(host, 8080, () -> "/api/users", (key, value) -> blackhole.consume(value));
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.semconv.http;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.instrumentation.api.config.IncludeExclude;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class CapturedHttpHeadersBenchmark {
+
+  // a request with 40 headers, as sent by browsers behind a few proxies
+  private static final List<String> HEADER_NAMES = new ArrayList<>();
+
+  static {
+    HEADER_NAMES.addAll(
+        asList(
+            "Host",
+            "Connection",
+            "Cache-Control",
+            "Accept",
+            "Accept-Encoding",
+            "Accept-Language",
+            "User-Agent",
+            "Cookie",
+            "Referer",
+            "Origin",
+            "Content-Type",
+            "Content-Length",
+            "Authorization",
+            "Upgrade-Insecure-Requests",
+            "Sec-Fetch-Site",
+            "Sec-Fetch-Mode",
+            "Sec-Fetch-Dest",
+            "Sec-Ch-Ua",
+            "Sec-Ch-Ua-Mobile",
+            "Sec-Ch-Ua-Platform",
+            "X-Forwarded-For",
+            "X-Forwarded-Proto",
+            "X-Forwarded-Host",
+            "X-Forwarded-Port",
+            "X-Real-Ip",
+            "X-Request-Id",
+            "X-Correlation-Id",
+            "Traceparent",
+            "Tracestate",
+            "Baggage",
+            "If-None-Match",
+            "If-Modified-Since",
+            "Pragma",
+            "Dnt",
+            "Priority",
+            "Via",
+            "Forwarded",
+            "X-Amzn-Trace-Id",
+            "X-Custom-Tenant",
+            "X-Custom-Region"));
+  }
+
+  private final CapturedHttpHeaders headers =
+      CapturedHttpHeaders.create(
+          "request",
+          IncludeExclude.builder()
+              .setIncluded(asList("User-Agent", "X-Request-Id", "X-Custom-*"))
+              .setExcluded(asList("Authorization", "Cookie"))
+              .build());
+
+  @Benchmark
+  public void matchingNames(Blackhole blackhole) {
+    for (String name : headers.matchingNames(HEADER_NAMES)) {
+      AttributeKey<List<String>> attributeKey = headers.attributeKey(name);
+      blackhole.consume(attributeKey);
+    }
+  }
+}
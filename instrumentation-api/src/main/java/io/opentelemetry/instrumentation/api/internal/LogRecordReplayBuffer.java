@@ -0,0 +1,528 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributeType;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.LoggerBuilder;
+import io.opentelemetry.api.logs.LoggerProvider;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.context.Context;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link LoggerProvider} that serializes the log records emitted to it into a direct {@link
+ * ByteBuffer} of at most {@code maxBytes} bytes, from which they are emitted to another {@link
+ * LoggerProvider} by {@link #replay(LoggerProvider)}. The log appenders use it to keep the logs
+ * that are emitted before the OpenTelemetry instance is installed off the heap.
+ *
+ * <p>Each log record is stored as its length followed by its fields. Log records that do not fit
+ * into the remaining bytes are dropped. The context of the log records is not kept, and exceptions
+ * are kept as the {@code exception.*} attributes.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class LogRecordReplayBuffer implements LoggerProvider {
+
+  private static final int INITIAL_CAPACITY = 64 * 1024;
+  private static final int INITIAL_RECORD_CAPACITY = 1024;
+
+  private static final AttributeKey<String> EXCEPTION_TYPE =
+      AttributeKey.stringKey("exception.type");
+  private static final AttributeKey<String> EXCEPTION_MESSAGE =
+      AttributeKey.stringKey("exception.message");
+  private static final AttributeKey<String> EXCEPTION_STACKTRACE =
+      AttributeKey.stringKey("exception.stacktrace");
+
+  private static final Severity[] SEVERITIES = Severity.values();
+
+  private static final byte STRING = 0;
+  private static final byte BOOLEAN = 1;
+  private static final byte LONG = 2;
+  private static final byte DOUBLE = 3;
+  private static final byte STRING_ARRAY = 4;
+  private static final byte BOOLEAN_ARRAY = 5;
+  private static final byte LONG_ARRAY = 6;
+  private static final byte DOUBLE_ARRAY = 7;
+
+  private final int maxBytes;
+  private final Runnable onDrop;
+
+  // allocated on the first log record, and grown up to maxBytes
+  @GuardedBy("this")
+  @Nullable
+  private ByteBuffer buffer;
+
+  // the log record that is being written, before it is copied into the buffer
+  @GuardedBy("this")
+  private ByteBuffer record = ByteBuffer.allocate(INITIAL_RECORD_CAPACITY);
+
+  /**
+   * Creates a buffer that keeps at most {@code maxBytes} bytes of log records, and runs {@code
+   * onDrop} for every log record that is dropped because it does not fit.
+   */
+  public LogRecordReplayBuffer(int maxBytes, Runnable onDrop) {
+    this.maxBytes = maxBytes;
+    this.onDrop = onDrop;
+  }
+
+  @Override
+  public LoggerBuilder loggerBuilder(String instrumentationScopeName) {
+    return new ReplayLoggerBuilder(instrumentationScopeName);
+  }
+
+  /**
+   * Emits the buffered log records to {@code loggerProvider} in the order in which they were
+   * emitted to this buffer, and clears it.
+   */
+  public synchronized void replay(LoggerProvider loggerProvider) {
+    ByteBuffer buffer = this.buffer;
+    clear();
+    if (buffer == null) {
+      return;
+    }
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      int length = buffer.getInt();
+      int end = buffer.position() + length;
+      replay(loggerProvider, buffer);
+      buffer.position(end);
+    }
+  }
+
+  /** Removes the buffered log records and releases the memory that they use. */
+  public synchronized void clear() {
+    buffer = null;
+    record = ByteBuffer.allocate(INITIAL_RECORD_CAPACITY);
+  }
+
+  private synchronized void add(ReplayLogRecordBuilder logRecord) {
+    this.record.clear();
+    writeString(logRecord.instrumentationScopeName);
+    writeString(logRecord.instrumentationVersion);
+    writeString(logRecord.schemaUrl);
+    writeLong(logRecord.timestamp);
+    writeLong(logRecord.observedTimestamp);
+    Severity severity = logRecord.severity;
+    writeByte(severity != null ? (byte) severity.ordinal() : -1);
+    writeString(logRecord.severityText);
+    writeString(logRecord.body);
+    writeString(logRecord.eventName);
+    writeAttributes(logRecord.attributes.build());
+
+    ByteBuffer record = this.record;
+    record.flip();
+    int size = Integer.BYTES + record.remaining();
+    if (!ensureCapacity(size)) {
+      onDrop.run();
+      return;
+    }
+    ByteBuffer buffer = this.buffer;
+    if (buffer != null) {
+      buffer.putInt(record.remaining());
+      buffer.put(record);
+    }
+  }
+
+  @GuardedBy("this")
+  private boolean ensureCapacity(int size) {
+    ByteBuffer buffer = this.buffer;
+    int used = buffer == null ? 0 : buffer.position();
+    if (size > maxBytes - used) {
+      return false;
+    }
+    if (buffer != null && buffer.remaining() >= size) {
+      return true;
+    }
+    long capacity = buffer == null ? INITIAL_CAPACITY : buffer.capacity();
+    while (capacity < used + size) {
+      capacity *= 2;
+    }
+    ByteBuffer grown = ByteBuffer.allocateDirect((int) Math.min(capacity, maxBytes));
+    if (buffer != null) {
+      buffer.flip();
+      grown.put(buffer);
+    }
+    this.buffer = grown;
+    return true;
+  }
+
+  @GuardedBy("this")
+  private ByteBuffer reserve(int size) {
+    ByteBuffer record = this.record;
+    if (record.remaining() < size) {
+      ByteBuffer grown =
+          ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + size));
+      record.flip();
+      grown.put(record);
+      this.record = grown;
+      return grown;
+    }
+    return record;
+  }
+
+  @GuardedBy("this")
+  private void writeByte(byte value) {
+    reserve(1).put(value);
+  }
+
+  @GuardedBy("this")
+  private void writeInt(int value) {
+    reserve(Integer.BYTES).putInt(value);
+  }
+
+  @GuardedBy("this")
+  private void writeLong(long value) {
+    reserve(Long.BYTES).putLong(value);
+  }
+
+  @GuardedBy("this")
+  private void writeString(@Nullable String value) {
+    if (value == null) {
+      writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(UTF_8);
+    writeInt(bytes.length);
+    reserve(bytes.length).put(bytes);
+  }
+
+  @GuardedBy("this")
+  private void writeAttributes(Attributes attributes) {
+    writeInt(attributes.size());
+    for (Map.Entry<AttributeKey<?>, Object> entry : attributes.asMap().entrySet()) {
+      AttributeKey<?> key = entry.getKey();
+      Object value = entry.getValue();
+      AttributeType type = key.getType();
+      if (type == AttributeType.BOOLEAN) {
+        writeByte(BOOLEAN);
+        writeString(key.getKey());
+        writeByte((byte) ((Boolean) value ? 1 : 0));
+      } else if (type == AttributeType.LONG) {
+        writeByte(LONG);
+        writeString(key.getKey());
+        writeLong((Long) value);
+      } else if (type == AttributeType.DOUBLE) {
+        writeByte(DOUBLE);
+        writeString(key.getKey());
+        writeLong(Double.doubleToRawLongBits((Double) value));
+      } else if (type == AttributeType.STRING_ARRAY) {
+        writeByte(STRING_ARRAY);
+        writeString(key.getKey());
+        List<?> values = (List<?>) value;
+        writeInt(values.size());
+        for (Object element : values) {
+          writeString((String) element);
+        }
+      } else if (type == AttributeType.BOOLEAN_ARRAY) {
+        writeByte(BOOLEAN_ARRAY);
+        writeString(key.getKey());
+        List<?> values = (List<?>) value;
+        writeInt(values.size());
+        for (Object element : values) {
+          writeByte((byte) ((Boolean) element ? 1 : 0));
+        }
+      } else if (type == AttributeType.LONG_ARRAY) {
+        writeByte(LONG_ARRAY);
+        writeString(key.getKey());
+        List<?> values = (List<?>) value;
+        writeInt(values.size());
+        for (Object element : values) {
+          writeLong((Long) element);
+        }
+      } else if (type == AttributeType.DOUBLE_ARRAY) {
+        writeByte(DOUBLE_ARRAY);
+        writeString(key.getKey());
+        List<?> values = (List<?>) value;
+        writeInt(values.size());
+        for (Object element : values) {
+          writeLong(Double.doubleToRawLongBits((Double) element));
+        }
+      } else {
+        writeByte(STRING);
+        writeString(key.getKey());
+        writeString(String.valueOf(value));
+      }
+    }
+  }
+
+  private static void replay(LoggerProvider loggerProvider, ByteBuffer buffer) {
+    String instrumentationScopeName = readNonNullString(buffer);
+    LoggerBuilder loggerBuilder = loggerProvider.loggerBuilder(instrumentationScopeName);
+    String instrumentationVersion = readString(buffer);
+    if (instrumentationVersion != null) {
+      loggerBuilder.setInstrumentationVersion(instrumentationVersion);
+    }
+    String schemaUrl = readString(buffer);
+    if (schemaUrl != null) {
+      loggerBuilder.setSchemaUrl(schemaUrl);
+    }
+    LogRecordBuilder builder = loggerBuilder.build().logRecordBuilder();
+
+    long timestamp = buffer.getLong();
+    if (timestamp != 0) {
+      builder.setTimestamp(timestamp, NANOSECONDS);
+    }
+    builder.setObservedTimestamp(buffer.getLong(), NANOSECONDS);
+    int severity = buffer.get();
+    if (severity >= 0) {
+      builder.setSeverity(SEVERITIES[severity]);
+    }
+    String severityText = readString(buffer);
+    if (severityText != null) {
+      builder.setSeverityText(severityText);
+    }
+    String body = readString(buffer);
+    if (body != null) {
+      builder.setBody(body);
+    }
+    String eventName = readString(buffer);
+    if (eventName != null) {
+      builder.setEventName(eventName);
+    }
+    builder.setAllAttributes(readAttributes(buffer));
+    builder.emit();
+  }
+
+  @Nullable
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  private static String readNonNullString(ByteBuffer buffer) {
+    String value = readString(buffer);
+    return value != null ? value : "";
+  }
+
+  private static Attributes readAttributes(ByteBuffer buffer) {
+    int size = buffer.getInt();
+    if (size == 0) {
+      return Attributes.empty();
+    }
+    AttributesBuilder attributes = Attributes.builder();
+    for (int i = 0; i < size; i++) {
+      byte type = buffer.get();
+      String key = readNonNullString(buffer);
+      switch (type) {
+        case BOOLEAN:
+          attributes.put(AttributeKey.booleanKey(key), buffer.get() != 0);
+          break;
+        case LONG:
+          attributes.put(AttributeKey.longKey(key), buffer.getLong());
+          break;
+        case DOUBLE:
+          attributes.put(AttributeKey.doubleKey(key), Double.longBitsToDouble(buffer.getLong()));
+          break;
+        case STRING_ARRAY:
+          {
+            int length = buffer.getInt();
+            List<String> values = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+              values.add(readNonNullString(buffer));
+            }
+            attributes.put(AttributeKey.stringArrayKey(key), values);
+            break;
+          }
+        case BOOLEAN_ARRAY:
+          {
+            int length = buffer.getInt();
+            List<Boolean> values = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+              values.add(buffer.get() != 0);
+            }
+            attributes.put(AttributeKey.booleanArrayKey(key), values);
+            break;
+          }
+        case LONG_ARRAY:
+          {
+            int length = buffer.getInt();
+            List<Long> values = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+              values.add(buffer.getLong());
+            }
+            attributes.put(AttributeKey.longArrayKey(key), values);
+            break;
+          }
+        case DOUBLE_ARRAY:
+          {
+            int length = buffer.getInt();
+            List<Double> values = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+              values.add(Double.longBitsToDouble(buffer.getLong()));
+            }
+            attributes.put(AttributeKey.doubleArrayKey(key), values);
+            break;
+          }
+        default:
+          attributes.put(AttributeKey.stringKey(key), readNonNullString(buffer));
+      }
+    }
+    return attributes.build();
+  }
+
+  private final class ReplayLoggerBuilder implements LoggerBuilder {
+
+    private final String instrumentationScopeName;
+    @Nullable private String instrumentationVersion;
+    @Nullable private String schemaUrl;
+
+    ReplayLoggerBuilder(String instrumentationScopeName) {
+      this.instrumentationScopeName = instrumentationScopeName;
+    }
+
+    @Override
+    public LoggerBuilder setSchemaUrl(String schemaUrl) {
+      this.schemaUrl = schemaUrl;
+      return this;
+    }
+
+    @Override
+    public LoggerBuilder setInstrumentationVersion(String instrumentationVersion) {
+      this.instrumentationVersion = instrumentationVersion;
+      return this;
+    }
+
+    @Override
+    public Logger build() {
+      String instrumentationVersion = this.instrumentationVersion;
+      String schemaUrl = this.schemaUrl;
+      return () ->
+          new ReplayLogRecordBuilder(instrumentationScopeName, instrumentationVersion, schemaUrl);
+    }
+  }
+
+  private final class ReplayLogRecordBuilder implements LogRecordBuilder {
+
+    private final String instrumentationScopeName;
+    @Nullable private final String instrumentationVersion;
+    @Nullable private final String schemaUrl;
+    private long timestamp;
+    private long observedTimestamp;
+    @Nullable private Severity severity;
+    @Nullable private String severityText;
+    @Nullable private String body;
+    @Nullable private String eventName;
+    private final AttributesBuilder attributes = Attributes.builder();
+
+    ReplayLogRecordBuilder(
+        String instrumentationScopeName,
+        @Nullable String instrumentationVersion,
+        @Nullable String schemaUrl) {
+      this.instrumentationScopeName = instrumentationScopeName;
+      this.instrumentationVersion = instrumentationVersion;
+      this.schemaUrl = schemaUrl;
+    }
+
+    @Override
+    public LogRecordBuilder setTimestamp(long timestamp, TimeUnit unit) {
+      this.timestamp = unit.toNanos(timestamp);
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setTimestamp(Instant instant) {
+      return setTimestamp(toNanos(instant), NANOSECONDS);
+    }
+
+    @Override
+    public LogRecordBuilder setObservedTimestamp(long timestamp, TimeUnit unit) {
+      this.observedTimestamp = unit.toNanos(timestamp);
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setObservedTimestamp(Instant instant) {
+      return setObservedTimestamp(toNanos(instant), NANOSECONDS);
+    }
+
+    @Override
+    public LogRecordBuilder setContext(Context context) {
+      // not kept, the log records are replayed on another thread, with another context
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setSeverity(Severity severity) {
+      this.severity = severity;
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setSeverityText(String severityText) {
+      this.severityText = severityText;
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setBody(String body) {
+      this.body = body;
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setEventName(String eventName) {
+      this.eventName = eventName;
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setException(Throwable throwable) {
+      attributes.put(EXCEPTION_TYPE, throwable.getClass().getName());
+      String message = throwable.getMessage();
+      if (message != null) {
+        attributes.put(EXCEPTION_MESSAGE, message);
+      }
+      StringWriter stackTrace = new StringWriter();
+      throwable.printStackTrace(new PrintWriter(stackTrace));
+      attributes.put(EXCEPTION_STACKTRACE, stackTrace.toString());
+      return this;
+    }
+
+    @Override
+    public <T> LogRecordBuilder setAttribute(AttributeKey<T> key, @Nullable T value) {
+      if (value != null) {
+        attributes.put(key, value);
+      }
+      return this;
+    }
+
+    @Override
+    public void emit() {
+      if (observedTimestamp == 0) {
+        // the time at which the log was observed, rather than the time at which it is replayed
+        observedTimestamp = MILLISECONDS.toNanos(System.currentTimeMillis());
+      }
+      add(this);
+    }
+  }
+
+  private static long toNanos(Instant instant) {
+    return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+  }
+}
@@ -10,6 +10,7 @@ import static java.util.Collections.unmodifiableList;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.instrumentation.api.config.IncludeExclude;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -25,10 +26,16 @@ import javax.annotation.Nullable;
  * IncludeExclude} selector or, for legacy callers, from a list of exact header names.
  *
  * <p>HTTP header names are case-insensitive, so the selector patterns are lowercased here and every
- * header name is lowercased before it is matched.
+ * header name is lowercased before it is matched. The result of matching an enumerated header name
+ * is cached by the name as received, so that the header names a service sees on every request are
+ * matched, lowercased, and turned into attribute keys only once.
  */
 final class CapturedHttpHeaders {
 
+  // header names are chosen by clients, so the cache is bounded
+  private static final int MATCH_CACHE_SIZE = 256;
+  private static final Match NO_MATCH = new Match(null, null);
+
   private final String type;
   @Nullable private final IncludeExclude selector;
   // the exact header names configured by legacy callers, which are matched literally
@@ -40,6 +47,7 @@ final class CapturedHttpHeaders {
   // whether the selector can match header names that are not listed in exactNames, which requires
   // enumerating the header names of each request or response
   private final boolean enumerateNames;
+  private final Cache<String, Match> matchCache = Cache.bounded(MATCH_CACHE_SIZE);
 
   static CapturedHttpHeaders create(String type, @Nullable IncludeExclude headers) {
     return new CapturedHttpHeaders(
@@ -104,9 +112,9 @@ final class CapturedHttpHeaders {
   Collection<String> matchingNames(Iterable<String> enumeratedNames) {
     Set<String> names = new LinkedHashSet<>(exactNames);
     for (String name : enumeratedNames) {
-      String lowercased = lowercase(name);
-      if (matches(lowercased)) {
-        names.add(lowercased);
+      String lowercaseName = matchCache.computeIfAbsent(name, this::match).lowercaseName;
+      if (lowercaseName != null) {
+        names.add(lowercaseName);
       }
     }
     return names;
@@ -114,9 +122,25 @@ final class CapturedHttpHeaders {
 
   AttributeKey<List<String>> attributeKey(String lowercaseName) {
     AttributeKey<List<String>> attributeKey = exactAttributeKeys.get(lowercaseName);
+    if (attributeKey != null) {
+      return attributeKey;
+    }
+    // captured names are looked up for every request, so their attribute keys are cached too
+    attributeKey = matchCache.computeIfAbsent(lowercaseName, this::match).attributeKey;
     return attributeKey != null ? attributeKey : createAttributeKey(type, lowercaseName);
   }
 
+  private Match match(String name) {
+    String lowercaseName = isLowercase(name) ? name : lowercase(name);
+    if (!matches(lowercaseName)) {
+      return NO_MATCH;
+    }
+    AttributeKey<List<String>> attributeKey = exactAttributeKeys.get(lowercaseName);
+    return new Match(
+        lowercaseName,
+        attributeKey != null ? attributeKey : createAttributeKey(type, lowercaseName));
+  }
+
   private boolean matches(String lowercaseName) {
     if (exactOnlyNames != null) {
       return exactOnlyNames.contains(lowercaseName);
@@ -140,6 +164,16 @@ final class CapturedHttpHeaders {
     return AttributeKey.stringArrayKey("http." + type + ".header." + lowercaseName);
   }
 
+  private static boolean isLowercase(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if ((c >= 'A' && c <= 'Z') || c > 127) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private static String lowercase(String value) {
     return value.toLowerCase(Locale.ROOT);
   }
@@ -158,4 +192,15 @@ final class CapturedHttpHeaders {
     }
     return lowercased;
   }
+
+  private static final class Match {
+    @Nullable private final String lowercaseName;
+    @Nullable private final AttributeKey<List<String>> attributeKey;
+
+    private Match(
+        @Nullable String lowercaseName, @Nullable AttributeKey<List<String>> attributeKey) {
+      this.lowercaseName = lowercaseName;
+      this.attributeKey = attributeKey;
+    }
+  }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class LogRecordReplayBufferTest {
+
+  private final InMemoryLogRecordExporter exporter = InMemoryLogRecordExporter.create();
+  private final SdkLoggerProvider loggerProvider =
+      SdkLoggerProvider.builder()
+          .addLogRecordProcessor(SimpleLogRecordProcessor.create(exporter))
+          .build();
+
+  @Test
+  void replaysLogRecords() {
+    LogRecordReplayBuffer buffer = new LogRecordReplayBuffer(1024, () -> {});
+
+    buffer
+        .loggerBuilder("test")
+        .setInstrumentationVersion("1.0")
+        .build()
+        .logRecordBuilder()
+        .setTimestamp(1234, MILLISECONDS)
+        .setObservedTimestamp(5678, MILLISECONDS)
+        .setSeverity(Severity.WARN)
+        .setSeverityText("WARNING")
+        .setBody("message")
+        .setEventName("event")
+        .setAttribute(AttributeKey.stringKey("string"), "value")
+        .setAttribute(AttributeKey.booleanKey("boolean"), true)
+        .setAttribute(AttributeKey.longKey("long"), 42L)
+        .setAttribute(AttributeKey.doubleKey("double"), 4.2)
+        .setAttribute(AttributeKey.stringArrayKey("strings"), asList("a", "b"))
+        .setAttribute(AttributeKey.booleanArrayKey("booleans"), asList(true, false))
+        .setAttribute(AttributeKey.longArrayKey("longs"), asList(1L, 2L))
+        .setAttribute(AttributeKey.doubleArrayKey("doubles"), asList(1.5, 2.5))
+        .emit();
+    buffer.loggerBuilder("other").build().logRecordBuilder().setBody("second").emit();
+
+    buffer.replay(loggerProvider);
+
+    List<LogRecordData> logRecords = exporter.getFinishedLogRecordItems();
+    assertThat(logRecords).hasSize(2);
+    assertThat(logRecords.get(0))
+        .hasInstrumentationScope(InstrumentationScopeInfo.builder("test").setVersion("1.0").build())
+        .hasTimestamp(MILLISECONDS.toNanos(1234))
+        .hasObservedTimestamp(MILLISECONDS.toNanos(5678))
+        .hasSeverity(Severity.WARN)
+        .hasSeverityText("WARNING")
+        .hasBody("message")
+        .hasEventName("event")
+        .hasAttributesSatisfyingExactly(
+            equalTo(AttributeKey.stringKey("string"), "value"),
+            equalTo(AttributeKey.booleanKey("boolean"), true),
+            equalTo(AttributeKey.longKey("long"), 42L),
+            equalTo(AttributeKey.doubleKey("double"), 4.2),
+            equalTo(AttributeKey.stringArrayKey("strings"), asList("a", "b")),
+            equalTo(AttributeKey.booleanArrayKey("booleans"), asList(true, false)),
+            equalTo(AttributeKey.longArrayKey("longs"), asList(1L, 2L)),
+            equalTo(AttributeKey.doubleArrayKey("doubles"), asList(1.5, 2.5)));
+    assertThat(logRecords.get(1))
+        .hasInstrumentationScope(InstrumentationScopeInfo.create("other"))
+        .hasBody("second");
+
+    // the buffer is cleared by replaying
+    exporter.reset();
+    buffer.replay(loggerProvider);
+    assertThat(exporter.getFinishedLogRecordItems()).isEmpty();
+  }
+
+  @Test
+  void dropsLogRecordsThatDoNotFit() {
+    AtomicInteger dropped = new AtomicInteger();
+    LogRecordReplayBuffer buffer = new LogRecordReplayBuffer(128, dropped::incrementAndGet);
+
+    buffer.loggerBuilder("test").build().logRecordBuilder().setBody("first").emit();
+    buffer.loggerBuilder("test").build().logRecordBuilder().setBody(repeat('x', 128)).emit();
+    buffer.loggerBuilder("test").build().logRecordBuilder().setBody("third").emit();
+
+    buffer.replay(loggerProvider);
+
+    assertThat(dropped).hasValue(1);
+    assertThat(exporter.getFinishedLogRecordItems())
+        .satisfiesExactly(
+            logRecord -> assertThat(logRecord).hasBody("first"),
+            logRecord -> assertThat(logRecord).hasBody("third"));
+  }
+
+  @Test
+  void keepsExceptionsAsAttributes() {
+    LogRecordReplayBuffer buffer = new LogRecordReplayBuffer(64 * 1024, () -> {});
+
+    buffer
+        .loggerBuilder("test")
+        .build()
+        .logRecordBuilder()
+        .setException(new IllegalStateException("failure"))
+        .emit();
+
+    buffer.replay(loggerProvider);
+
+    assertThat(exporter.getFinishedLogRecordItems())
+        .satisfiesExactly(
+            logRecord ->
+                assertThat(logRecord)
+                    .hasAttributesSatisfying(
+                        equalTo(
+                            AttributeKey.stringKey("exception.type"),
+                            IllegalStateException.class.getName()),
+                        equalTo(AttributeKey.stringKey("exception.message"), "failure")));
+  }
+
+  private static String repeat(char c, int count) {
+    StringBuilder sb = new StringBuilder(count);
+    for (int i = 0; i < count; i++) {
+      sb.append(c);
+    }
+    return sb.toString();
+  }
+}
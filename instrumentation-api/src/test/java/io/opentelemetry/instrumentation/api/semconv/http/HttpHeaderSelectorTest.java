@@ -144,6 +144,31 @@ class HttpHeaderSelectorTest {
         .isEmpty();
   }
 
+  @Test
+  void matchedHeaderNamesAreReusedAcrossRequests() {
+    AttributesExtractor<Map<String, String>, Map<String, String>> extractor =
+        HttpServerAttributesExtractor.builder(new MapGetter(true))
+            .setRequestHeaders(selector(singletonList("Test-Request-*"), emptyList()))
+            .build();
+    Map<String, String> request = new LinkedHashMap<>();
+    request.put("TEST-REQUEST-HEADER", "upper");
+    request.put("Authorization", "secret");
+
+    for (int i = 0; i < 2; i++) {
+      AttributesBuilder attributes = Attributes.builder();
+      extractor.onStart(attributes, Context.root(), REQUEST);
+      assertThat(headerAttributes(attributes.build()))
+          .containsOnly(
+              requestHeaderEntry("test-request-header", "one"),
+              requestHeaderEntry("test-request-other", "two"));
+
+      attributes = Attributes.builder();
+      extractor.onStart(attributes, Context.root(), request);
+      assertThat(headerAttributes(attributes.build()))
+          .containsOnly(requestHeaderEntry("test-request-header", "upper"));
+    }
+  }
+
   @SuppressWarnings("deprecation") // testing deprecated API
   @Test
   void deprecatedCapturedHeadersSettersSelectExactNames() {
@@ -80,9 +80,12 @@ public final class SqsImpl {
     Instrumenter<SqsReceiveRequest, Response> consumerReceiveInstrumenter =
         config.getConsumerReceiveInstrumenter();
     io.opentelemetry.context.Context receiveContext = null;
+    // shared by the receive and the process spans, messages of a batch usually come from the same
+    // producer so their creation context is extracted only once
+    SqsParentContextCache contextCache = new SqsParentContextCache(config);
     SqsReceiveRequest receiveRequest =
         SqsReceiveRequest.create(
-            executionAttributes, SqsMessageImpl.wrap(response.messages(), config));
+            executionAttributes, SqsMessageImpl.wrap(response.messages(), contextCache));
     if (timer != null && consumerReceiveInstrumenter.shouldStart(parentContext, receiveRequest)) {
       receiveContext =
           InstrumenterUtil.startAndEnd(
@@ -116,6 +119,7 @@ public final class SqsImpl {
             copy,
             new Response(context.httpResponse(), response),
             config,
+            contextCache,
             processParentContext);
 
     // store tracing list in context so that our proxied SqsClient/SqsAsyncClient could pick it up
@@ -21,37 +21,47 @@ import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 public final class SqsMessageImpl implements SqsMessage {
 
   private final Message message;
-  @Nullable private final TracingExecutionInterceptor config;
+  @Nullable private final SqsParentContextCache contextCache;
+  @Nullable private Context creationContext;
 
-  private SqsMessageImpl(Message message) {
+  private SqsMessageImpl(Message message, @Nullable SqsParentContextCache contextCache) {
     this.message = message;
-    this.config = null;
-  }
-
-  private SqsMessageImpl(Message message, TracingExecutionInterceptor config) {
-    this.message = message;
-    this.config = config;
+    this.contextCache = contextCache;
   }
 
   public static SqsMessage wrap(Message message) {
-    return new SqsMessageImpl(message);
+    return new SqsMessageImpl(message, null);
   }
 
   public static SqsMessage wrap(Message message, TracingExecutionInterceptor config) {
-    return new SqsMessageImpl(message, config);
+    return new SqsMessageImpl(message, new SqsParentContextCache(config));
   }
 
-  static List<SqsMessage> wrap(List<Message> messages, TracingExecutionInterceptor config) {
-    List<SqsMessage> result = new ArrayList<>();
+  static SqsMessage wrap(Message message, SqsParentContextCache contextCache) {
+    return new SqsMessageImpl(message, contextCache);
+  }
+
+  static List<SqsMessage> wrap(List<Message> messages, SqsParentContextCache contextCache) {
+    List<SqsMessage> result = new ArrayList<>(messages.size());
     for (Message message : messages) {
-      result.add(wrap(message, config));
+      result.add(wrap(message, contextCache));
     }
     return result;
   }
 
   @Override
   public Context getCreationContext() {
-    return config != null ? SqsParentContext.ofMessage(this, config) : Context.root();
+    if (contextCache == null) {
+      return Context.root();
+    }
+    // the creation context is needed for the receive span links, the process span parent and the
+    // process span links, extract it only once
+    Context context = creationContext;
+    if (context == null) {
+      context = contextCache.getCreationContext(this);
+      creationContext = context;
+    }
+    return context;
   }
 
   @Override
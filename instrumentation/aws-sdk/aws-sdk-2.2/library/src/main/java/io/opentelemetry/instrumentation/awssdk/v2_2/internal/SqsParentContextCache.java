@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.awssdk.v2_2.internal;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Caches the creation contexts extracted from the messages of a single receive batch. Messages
+ * sent by the same producer span carry identical message attributes, so the context only needs to
+ * be extracted once per distinct set of message attributes instead of once per message.
+ */
+final class SqsParentContextCache {
+
+  // extraction is cheap to repeat, this only bounds memory when a batch is unexpectedly large
+  private static final int MAX_SIZE = 64;
+
+  @Nullable private final TextMapPropagator messagingPropagator;
+  private final boolean useXrayPropagator;
+  private final Map<String, Context> contexts = new ConcurrentHashMap<>();
+
+  SqsParentContextCache(TracingExecutionInterceptor config) {
+    this(config.getMessagingPropagator(), config.shouldUseXrayPropagator());
+  }
+
+  SqsParentContextCache(
+      @Nullable TextMapPropagator messagingPropagator, boolean useXrayPropagator) {
+    this.messagingPropagator = messagingPropagator;
+    this.useXrayPropagator = useXrayPropagator;
+  }
+
+  Context getCreationContext(SqsMessage message) {
+    String key = cacheKey(message);
+    Context context = contexts.get(key);
+    if (context == null) {
+      context = SqsParentContext.ofMessage(message, messagingPropagator, useXrayPropagator);
+      if (contexts.size() < MAX_SIZE) {
+        contexts.put(key, context);
+      }
+    }
+    return context;
+  }
+
+  private String cacheKey(SqsMessage message) {
+    // the propagator may read any message attribute, not only the ones named by its fields, e.g.
+    // prefixed baggage keys found through TextMapGetter.keys(), and the receive request keeps the
+    // attribute names requested by the application, so every attribute the getter exposes is part
+    // of the key
+    StringBuilder key = new StringBuilder();
+    if (messagingPropagator != null) {
+      for (Map.Entry<String, MessageAttributeValue> entry :
+          message.messageAttributes().entrySet()) {
+        appendKeyPart(key, entry.getKey());
+        appendKeyPart(key, entry.getValue() != null ? entry.getValue().stringValue() : null);
+      }
+    }
+    if (useXrayPropagator) {
+      appendKeyPart(
+          key, message.attributesAsStrings().get(SqsParentContext.AWS_TRACE_SYSTEM_ATTRIBUTE));
+    }
+    return key.toString();
+  }
+
+  private static void appendKeyPart(StringBuilder key, @Nullable String value) {
+    // length prefix keeps the key unambiguous regardless of the characters in the values
+    if (value == null) {
+      key.append("-1:");
+    } else {
+      key.append(value.length()).append(':').append(value);
+    }
+  }
+}
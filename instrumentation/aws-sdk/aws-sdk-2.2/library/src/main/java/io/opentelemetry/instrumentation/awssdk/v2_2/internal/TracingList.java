@@ -26,17 +26,20 @@ public final class TracingList extends ArrayList<Message> {
   private final ExecutionAttributes request;
   private final Response response;
   private final TracingExecutionInterceptor config;
+  private final SqsParentContextCache contextCache;
   @Nullable private final Context processParentContext;
   private boolean firstIterator = true;
 
-  public static TracingList wrap(
+  static TracingList wrap(
       List<Message> messages,
       Instrumenter<SqsProcessRequest, Response> instrumenter,
       ExecutionAttributes request,
       Response response,
       TracingExecutionInterceptor config,
+      SqsParentContextCache contextCache,
       @Nullable Context processParentContext) {
-    return new TracingList(messages, instrumenter, request, response, config, processParentContext);
+    return new TracingList(
+        messages, instrumenter, request, response, config, contextCache, processParentContext);
   }
 
   private TracingList(
@@ -45,12 +48,14 @@ public final class TracingList extends ArrayList<Message> {
       ExecutionAttributes request,
       Response response,
       TracingExecutionInterceptor config,
+      SqsParentContextCache contextCache,
       @Nullable Context processParentContext) {
     super(messages);
     this.instrumenter = instrumenter;
     this.request = request;
     this.response = response;
     this.config = config;
+    this.contextCache = contextCache;
     this.processParentContext = processParentContext;
   }
 
@@ -98,6 +103,10 @@ public final class TracingList extends ArrayList<Message> {
     return config;
   }
 
+  SqsParentContextCache getContextCache() {
+    return contextCache;
+  }
+
   @Nullable
   public Context getProcessParentContext() {
     return processParentContext;
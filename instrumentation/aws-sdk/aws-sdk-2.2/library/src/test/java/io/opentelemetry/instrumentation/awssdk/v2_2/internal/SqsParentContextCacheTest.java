@@ -0,0 +1,127 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.awssdk.v2_2.internal;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+class SqsParentContextCacheTest {
+
+  private static final String TRACE_PARENT_1 =
+      "00-11111111111111111111111111111111-1111111111111111-01";
+  private static final String TRACE_PARENT_2 =
+      "00-22222222222222222222222222222222-2222222222222222-01";
+
+  @Test
+  void messagesWithSameHeadersShareContext() {
+    SqsParentContextCache cache =
+        new SqsParentContextCache(W3CTraceContextPropagator.getInstance(), false);
+
+    Context first = SqsMessageImpl.wrap(message(TRACE_PARENT_1), cache).getCreationContext();
+    Context second = SqsMessageImpl.wrap(message(TRACE_PARENT_1), cache).getCreationContext();
+    Context third = SqsMessageImpl.wrap(message(TRACE_PARENT_2), cache).getCreationContext();
+
+    assertThat(second).isSameAs(first);
+    assertThat(third).isNotSameAs(first);
+
+    SpanContext firstSpanContext = Span.fromContext(first).getSpanContext();
+    assertThat(firstSpanContext.getTraceId()).isEqualTo("11111111111111111111111111111111");
+    SpanContext thirdSpanContext = Span.fromContext(third).getSpanContext();
+    assertThat(thirdSpanContext.getTraceId()).isEqualTo("22222222222222222222222222222222");
+  }
+
+  @Test
+  void messageWithoutHeaders() {
+    SqsParentContextCache cache =
+        new SqsParentContextCache(W3CTraceContextPropagator.getInstance(), false);
+
+    Context context = SqsMessageImpl.wrap(Message.builder().build(), cache).getCreationContext();
+
+    assertThat(Span.fromContext(context).getSpanContext().isValid()).isFalse();
+  }
+
+  @Test
+  void messagesWithDifferentPrefixedBaggage() {
+    TextMapPropagator propagator =
+        TextMapPropagator.composite(
+            W3CTraceContextPropagator.getInstance(), PrefixedBaggagePropagator.INSTANCE);
+    SqsParentContextCache cache = new SqsParentContextCache(propagator, false);
+
+    Context first =
+        SqsMessageImpl.wrap(message(TRACE_PARENT_1, "baggage-user", "alice"), cache)
+            .getCreationContext();
+    Context second =
+        SqsMessageImpl.wrap(message(TRACE_PARENT_1, "baggage-user", "bob"), cache)
+            .getCreationContext();
+
+    assertThat(Baggage.fromContext(first).getEntryValue("user")).isEqualTo("alice");
+    assertThat(Baggage.fromContext(second).getEntryValue("user")).isEqualTo("bob");
+    assertThat(Span.fromContext(second).getSpanContext().getTraceId())
+        .isEqualTo("11111111111111111111111111111111");
+  }
+
+  private static Message message(String traceParent) {
+    return Message.builder()
+        .messageAttributes(singletonMap("traceparent", stringAttribute(traceParent)))
+        .build();
+  }
+
+  private static Message message(String traceParent, String name, String value) {
+    Map<String, MessageAttributeValue> attributes = new HashMap<>();
+    attributes.put("traceparent", stringAttribute(traceParent));
+    attributes.put(name, stringAttribute(value));
+    return Message.builder().messageAttributes(attributes).build();
+  }
+
+  private static MessageAttributeValue stringAttribute(String value) {
+    return MessageAttributeValue.builder().dataType("String").stringValue(value).build();
+  }
+
+  // like the Jaeger and OpenTracing baggage propagators, reads keys that are not in fields()
+  private enum PrefixedBaggagePropagator implements TextMapPropagator {
+    INSTANCE;
+
+    private static final String PREFIX = "baggage-";
+
+    @Override
+    public Collection<String> fields() {
+      return singletonList("baggage");
+    }
+
+    @Override
+    public <C> void inject(Context context, @Nullable C carrier, TextMapSetter<C> setter) {}
+
+    @Override
+    public <C> Context extract(Context context, @Nullable C carrier, TextMapGetter<C> getter) {
+      BaggageBuilder baggage = Baggage.fromContext(context).toBuilder();
+      for (String key : getter.keys(carrier)) {
+        String value = getter.get(carrier, key);
+        if (key.startsWith(PREFIX) && value != null) {
+          baggage.put(key.substring(PREFIX.length()), value);
+        }
+      }
+      return context.with(baggage.build());
+    }
+  }
+}
@@ -10,10 +10,13 @@ import static java.util.Collections.singleton;
 import com.datastax.oss.driver.api.core.cql.BatchStatement;
 import com.datastax.oss.driver.api.core.cql.BatchableStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.cql.Statement;
 import com.datastax.oss.driver.api.core.session.Session;
 import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.PreparedSqlQuery;
+import io.opentelemetry.instrumentation.api.util.VirtualField;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -22,15 +25,24 @@ import javax.annotation.Nullable;
 @AutoValue
 abstract class CassandraRequest {
 
+  private static final VirtualField<PreparedStatement, PreparedSqlQuery> preparedQueries =
+      VirtualField.find(PreparedStatement.class, PreparedSqlQuery.class);
+
   static CassandraRequest create(Session session, String queryText) {
-    return create(session, singleton(queryText), false, null, null);
+    return create(session, singleton(queryText), false, null, null, null);
   }
 
   static CassandraRequest create(Session session, Statement<?> statement) {
     if (statement instanceof BatchStatement) {
       return create(session, (BatchStatement) statement);
     }
-    return create(session, singleton(getQuery(statement)), hasQueryValues(statement), null, null);
+    return create(
+        session,
+        singleton(getQuery(statement)),
+        hasQueryValues(statement),
+        null,
+        null,
+        getPreparedQuery(statement));
   }
 
   private static CassandraRequest create(Session session, BatchStatement batchStatement) {
@@ -68,7 +80,8 @@ abstract class CassandraRequest {
         queryTexts,
         allQueriesParameterizedResult,
         mixedParameterizedQueries,
-        Long.valueOf(batchStatement.size()));
+        Long.valueOf(batchStatement.size()),
+        null);
   }
 
   private static CassandraRequest create(
@@ -76,9 +89,29 @@ abstract class CassandraRequest {
       Collection<String> queryTexts,
       boolean allQueriesParameterized,
       @Nullable List<Boolean> mixedParameterizedQueries,
-      @Nullable Long batchSize) {
+      @Nullable Long batchSize,
+      @Nullable PreparedSqlQuery preparedQuery) {
     return new AutoValue_CassandraRequest(
-        session, queryTexts, allQueriesParameterized, mixedParameterizedQueries, batchSize);
+        session,
+        queryTexts,
+        allQueriesParameterized,
+        mixedParameterizedQueries,
+        batchSize,
+        preparedQuery);
+  }
+
+  @Nullable
+  private static PreparedSqlQuery getPreparedQuery(Statement<?> statement) {
+    if (!(statement instanceof BoundStatement)) {
+      return null;
+    }
+    PreparedStatement preparedStatement = ((BoundStatement) statement).getPreparedStatement();
+    PreparedSqlQuery preparedQuery = preparedQueries.get(preparedStatement);
+    if (preparedQuery == null) {
+      preparedQuery = PreparedSqlQuery.create();
+      preparedQueries.set(preparedStatement, preparedQuery);
+    }
+    return preparedQuery;
   }
 
   private static String getQuery(Statement<?> statement) {
@@ -122,4 +155,7 @@ abstract class CassandraRequest {
 
   @Nullable
   abstract Long getBatchSize();
+
+  @Nullable
+  abstract PreparedSqlQuery getPreparedQuery();
 }
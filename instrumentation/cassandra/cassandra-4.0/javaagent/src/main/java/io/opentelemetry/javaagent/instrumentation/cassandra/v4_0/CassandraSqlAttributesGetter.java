@@ -10,6 +10,7 @@ import static io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlDiale
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
 import com.datastax.oss.driver.api.core.metadata.Node;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.PreparedSqlQuery;
 import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlClientAttributesGetter;
 import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlDialect;
 import io.opentelemetry.semconv.incubating.DbIncubatingAttributes.DbSystemNameIncubatingValues;
@@ -71,4 +72,10 @@ final class CassandraSqlAttributesGetter
   public boolean isParameterizedQuery(CassandraRequest request, int queryIndex) {
     return request.isParameterizedQuery(queryIndex);
   }
+
+  @Override
+  @Nullable
+  public PreparedSqlQuery getPreparedQuery(CassandraRequest request, int queryIndex) {
+    return request.getPreparedQuery();
+  }
 }
@@ -12,6 +12,7 @@ import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
 import com.datastax.oss.driver.api.core.metadata.EndPoint;
 import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.internal.core.metadata.DefaultEndPoint;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.PreparedSqlQuery;
 import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlClientAttributesGetter;
 import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlDialect;
 import java.net.InetSocketAddress;
@@ -75,4 +76,10 @@ final class CassandraSqlAttributesGetter
   public boolean isParameterizedQuery(CassandraRequest request, int queryIndex) {
     return request.isParameterizedQuery(queryIndex);
   }
+
+  @Override
+  @Nullable
+  public PreparedSqlQuery getPreparedQuery(CassandraRequest request, int queryIndex) {
+    return request.getPreparedQuery();
+  }
 }
@@ -75,15 +75,41 @@ tasks {
     systemProperty("collectMetadata", otelProps.collectMetadata)
   }
 
+  val testCaptureSearchQuery = register<Test>("testCaptureSearchQuery") {
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    filter {
+      includeTestsMatching("ElasticsearchClientCaptureSearchQueryTest")
+    }
+    include("**/ElasticsearchClientCaptureSearchQueryTest.*")
+    jvmArgs("-Dotel.instrumentation.elasticsearch.capture-search-query=true")
+    systemProperty("metadataConfig", "otel.instrumentation.elasticsearch.capture-search-query=true")
+  }
+
+  test {
+    filter {
+      excludeTestsMatching("ElasticsearchClientCaptureSearchQueryTest")
+    }
+  }
+
+  named<Test>("version8Test") {
+    filter {
+      excludeTestsMatching("ElasticsearchClientCaptureSearchQueryTest")
+    }
+  }
+
   val testStableSemconv = register<Test>("testStableSemconv") {
     testClassesDirs = sourceSets.test.get().output.classesDirs
     classpath = sourceSets.test.get().runtimeClasspath
 
     jvmArgs("-Dotel.semconv-stability.opt-in=database")
     systemProperty("metadataConfig", "otel.semconv-stability.opt-in=database")
+    filter {
+      excludeTestsMatching("ElasticsearchClientCaptureSearchQueryTest")
+    }
   }
 
   check {
-    dependsOn(testing.suites, testStableSemconv)
+    dependsOn(testing.suites, testCaptureSearchQuery, testStableSemconv)
   }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.elasticsearch.api.client.v7_16;
+
+import static io.opentelemetry.instrumentation.testing.junit.db.SemconvStabilityUtil.maybeStable;
+import static io.opentelemetry.semconv.incubating.DbIncubatingAttributes.DB_OPERATION;
+import static io.opentelemetry.semconv.incubating.DbIncubatingAttributes.DB_STATEMENT;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.testing.internal.AutoCleanupExtension;
+import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import java.io.IOException;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+
+// runs with otel.instrumentation.elasticsearch.capture-search-query=true, see build.gradle.kts
+@SuppressWarnings("deprecation") // using deprecated semconv
+class ElasticsearchClientCaptureSearchQueryTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = AgentInstrumentationExtension.create();
+
+  @RegisterExtension static final AutoCleanupExtension cleanup = AutoCleanupExtension.create();
+
+  static ElasticsearchClient client;
+
+  @BeforeAll
+  static void setUp() {
+    ElasticsearchContainer elasticsearch =
+        new ElasticsearchContainer("docker.elastic.co/elasticsearch/elasticsearch:7.17.28");
+    // limit memory usage
+    elasticsearch.withEnv("ES_JAVA_OPTS", "-Xmx256m -Xms256m");
+    elasticsearch.start();
+    cleanup.deferAfterAll(elasticsearch::stop);
+
+    RestClient restClient =
+        RestClient.builder(HttpHost.create(elasticsearch.getHttpHostAddress())).build();
+    cleanup.deferAfterAll(restClient);
+
+    client = new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper()));
+  }
+
+  @Test
+  void capturesSanitizedSearchQuery() throws IOException {
+    client.index(
+        r ->
+            r.id("test-id")
+                .index("test-index")
+                .document(new ElasticsearchClientTest.Person("person-name")));
+    testing.waitForTraces(1);
+    testing.clearData();
+
+    client.search(s -> s.index("test-index").size(10), ElasticsearchClientTest.Person.class);
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasName("search")
+                        .hasKind(SpanKind.CLIENT)
+                        .hasNoParent()
+                        .hasAttribute(maybeStable(DB_OPERATION), "search")
+                        .hasAttribute(maybeStable(DB_STATEMENT), "{\"size\":\"?\"}"),
+                span -> span.hasKind(SpanKind.CLIENT).hasParent(trace.getSpan(0))));
+  }
+}
@@ -1,5 +1,6 @@
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -9,4 +10,6 @@ dependencies {
   annotationProcessor("com.google.auto.value:auto-value")
 
   testImplementation("org.elasticsearch.client:rest:5.0.0")
+
+  jmhImplementation("org.elasticsearch.client:rest:5.0.0")
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.elasticsearch.rest.common.v5_0.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.joining;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class ElasticsearchQuerySanitizerBenchmark {
+
+  private static final String SEARCH =
+      "{\"query\":{\"bool\":{"
+          + "\"must\":[{\"multi_match\":{\"query\":\"running shoes\","
+          + "\"fields\":[\"title^3\",\"description\"]}}],"
+          + "\"filter\":[{\"term\":{\"brand\":\"acme\"}},"
+          + "{\"range\":{\"price\":{\"gte\":20,\"lte\":150}}},"
+          + "{\"terms\":{\"size\":[\"9\",\"9.5\",\"10\"]}}]}},"
+          + "\"aggs\":{\"brands\":{\"terms\":{\"field\":\"brand\",\"size\":20}},"
+          + "\"price_ranges\":{\"range\":{\"field\":\"price\",\"ranges\":"
+          + "[{\"to\":50},{\"from\":50,\"to\":100},{\"from\":100}]}},"
+          + "\"per_day\":{\"date_histogram\":{\"field\":\"created\",\"interval\":\"day\"},"
+          + "\"aggs\":{\"avg_price\":{\"avg\":{\"field\":\"price\"}}}}},"
+          + "\"sort\":[{\"_score\":\"desc\"},{\"created\":\"desc\"}],"
+          + "\"from\":0,\"size\":25}";
+
+  // a multi search of 500 searches that only differ in their values
+  private static final String MULTI_SEARCH = multiSearch(500);
+
+  private final ElasticsearchQuerySanitizer sanitizer =
+      new ElasticsearchQuerySanitizer(32 * 1024);
+
+  private final HttpEntity search = new StringEntity(SEARCH, ContentType.APPLICATION_JSON);
+  private final HttpEntity multiSearch =
+      new StringEntity(MULTI_SEARCH, ContentType.APPLICATION_JSON);
+
+  private static String multiSearch(int count) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      sb.append("{\"index\":\"products-")
+          .append(i % 3)
+          .append("\"}\n")
+          .append(SEARCH.replace("running shoes", "query " + i))
+          .append('\n');
+    }
+    return sb.toString();
+  }
+
+  @Benchmark
+  public String search() throws IOException {
+    return sanitizer.sanitize(search);
+  }
+
+  @Benchmark
+  public String searchReadFully() throws IOException {
+    return readFully(search);
+  }
+
+  @Benchmark
+  public String multiSearch() throws IOException {
+    return sanitizer.sanitize(multiSearch);
+  }
+
+  @Benchmark
+  public String multiSearchReadFully() throws IOException {
+    return readFully(multiSearch);
+  }
+
+  // the previous implementation, which captured the whole body as is
+  private static String readFully(HttpEntity httpEntity) throws IOException {
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(httpEntity.getContent(), UTF_8))) {
+      return reader.lines().collect(joining());
+    }
+  }
+}
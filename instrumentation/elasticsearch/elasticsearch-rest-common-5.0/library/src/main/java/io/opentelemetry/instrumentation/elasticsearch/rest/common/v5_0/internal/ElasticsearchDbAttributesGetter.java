@@ -31,10 +31,16 @@ final class ElasticsearchDbAttributesGetter
   // copied from DbIncubatingAttributes.DbSystemNameIncubatingValues
   private static final String ELASTICSEARCH = "elasticsearch";
 
+  // multi search bodies with large aggregations can be hundreds of KB
+  private static final int MAX_SEARCH_QUERY_BYTES = 32 * 1024;
+
   private final boolean captureSearchQuery;
+  @Nullable private final ElasticsearchQuerySanitizer querySanitizer;
 
-  ElasticsearchDbAttributesGetter(boolean captureSearchQuery) {
+  ElasticsearchDbAttributesGetter(boolean captureSearchQuery, boolean querySanitizationEnabled) {
     this.captureSearchQuery = captureSearchQuery;
+    this.querySanitizer =
+        querySanitizationEnabled ? new ElasticsearchQuerySanitizer(MAX_SEARCH_QUERY_BYTES) : null;
   }
 
   @Override
@@ -60,9 +66,8 @@ final class ElasticsearchDbAttributesGetter
         && httpEntity.isRepeatable()) {
       // Retrieve HTTP body for search-type Elasticsearch requests when captureSearchQuery is
       // enabled.
-      try (BufferedReader reader =
-          new BufferedReader(new InputStreamReader(httpEntity.getContent(), UTF_8))) {
-        return reader.lines().collect(joining());
+      try {
+        return querySanitizer != null ? querySanitizer.sanitize(httpEntity) : readBody(httpEntity);
       } catch (IOException e) {
         logger.log(FINE, "Failed reading HTTP body content.", e);
       }
@@ -70,6 +75,13 @@ final class ElasticsearchDbAttributesGetter
     return null;
   }
 
+  private static String readBody(HttpEntity httpEntity) throws IOException {
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(httpEntity.getContent(), UTF_8))) {
+      return reader.lines().collect(joining());
+    }
+  }
+
   @Override
   @Nullable
   public String getDbOperationName(ElasticsearchRestRequest request) {
@@ -0,0 +1,291 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.elasticsearch.rest.common.v5_0.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import org.apache.http.HttpEntity;
+
+/**
+ * Renders the json body of a search request in which every scalar value is replaced by {@code
+ * "?"}, reading the body incrementally and at most {@code maxBytes} of it. The body of a multi
+ * search request is a newline delimited sequence of header and search pairs; consecutive pairs that
+ * render to the same text are rendered once, followed by the number of times they were repeated.
+ */
+final class ElasticsearchQuerySanitizer {
+
+  private static final String HIDDEN_VALUE = "\"?\"";
+
+  private final int maxBytes;
+
+  ElasticsearchQuerySanitizer(int maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  @Nullable
+  String sanitize(HttpEntity httpEntity) throws IOException {
+    StringBuilder sb = new StringBuilder(128);
+    JsonWalker walker = new JsonWalker(sb);
+    read(httpEntity, walker);
+    if (walker.valueCount == 0) {
+      return null;
+    }
+    walker.finish();
+    return sb.toString();
+  }
+
+  private void read(HttpEntity httpEntity, JsonWalker walker) throws IOException {
+    try (InputStream inputStream = httpEntity.getContent()) {
+      byte[] buffer = new byte[Math.min(maxBytes, 4096)];
+      int remaining = maxBytes;
+      while (remaining > 0) {
+        int read = inputStream.read(buffer, 0, Math.min(buffer.length, remaining));
+        if (read == -1) {
+          return;
+        }
+        for (int i = 0; i < read; i++) {
+          walker.accept(buffer[i]);
+        }
+        remaining -= read;
+      }
+      walker.truncated = inputStream.read() != -1;
+    }
+  }
+
+  /**
+   * Tokenizes json one byte at a time. Only keys and structural characters are rendered, scalar
+   * values are replaced.
+   */
+  private static final class JsonWalker {
+
+    private static final int DEFAULT = 0;
+    private static final int STRING = 1;
+    private static final int STRING_ESCAPE = 2;
+    private static final int LITERAL = 3;
+
+    private final StringBuilder sb;
+
+    private int state = DEFAULT;
+    private boolean stringIsKey;
+    private byte[] key = new byte[32];
+    private int keyLength;
+
+    // whether each enclosing container is an object
+    private boolean[] objects = new boolean[16];
+    private int depth;
+    private boolean expectKey;
+
+    private int valueCount;
+    private boolean truncated;
+
+    // the rendered header and search of the last multi search pair that was rendered, and how many
+    // consecutive times it occurred
+    private int pairSeparatorStart;
+    private int pairStart;
+    private int previousPairStart;
+    private int previousPairEnd;
+    private int repeats;
+
+    private JsonWalker(StringBuilder sb) {
+      this.sb = sb;
+    }
+
+    private void accept(byte b) {
+      switch (state) {
+        case STRING:
+          if (b == '"') {
+            state = DEFAULT;
+            endString();
+          } else {
+            if (b == '\\') {
+              state = STRING_ESCAPE;
+            }
+            stringByte(b);
+          }
+          return;
+        case STRING_ESCAPE:
+          state = STRING;
+          stringByte(b);
+          return;
+        case LITERAL:
+          if (!isDelimiter(b)) {
+            return;
+          }
+          state = DEFAULT;
+          endScalar();
+          break;
+        default:
+          break;
+      }
+
+      switch (b) {
+        case ' ':
+        case '\t':
+        case '\n':
+        case '\r':
+          return;
+        case '{':
+        case '[':
+          startValue();
+          push(b == '{');
+          expectKey = b == '{';
+          emit((char) b);
+          return;
+        case '}':
+        case ']':
+          emit((char) b);
+          expectKey = false;
+          if (depth > 0) {
+            depth--;
+            if (depth == 0) {
+              endValue();
+            }
+          }
+          return;
+        case ':':
+          emit(':');
+          expectKey = false;
+          return;
+        case ',':
+          emit(',');
+          expectKey = depth > 0 && objects[depth - 1];
+          return;
+        case '"':
+          startValue();
+          state = STRING;
+          stringIsKey = expectKey;
+          if (stringIsKey) {
+            keyLength = 0;
+          } else {
+            emitHiddenValue();
+          }
+          return;
+        default:
+          startValue();
+          state = LITERAL;
+          emitHiddenValue();
+      }
+    }
+
+    private static boolean isDelimiter(byte b) {
+      return b == ' '
+          || b == '\t'
+          || b == '\n'
+          || b == '\r'
+          || b == ','
+          || b == ':'
+          || b == '}'
+          || b == ']';
+    }
+
+    private void stringByte(byte b) {
+      if (!stringIsKey) {
+        return;
+      }
+      if (keyLength == key.length) {
+        key = Arrays.copyOf(key, keyLength * 2);
+      }
+      key[keyLength++] = b;
+    }
+
+    private void endString() {
+      if (stringIsKey) {
+        sb.append('"').append(new String(key, 0, keyLength, UTF_8)).append('"');
+      } else {
+        endScalar();
+      }
+    }
+
+    private void endScalar() {
+      if (depth == 0) {
+        endValue();
+      }
+    }
+
+    private void push(boolean object) {
+      if (depth == objects.length) {
+        objects = Arrays.copyOf(objects, depth * 2);
+      }
+      objects[depth++] = object;
+    }
+
+    private void startValue() {
+      if (depth > 0) {
+        return;
+      }
+      // a top level value, one per line of a multi search body
+      boolean pairHeader = valueCount % 2 == 0;
+      if (pairHeader) {
+        pairSeparatorStart = sb.length();
+      }
+      if (valueCount > 0) {
+        emit('\n');
+      }
+      if (pairHeader) {
+        pairStart = sb.length();
+      }
+      valueCount++;
+    }
+
+    private void endValue() {
+      if (valueCount % 2 != 0) {
+        return;
+      }
+      int pairEnd = sb.length();
+      if (repeats > 0 && sameText(previousPairStart, previousPairEnd, pairStart, pairEnd)) {
+        sb.setLength(pairSeparatorStart);
+        repeats++;
+        return;
+      }
+      int shift = appendRepeats(pairSeparatorStart);
+      previousPairStart = pairStart + shift;
+      previousPairEnd = pairEnd + shift;
+      repeats = 1;
+    }
+
+    private boolean sameText(int start, int end, int otherStart, int otherEnd) {
+      if (end - start != otherEnd - otherStart) {
+        return false;
+      }
+      for (int i = 0; i < end - start; i++) {
+        if (sb.charAt(start + i) != sb.charAt(otherStart + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    // inserts the number of repeats of the previous pair at the given position, which is right
+    // after that pair, and returns the number of inserted characters
+    private int appendRepeats(int position) {
+      if (repeats < 2) {
+        return 0;
+      }
+      String text = "\n(" + repeats + " times)";
+      sb.insert(position, text);
+      return text.length();
+    }
+
+    private void emit(char c) {
+      sb.append(c);
+    }
+
+    private void emitHiddenValue() {
+      sb.append(HIDDEN_VALUE);
+    }
+
+    private void finish() {
+      appendRepeats(previousPairEnd);
+      if (truncated) {
+        sb.append("...");
+      }
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.elasticsearch.rest.common.v5_0.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.junit.jupiter.api.Test;
+
+class ElasticsearchQuerySanitizerTest {
+
+  private final ElasticsearchQuerySanitizer sanitizer = new ElasticsearchQuerySanitizer(1024);
+
+  @Test
+  void replacesScalarValues() throws IOException {
+    String body =
+        "{\n"
+            + "  \"query\": {\"bool\": {\"must\": [\n"
+            + "    {\"match\": {\"title\": \"quick \\\"brown\\\" fox\"}},\n"
+            + "    {\"range\": {\"price\": {\"gte\": 10.5, \"lte\": 1e3}}},\n"
+            + "    {\"term\": {\"in_stock\": true}}\n"
+            + "  ]}},\n"
+            + "  \"size\": 20,\n"
+            + "  \"sort\": [\"_score\", {\"r\\u00e9férence\": null}]\n"
+            + "}";
+
+    assertThat(sanitize(body))
+        .isEqualTo(
+            "{\"query\":{\"bool\":{\"must\":["
+                + "{\"match\":{\"title\":\"?\"}},"
+                + "{\"range\":{\"price\":{\"gte\":\"?\",\"lte\":\"?\"}}},"
+                + "{\"term\":{\"in_stock\":\"?\"}}"
+                + "]}},"
+                + "\"size\":\"?\","
+                + "\"sort\":[\"?\",{\"r\\u00e9férence\":\"?\"}]}");
+  }
+
+  @Test
+  void collapsesRepeatedMultiSearchPairs() throws IOException {
+    String body =
+        "{\"index\":\"products\"}\n"
+            + "{\"query\":{\"match\":{\"title\":\"shoes\"}}}\n"
+            + "{\"index\":\"products\"}\n"
+            + "{\"query\":{\"match\":{\"title\":\"boots\"}}}\n"
+            + "{\"index\":\"products\"}\n"
+            + "{\"query\":{\"match\":{\"title\":\"socks\"}}}\n"
+            + "{}\n"
+            + "{\"size\":0}\n";
+
+    assertThat(sanitize(body))
+        .isEqualTo(
+            "{\"index\":\"?\"}\n"
+                + "{\"query\":{\"match\":{\"title\":\"?\"}}}\n"
+                + "(3 times)\n"
+                + "{}\n"
+                + "{\"size\":\"?\"}");
+  }
+
+  @Test
+  void collapsesEachRunOfRepeatedPairs() throws IOException {
+    String matchPair = "{\"index\":\"products\"}\n{\"query\":{\"match\":{\"title\":\"shoes\"}}}\n";
+    String sizePair = "{\"index\":\"products\"}\n{\"size\":1}\n";
+    String body = matchPair + matchPair + sizePair + sizePair + sizePair + matchPair;
+
+    assertThat(sanitize(body))
+        .isEqualTo(
+            "{\"index\":\"?\"}\n"
+                + "{\"query\":{\"match\":{\"title\":\"?\"}}}\n"
+                + "(2 times)\n"
+                + "{\"index\":\"?\"}\n"
+                + "{\"size\":\"?\"}\n"
+                + "(3 times)\n"
+                + "{\"index\":\"?\"}\n"
+                + "{\"query\":{\"match\":{\"title\":\"?\"}}}");
+  }
+
+  @Test
+  void countsRepeatedPairsBeforeTruncation() throws IOException {
+    String pair = "{\"index\":\"products\"}\n{\"query\":{\"match\":{\"title\":\"shoes\"}}}\n";
+    // cuts the body right after the opening brace of the third pair
+    ElasticsearchQuerySanitizer smallSanitizer =
+        new ElasticsearchQuerySanitizer(pair.length() * 2 + 2);
+
+    assertThat(smallSanitizer.sanitize(entity(pair + pair + pair + pair)))
+        .isEqualTo(
+            "{\"index\":\"?\"}\n"
+                + "{\"query\":{\"match\":{\"title\":\"?\"}}}\n"
+                + "(2 times)\n"
+                + "{...");
+  }
+
+  @Test
+  void readsAtMostMaxBytes() throws IOException {
+    ElasticsearchQuerySanitizer smallSanitizer = new ElasticsearchQuerySanitizer(16);
+
+    assertThat(smallSanitizer.sanitize(entity("{\"size\":10,\"from\":20}")))
+        .isEqualTo("{\"size\":\"?\",...");
+    assertThat(smallSanitizer.sanitize(entity("{\"size\":10}"))).isEqualTo("{\"size\":\"?\"}");
+  }
+
+  @Test
+  void rendersOnlyTheStructure() throws IOException {
+    String sanitized = sanitize("{\"query\":{\"term\":{\"user\":\"alice\"}}}");
+
+    assertThat(sanitize("{\"query\":{\"term\":{\"user\":\"bob\"}}}")).isEqualTo(sanitized);
+    assertThat(sanitize("{\"query\":{\"term\":{\"group\":\"admins\"}}}"))
+        .isEqualTo("{\"query\":{\"term\":{\"group\":\"?\"}}}");
+  }
+
+  @Test
+  void emptyBody() throws IOException {
+    assertThat(sanitize(" \n")).isNull();
+  }
+
+  private String sanitize(String body) throws IOException {
+    return sanitizer.sanitize(entity(body));
+  }
+
+  private static StringEntity entity(String body) {
+    return new StringEntity(body, ContentType.APPLICATION_JSON);
+  }
+}
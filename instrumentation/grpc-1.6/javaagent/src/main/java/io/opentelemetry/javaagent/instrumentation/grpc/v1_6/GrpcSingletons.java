@@ -52,6 +52,8 @@ public class GrpcSingletons {
     GrpcTelemetryBuilder telemetryBuilder =
         GrpcTelemetry.builder(openTelemetry)
             .setEmitMessageEvents(emitMessageEvents)
+            .setAggregateMessages(
+                config.getBoolean("experimental_aggregate_messages/development", false))
             .setCaptureExperimentalSpanAttributes(experimentalSpanAttributes);
     IncludeExclude clientRequestMetadata = grpcConfig.getClientRequestMetadata();
     if (clientRequestMetadata != null) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.grpc.v1_6;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.OperationListener;
+import io.opentelemetry.instrumentation.api.instrumenter.OperationMetrics;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link OperationListener} which records the number of messages per call aggregated by {@link
+ * GrpcMessageStats}, as the {@code rpc.client.requests_per_rpc}, {@code
+ * rpc.client.responses_per_rpc}, {@code rpc.server.requests_per_rpc} and {@code
+ * rpc.server.responses_per_rpc} metrics.
+ */
+final class GrpcMessageMetrics implements OperationListener {
+
+  // only low cardinality attributes are copied from the span, the rpc metrics use advice for that
+  // but these histograms are recorded with explicitly selected attributes instead
+  private static final List<AttributeKey<?>> METRIC_ATTRIBUTE_KEYS =
+      Arrays.asList(
+          AttributeKey.stringKey("rpc.system"),
+          AttributeKey.stringKey("rpc.system.name"),
+          AttributeKey.stringKey("rpc.service"),
+          AttributeKey.stringKey("rpc.method"),
+          AttributeKey.longKey("rpc.grpc.status_code"),
+          AttributeKey.stringKey("rpc.response.status_code"),
+          AttributeKey.stringKey("server.address"),
+          AttributeKey.longKey("server.port"));
+
+  private final boolean client;
+  private final LongHistogram requestsPerRpc;
+  private final LongHistogram responsesPerRpc;
+
+  static OperationMetrics client() {
+    return meter -> new GrpcMessageMetrics(meter, true);
+  }
+
+  static OperationMetrics server() {
+    return meter -> new GrpcMessageMetrics(meter, false);
+  }
+
+  private GrpcMessageMetrics(Meter meter, boolean client) {
+    this.client = client;
+    String side = client ? "client" : "server";
+    requestsPerRpc =
+        meter
+            .histogramBuilder("rpc." + side + ".requests_per_rpc")
+            .setUnit("{count}")
+            .setDescription(
+                client
+                    ? "Measures the number of messages sent per RPC."
+                    : "Measures the number of messages received per RPC.")
+            .ofLongs()
+            .build();
+    responsesPerRpc =
+        meter
+            .histogramBuilder("rpc." + side + ".responses_per_rpc")
+            .setUnit("{count}")
+            .setDescription(
+                client
+                    ? "Measures the number of messages received per RPC."
+                    : "Measures the number of messages sent per RPC.")
+            .ofLongs()
+            .build();
+  }
+
+  @Override
+  public Context onStart(Context context, Attributes startAttributes, long startNanos) {
+    return context;
+  }
+
+  @Override
+  public void onEnd(Context context, Attributes endAttributes, long endNanos) {
+    GrpcMessageStats stats = GrpcMessageStats.fromContext(context);
+    if (stats == null) {
+      return;
+    }
+    Attributes attributes = metricAttributes(stats.getStartAttributes(), endAttributes);
+    long requests = client ? stats.getSentCount() : stats.getReceivedCount();
+    long responses = client ? stats.getReceivedCount() : stats.getSentCount();
+    requestsPerRpc.record(requests, attributes, context);
+    responsesPerRpc.record(responses, attributes, context);
+  }
+
+  private static Attributes metricAttributes(Attributes startAttributes, Attributes endAttributes) {
+    AttributesBuilder builder = Attributes.builder();
+    for (AttributeKey<?> key : METRIC_ATTRIBUTE_KEYS) {
+      copy(builder, key, startAttributes, endAttributes);
+    }
+    return builder.build();
+  }
+
+  private static <T> void copy(
+      AttributesBuilder builder,
+      AttributeKey<T> key,
+      Attributes startAttributes,
+      Attributes endAttributes) {
+    T value = endAttributes.get(key);
+    if (value == null) {
+      value = startAttributes.get(key);
+    }
+    if (value != null) {
+      builder.put(key, value);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.grpc.v1_6;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.api.instrumenter.ContextCustomizer;
+import javax.annotation.Nullable;
+
+/**
+ * Aggregates the messages sent and received by a single gRPC call. Used instead of a span event per
+ * message when message aggregation is enabled, the summary is added to the span and the message
+ * counts are recorded by {@link GrpcMessageMetrics} when the call ends.
+ */
+final class GrpcMessageStats {
+
+  private static final ContextKey<GrpcMessageStats> KEY =
+      ContextKey.named("opentelemetry-grpc-message-stats");
+
+  private static final double NANOS_PER_S = SECONDS.toNanos(1);
+
+  private static final AttributeKey<Long> GRPC_SENT_MESSAGE_COUNT =
+      AttributeKey.longKey("grpc.sent.message_count");
+  private static final AttributeKey<Long> GRPC_SENT_MESSAGE_BYTES =
+      AttributeKey.longKey("grpc.sent.message_bytes");
+  private static final AttributeKey<Double> GRPC_SENT_MESSAGE_INTERVAL_AVG =
+      AttributeKey.doubleKey("grpc.sent.message_interval.avg");
+  private static final AttributeKey<Double> GRPC_SENT_MESSAGE_INTERVAL_MAX =
+      AttributeKey.doubleKey("grpc.sent.message_interval.max");
+  private static final AttributeKey<Long> GRPC_RECEIVED_MESSAGE_COUNT =
+      AttributeKey.longKey("grpc.received.message_count");
+  private static final AttributeKey<Long> GRPC_RECEIVED_MESSAGE_BYTES =
+      AttributeKey.longKey("grpc.received.message_bytes");
+  private static final AttributeKey<Double> GRPC_RECEIVED_MESSAGE_INTERVAL_AVG =
+      AttributeKey.doubleKey("grpc.received.message_interval.avg");
+  private static final AttributeKey<Double> GRPC_RECEIVED_MESSAGE_INTERVAL_MAX =
+      AttributeKey.doubleKey("grpc.received.message_interval.max");
+
+  private final Attributes startAttributes;
+  private final Direction sent = new Direction();
+  private final Direction received = new Direction();
+
+  private GrpcMessageStats(Attributes startAttributes) {
+    this.startAttributes = startAttributes;
+  }
+
+  static ContextCustomizer<GrpcRequest> contextCustomizer() {
+    return (context, request, startAttributes) ->
+        context.with(KEY, new GrpcMessageStats(startAttributes));
+  }
+
+  @Nullable
+  static GrpcMessageStats fromContext(Context context) {
+    return context.get(KEY);
+  }
+
+  Attributes getStartAttributes() {
+    return startAttributes;
+  }
+
+  void recordSent(@Nullable Long size) {
+    sent.record(size, System.nanoTime());
+  }
+
+  void recordReceived(@Nullable Long size) {
+    received.record(size, System.nanoTime());
+  }
+
+  long getSentCount() {
+    return sent.getCount();
+  }
+
+  long getReceivedCount() {
+    return received.getCount();
+  }
+
+  void addSummaryTo(Span span) {
+    sent.addSummaryTo(
+        span,
+        GRPC_SENT_MESSAGE_COUNT,
+        GRPC_SENT_MESSAGE_BYTES,
+        GRPC_SENT_MESSAGE_INTERVAL_AVG,
+        GRPC_SENT_MESSAGE_INTERVAL_MAX);
+    received.addSummaryTo(
+        span,
+        GRPC_RECEIVED_MESSAGE_COUNT,
+        GRPC_RECEIVED_MESSAGE_BYTES,
+        GRPC_RECEIVED_MESSAGE_INTERVAL_AVG,
+        GRPC_RECEIVED_MESSAGE_INTERVAL_MAX);
+  }
+
+  private static final class Direction {
+    // gRPC serializes the calls for one direction of a call, the lock is uncontended and only
+    // guarantees visibility when the summary is read from the thread that ends the call
+    private long count;
+    private long bytes;
+    private long lastNanos;
+    private long intervalSumNanos;
+    private long maxIntervalNanos;
+
+    synchronized void record(@Nullable Long size, long nanos) {
+      if (count > 0) {
+        long interval = nanos - lastNanos;
+        intervalSumNanos += interval;
+        maxIntervalNanos = Math.max(maxIntervalNanos, interval);
+      }
+      lastNanos = nanos;
+      count++;
+      if (size != null) {
+        bytes += size;
+      }
+    }
+
+    synchronized long getCount() {
+      return count;
+    }
+
+    synchronized void addSummaryTo(
+        Span span,
+        AttributeKey<Long> countKey,
+        AttributeKey<Long> bytesKey,
+        AttributeKey<Double> intervalAvgKey,
+        AttributeKey<Double> intervalMaxKey) {
+      span.setAttribute(countKey, count);
+      if (count == 0) {
+        return;
+      }
+      span.setAttribute(bytesKey, bytes);
+      if (count > 1) {
+        span.setAttribute(intervalAvgKey, intervalSumNanos / (count - 1) / NANOS_PER_S);
+        span.setAttribute(intervalMaxKey, maxIntervalNanos / NANOS_PER_S);
+      }
+    }
+  }
+}
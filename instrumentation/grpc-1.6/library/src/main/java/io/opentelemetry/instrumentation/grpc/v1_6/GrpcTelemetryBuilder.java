@@ -53,6 +53,7 @@ public final class GrpcTelemetryBuilder {
 
   private boolean captureExperimentalSpanAttributes;
   private boolean emitMessageEvents = true;
+  private boolean aggregateMessages;
   @Nullable private IncludeExclude clientRequestMetadata;
   @Nullable private IncludeExclude serverRequestMetadata;
 
@@ -127,6 +128,22 @@ public final class GrpcTelemetryBuilder {
     return this;
   }
 
+  /**
+   * Determines whether the messages of a call should be aggregated instead of being recorded
+   * individually. When enabled, no span event is added for each message (regardless of {@link
+   * #setEmitMessageEvents(boolean)}); instead a summary of the count, total size and interval
+   * between messages of each direction is added to the span when the call ends, and the number of
+   * messages per call is recorded in the {@code rpc.client.requests_per_rpc}, {@code
+   * rpc.client.responses_per_rpc}, {@code rpc.server.requests_per_rpc} and {@code
+   * rpc.server.responses_per_rpc} histograms. The default is false. Enable this for long-lived
+   * streaming calls carrying large volumes of messages.
+   */
+  @CanIgnoreReturnValue
+  public GrpcTelemetryBuilder setAggregateMessages(boolean aggregateMessages) {
+    this.aggregateMessages = aggregateMessages;
+    return this;
+  }
+
   /**
    * Sets whether experimental attributes should be set to spans. These attributes may be changed or
    * removed in the future, so only enable this if you know you do not require attributes filled by
@@ -261,6 +278,14 @@ public final class GrpcTelemetryBuilder {
     setRpcServerExceptionEventExtractor(serverInstrumenterBuilder);
     Experimental.addOperationListenerAttributesExtractor(
         serverInstrumenterBuilder, RpcSizeAttributesExtractor.create(rpcAttributesGetter));
+    if (aggregateMessages) {
+      clientInstrumenterBuilder
+          .addContextCustomizer(GrpcMessageStats.contextCustomizer())
+          .addOperationMetrics(GrpcMessageMetrics.client());
+      serverInstrumenterBuilder
+          .addContextCustomizer(GrpcMessageStats.contextCustomizer())
+          .addOperationMetrics(GrpcMessageMetrics.server());
+    }
 
     return new GrpcTelemetry(
         serverInstrumenterBuilder.buildServerInstrumenter(new GrpcRequestGetter()),
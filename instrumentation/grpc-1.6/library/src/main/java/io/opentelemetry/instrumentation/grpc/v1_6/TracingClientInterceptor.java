@@ -23,6 +23,7 @@ import io.opentelemetry.context.Scope;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import javax.annotation.Nullable;
 
 final class TracingClientInterceptor implements ClientInterceptor {
 
@@ -89,6 +90,7 @@ final class TracingClientInterceptor implements ClientInterceptor {
     private final Context parentContext;
     private final Context context;
     private final GrpcRequest request;
+    @Nullable private final GrpcMessageStats messageStats;
 
     // Used by SENT_MESSAGE_ID_UPDATER
     @SuppressWarnings("UnusedVariable")
@@ -107,6 +109,7 @@ final class TracingClientInterceptor implements ClientInterceptor {
       this.parentContext = parentContext;
       this.context = context;
       this.request = request;
+      this.messageStats = GrpcMessageStats.fromContext(context);
     }
 
     @Override
@@ -126,7 +129,8 @@ final class TracingClientInterceptor implements ClientInterceptor {
 
     @Override
     public void sendMessage(REQUEST message) {
-      request.setRequestSize(BodySizeUtil.getBodySize(message));
+      Long messageSize = BodySizeUtil.getBodySize(message);
+      request.setRequestSize(messageSize);
       try (Scope ignored = context.makeCurrent()) {
         super.sendMessage(message);
       } catch (Throwable e) {
@@ -134,7 +138,9 @@ final class TracingClientInterceptor implements ClientInterceptor {
         throw e;
       }
       long messageId = SENT_MESSAGE_ID_UPDATER.incrementAndGet(this);
-      if (emitMessageEvents) {
+      if (messageStats != null) {
+        messageStats.recordSent(messageSize);
+      } else if (emitMessageEvents) {
         Attributes attributes = Attributes.of(MESSAGE_TYPE, SENT, MESSAGE_ID, messageId);
         Span.fromContext(context).addEvent("message", attributes);
       }
@@ -160,9 +166,12 @@ final class TracingClientInterceptor implements ClientInterceptor {
 
       @Override
       public void onMessage(RESPONSE message) {
-        request.setResponseSize(BodySizeUtil.getBodySize(message));
+        Long messageSize = BodySizeUtil.getBodySize(message);
+        request.setResponseSize(messageSize);
         long messageId = RECEIVED_MESSAGE_ID_UPDATER.incrementAndGet(TracingClientCall.this);
-        if (emitMessageEvents) {
+        if (messageStats != null) {
+          messageStats.recordReceived(messageSize);
+        } else if (emitMessageEvents) {
           Attributes attributes = Attributes.of(MESSAGE_TYPE, RECEIVED, MESSAGE_ID, messageId);
           Span.fromContext(context).addEvent("message", attributes);
         }
@@ -174,6 +183,9 @@ final class TracingClientInterceptor implements ClientInterceptor {
       @Override
       public void onClose(Status status, Metadata trailers) {
         request.setPeerSocketAddress(getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR));
+        if (messageStats != null) {
+          messageStats.addSummaryTo(Span.fromContext(context));
+        }
         if (captureExperimentalSpanAttributes) {
           Span span = Span.fromContext(context);
           span.setAttribute(
@@ -21,6 +21,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import javax.annotation.Nullable;
 
 final class TracingServerInterceptor implements ServerInterceptor {
 
@@ -95,6 +96,7 @@ final class TracingServerInterceptor implements ServerInterceptor {
       extends ForwardingServerCall.SimpleForwardingServerCall<REQUEST, RESPONSE> {
     private final Context context;
     private final GrpcRequest request;
+    @Nullable private final GrpcMessageStats messageStats;
     private Status status;
 
     // Used by SENT_MESSAGE_ID_UPDATER
@@ -110,6 +112,7 @@ final class TracingServerInterceptor implements ServerInterceptor {
       super(delegate);
       this.context = context;
       this.request = request;
+      this.messageStats = GrpcMessageStats.fromContext(context);
     }
 
     TracingServerCallListener start(Metadata headers, ServerCallHandler<REQUEST, RESPONSE> next) {
@@ -119,12 +122,15 @@ final class TracingServerInterceptor implements ServerInterceptor {
 
     @Override
     public void sendMessage(RESPONSE message) {
-      request.setResponseSize(BodySizeUtil.getBodySize(message));
+      Long messageSize = BodySizeUtil.getBodySize(message);
+      request.setResponseSize(messageSize);
       try (Scope ignored = context.makeCurrent()) {
         super.sendMessage(message);
       }
       long messageId = SENT_MESSAGE_ID_UPDATER.incrementAndGet(this);
-      if (emitMessageEvents) {
+      if (messageStats != null) {
+        messageStats.recordSent(messageSize);
+      } else if (emitMessageEvents) {
         Attributes attributes = Attributes.of(MESSAGE_TYPE, SENT, MESSAGE_ID, messageId);
         Span.fromContext(context).addEvent("message", attributes);
       }
@@ -153,6 +159,9 @@ final class TracingServerInterceptor implements ServerInterceptor {
       }
 
       private void end(Context context, GrpcRequest request, Status response, Throwable error) {
+        if (messageStats != null) {
+          messageStats.addSummaryTo(Span.fromContext(context));
+        }
         if (captureExperimentalSpanAttributes) {
           Span span = Span.fromContext(context);
           span.setAttribute(
@@ -168,9 +177,12 @@ final class TracingServerInterceptor implements ServerInterceptor {
 
       @Override
       public void onMessage(REQUEST message) {
-        request.setRequestSize(BodySizeUtil.getBodySize(message));
+        Long messageSize = BodySizeUtil.getBodySize(message);
+        request.setRequestSize(messageSize);
         long messageId = RECEIVED_MESSAGE_ID_UPDATER.incrementAndGet(TracingServerCall.this);
-        if (emitMessageEvents) {
+        if (messageStats != null) {
+          messageStats.recordReceived(messageSize);
+        } else if (emitMessageEvents) {
           Attributes attributes = Attributes.of(MESSAGE_TYPE, RECEIVED, MESSAGE_ID, messageId);
           Span.fromContext(context).addEvent("message", attributes);
         }
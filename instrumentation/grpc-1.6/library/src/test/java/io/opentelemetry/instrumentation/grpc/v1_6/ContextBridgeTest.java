@@ -119,4 +119,39 @@ class ContextBridgeTest {
       grpcContext.detach(root);
     }
   }
+
+  @Test
+  void reattachingCurrentContext() {
+    io.grpc.Context grpcContext = io.grpc.Context.current().withValue(COUNTRY, "japan");
+    io.grpc.Context root = grpcContext.attach();
+    try {
+      try (Scope ignored = Context.current().with(ANIMAL, "cat").makeCurrent()) {
+        Context otelContext = Context.current();
+        io.grpc.Context current = io.grpc.Context.current();
+
+        io.grpc.Context toRestore = grpcContext.attach();
+        try {
+          assertThat(COUNTRY.get()).isEqualTo("japan");
+          assertThat(Context.current()).isSameAs(otelContext);
+        } finally {
+          grpcContext.detach(toRestore);
+        }
+        assertThat(Context.current()).isSameAs(otelContext);
+
+        toRestore = current.attach();
+        try {
+          assertThat(COUNTRY.get()).isEqualTo("japan");
+          assertThat(Context.current().get(ANIMAL)).isEqualTo("cat");
+        } finally {
+          current.detach(toRestore);
+        }
+        assertThat(Context.current()).isSameAs(otelContext);
+      }
+      assertThat(COUNTRY.get()).isEqualTo("japan");
+      assertThat(Context.current().get(ANIMAL)).isNull();
+    } finally {
+      grpcContext.detach(root);
+    }
+    assertThat(COUNTRY.get()).isNull();
+  }
 }
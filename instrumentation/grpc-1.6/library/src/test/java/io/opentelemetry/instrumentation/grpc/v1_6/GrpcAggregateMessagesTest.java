@@ -0,0 +1,236 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.grpc.v1_6;
+
+import static io.opentelemetry.api.common.AttributeKey.doubleKey;
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.instrumentation.api.internal.SemconvStability.emitOldRpcSemconv;
+import static io.opentelemetry.instrumentation.api.internal.SemconvStability.emitStableRpcSemconv;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.satisfies;
+import static io.opentelemetry.semconv.ServerAttributes.SERVER_ADDRESS;
+import static io.opentelemetry.semconv.ServerAttributes.SERVER_PORT;
+import static io.opentelemetry.semconv.incubating.RpcIncubatingAttributes.RPC_GRPC_STATUS_CODE;
+import static io.opentelemetry.semconv.incubating.RpcIncubatingAttributes.RPC_METHOD;
+import static io.opentelemetry.semconv.incubating.RpcIncubatingAttributes.RPC_RESPONSE_STATUS_CODE;
+import static io.opentelemetry.semconv.incubating.RpcIncubatingAttributes.RPC_SERVICE;
+import static io.opentelemetry.semconv.incubating.RpcIncubatingAttributes.RPC_SYSTEM;
+import static io.opentelemetry.semconv.incubating.RpcIncubatingAttributes.RPC_SYSTEM_NAME;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import example.GreeterGrpc;
+import example.Helloworld;
+import io.grpc.BindableService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.util.ThrowingRunnable;
+import io.opentelemetry.sdk.testing.assertj.AttributeAssertion;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+@SuppressWarnings("deprecation") // using deprecated semconv
+class GrpcAggregateMessagesTest {
+
+  private static final AttributeKey<Long> GRPC_SENT_MESSAGE_COUNT =
+      longKey("grpc.sent.message_count");
+  private static final AttributeKey<Long> GRPC_SENT_MESSAGE_BYTES =
+      longKey("grpc.sent.message_bytes");
+  private static final AttributeKey<Double> GRPC_SENT_MESSAGE_INTERVAL_AVG =
+      doubleKey("grpc.sent.message_interval.avg");
+  private static final AttributeKey<Double> GRPC_SENT_MESSAGE_INTERVAL_MAX =
+      doubleKey("grpc.sent.message_interval.max");
+  private static final AttributeKey<Long> GRPC_RECEIVED_MESSAGE_COUNT =
+      longKey("grpc.received.message_count");
+  private static final AttributeKey<Long> GRPC_RECEIVED_MESSAGE_BYTES =
+      longKey("grpc.received.message_bytes");
+  private static final AttributeKey<Double> GRPC_RECEIVED_MESSAGE_INTERVAL_AVG =
+      doubleKey("grpc.received.message_interval.avg");
+  private static final AttributeKey<Double> GRPC_RECEIVED_MESSAGE_INTERVAL_MAX =
+      doubleKey("grpc.received.message_interval.max");
+
+  private static final int CLIENT_MESSAGE_COUNT = 2;
+  private static final int RESPONSES_PER_MESSAGE = 2;
+  private static final int SERVER_MESSAGE_COUNT = CLIENT_MESSAGE_COUNT * RESPONSES_PER_MESSAGE;
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
+
+  private final Queue<ThrowingRunnable<?>> closer = new ConcurrentLinkedQueue<>();
+
+  @AfterEach
+  void tearDown() throws Throwable {
+    while (!closer.isEmpty()) {
+      closer.poll().run();
+    }
+  }
+
+  @Test
+  void conversation() throws Exception {
+    GrpcTelemetry grpcTelemetry =
+        GrpcTelemetry.builder(testing.getOpenTelemetry()).setAggregateMessages(true).build();
+
+    BindableService greeter =
+        new GreeterGrpc.GreeterImplBase() {
+          @Override
+          public StreamObserver<Helloworld.Response> conversation(
+              StreamObserver<Helloworld.Response> observer) {
+            return new StreamObserver<Helloworld.Response>() {
+              @Override
+              public void onNext(Helloworld.Response value) {
+                for (int i = 0; i < RESPONSES_PER_MESSAGE; i++) {
+                  observer.onNext(value);
+                }
+              }
+
+              @Override
+              public void onError(Throwable t) {
+                observer.onError(t);
+              }
+
+              @Override
+              public void onCompleted() {
+                observer.onCompleted();
+              }
+            };
+          }
+        };
+
+    Server server =
+        ServerBuilder.forPort(0)
+            .addService(greeter)
+            .intercept(grpcTelemetry.createServerInterceptor())
+            .build()
+            .start();
+    ManagedChannel channel =
+        AbstractGrpcStreamingTest.createChannel(
+            ManagedChannelBuilder.forAddress("localhost", server.getPort())
+                .intercept(grpcTelemetry.createClientInterceptor()));
+    closer.add(() -> channel.shutdownNow().awaitTermination(10, SECONDS));
+    closer.add(() -> server.shutdownNow().awaitTermination());
+
+    GreeterGrpc.GreeterStub client = GreeterGrpc.newStub(channel).withWaitForReady();
+
+    List<String> received = new ArrayList<>();
+    CountDownLatch latch = new CountDownLatch(1);
+    StreamObserver<Helloworld.Response> requests =
+        client.conversation(
+            new StreamObserver<Helloworld.Response>() {
+              @Override
+              public void onNext(Helloworld.Response value) {
+                received.add(value.getMessage());
+              }
+
+              @Override
+              public void onError(Throwable t) {}
+
+              @Override
+              public void onCompleted() {
+                latch.countDown();
+              }
+            });
+
+    for (int i = 0; i < CLIENT_MESSAGE_COUNT; i++) {
+      requests.onNext(Helloworld.Response.newBuilder().setMessage("message " + i).build());
+    }
+    requests.onCompleted();
+
+    assertThat(latch.await(10, SECONDS)).isTrue();
+    assertThat(received).hasSize(SERVER_MESSAGE_COUNT);
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span ->
+                    span.hasName("example.Greeter/Conversation")
+                        .hasKind(SpanKind.CLIENT)
+                        .hasNoParent()
+                        .hasEventsSatisfyingExactly()
+                        .hasAttributesSatisfying(
+                            messageStatsAssertions(CLIENT_MESSAGE_COUNT, SERVER_MESSAGE_COUNT)),
+                span ->
+                    span.hasName("example.Greeter/Conversation")
+                        .hasKind(SpanKind.SERVER)
+                        .hasParent(trace.getSpan(0))
+                        .hasEventsSatisfyingExactly()
+                        .hasAttributesSatisfying(
+                            messageStatsAssertions(SERVER_MESSAGE_COUNT, CLIENT_MESSAGE_COUNT))));
+
+    assertMessagesPerRpc("rpc.client.requests_per_rpc", CLIENT_MESSAGE_COUNT, server.getPort());
+    assertMessagesPerRpc("rpc.client.responses_per_rpc", SERVER_MESSAGE_COUNT, server.getPort());
+    assertMessagesPerRpc("rpc.server.requests_per_rpc", CLIENT_MESSAGE_COUNT, server.getPort());
+    assertMessagesPerRpc("rpc.server.responses_per_rpc", SERVER_MESSAGE_COUNT, server.getPort());
+  }
+
+  private static List<AttributeAssertion> messageStatsAssertions(long sent, long received) {
+    List<AttributeAssertion> assertions = new ArrayList<>();
+    assertions.add(equalTo(GRPC_SENT_MESSAGE_COUNT, sent));
+    assertions.add(satisfies(GRPC_SENT_MESSAGE_BYTES, val -> val.isPositive()));
+    assertions.add(satisfies(GRPC_SENT_MESSAGE_INTERVAL_AVG, val -> val.isNotNegative()));
+    assertions.add(satisfies(GRPC_SENT_MESSAGE_INTERVAL_MAX, val -> val.isNotNegative()));
+    assertions.add(equalTo(GRPC_RECEIVED_MESSAGE_COUNT, received));
+    assertions.add(satisfies(GRPC_RECEIVED_MESSAGE_BYTES, val -> val.isPositive()));
+    assertions.add(satisfies(GRPC_RECEIVED_MESSAGE_INTERVAL_AVG, val -> val.isNotNegative()));
+    assertions.add(satisfies(GRPC_RECEIVED_MESSAGE_INTERVAL_MAX, val -> val.isNotNegative()));
+    return assertions;
+  }
+
+  private static void assertMessagesPerRpc(String metricName, long messageCount, int port) {
+    testing.waitAndAssertMetrics(
+        "io.opentelemetry.grpc-1.6",
+        metric ->
+            metric
+                .hasName(metricName)
+                .hasUnit("{count}")
+                .hasHistogramSatisfying(
+                    histogram ->
+                        histogram.hasPointsSatisfying(
+                            point ->
+                                point
+                                    .hasCount(1)
+                                    .hasSum(messageCount)
+                                    .hasAttributesSatisfyingExactly(
+                                        equalTo(
+                                            RPC_SYSTEM, emitOldRpcSemconv() ? "grpc" : null),
+                                        equalTo(
+                                            RPC_SYSTEM_NAME,
+                                            emitStableRpcSemconv() ? "grpc" : null),
+                                        equalTo(
+                                            RPC_SERVICE,
+                                            emitOldRpcSemconv() ? "example.Greeter" : null),
+                                        equalTo(
+                                            RPC_METHOD,
+                                            emitStableRpcSemconv()
+                                                ? "example.Greeter/Conversation"
+                                                : "Conversation"),
+                                        equalTo(
+                                            RPC_GRPC_STATUS_CODE,
+                                            emitOldRpcSemconv()
+                                                ? (long) Status.Code.OK.value()
+                                                : null),
+                                        equalTo(
+                                            RPC_RESPONSE_STATUS_CODE,
+                                            emitStableRpcSemconv()
+                                                ? Status.Code.OK.name()
+                                                : null),
+                                        equalTo(SERVER_ADDRESS, "localhost"),
+                                        equalTo(SERVER_PORT, port)))));
+  }
+}
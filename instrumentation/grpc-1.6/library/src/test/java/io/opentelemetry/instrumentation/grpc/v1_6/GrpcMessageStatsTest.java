@@ -0,0 +1,58 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.grpc.v1_6;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import org.junit.jupiter.api.Test;
+
+class GrpcMessageStatsTest {
+
+  @Test
+  void aggregatesMessages() {
+    Context context =
+        GrpcMessageStats.contextCustomizer().onStart(Context.root(), null, Attributes.empty());
+    GrpcMessageStats stats = GrpcMessageStats.fromContext(context);
+    assertThat(stats).isNotNull();
+
+    stats.recordSent(10L);
+    stats.recordSent(20L);
+    stats.recordSent(null);
+    stats.recordReceived(5L);
+
+    assertThat(stats.getSentCount()).isEqualTo(3);
+    assertThat(stats.getReceivedCount()).isEqualTo(1);
+
+    Span span = mock(Span.class);
+    stats.addSummaryTo(span);
+
+    verify(span).setAttribute(AttributeKey.longKey("grpc.sent.message_count"), 3L);
+    verify(span).setAttribute(AttributeKey.longKey("grpc.sent.message_bytes"), 30L);
+    verify(span)
+        .setAttribute(eq(AttributeKey.doubleKey("grpc.sent.message_interval.avg")), anyDouble());
+    verify(span)
+        .setAttribute(eq(AttributeKey.doubleKey("grpc.sent.message_interval.max")), anyDouble());
+    verify(span).setAttribute(AttributeKey.longKey("grpc.received.message_count"), 1L);
+    verify(span).setAttribute(AttributeKey.longKey("grpc.received.message_bytes"), 5L);
+    // a single message has no interval
+    verify(span, never())
+        .setAttribute(eq(AttributeKey.doubleKey("grpc.received.message_interval.avg")), anyDouble());
+  }
+
+  @Test
+  void notPresentWhenDisabled() {
+    assertThat(GrpcMessageStats.fromContext(Context.root())).isNull();
+  }
+}
@@ -7,9 +7,9 @@ package io.opentelemetry.javaagent.instrumentation.hibernate.v6_0;
 
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasClassesNamed;
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.implementsInterface;
-import static io.opentelemetry.javaagent.instrumentation.hibernate.common.v3_3.OperationNameUtil.getOperationNameForQuery;
 import static io.opentelemetry.javaagent.instrumentation.hibernate.v6_0.Hibernate6Singletons.COMMON_QUERY_CONTRACT_SESSION_INFO;
 import static io.opentelemetry.javaagent.instrumentation.hibernate.v6_0.Hibernate6Singletons.instrumenter;
+import static io.opentelemetry.javaagent.instrumentation.hibernate.v6_0.QueryOperationNameUtil.getOperationName;
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
 
@@ -25,8 +25,6 @@ import net.bytebuddy.asm.Advice;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.hibernate.query.CommonQueryContract;
-import org.hibernate.query.Query;
-import org.hibernate.query.spi.SqmQuery;
 
 class QueryInstrumentation implements TypeInstrumentation {
 
@@ -69,23 +67,11 @@ class QueryInstrumentation implements TypeInstrumentation {
         return null;
       }
 
-      String queryString = null;
-      if (query instanceof Query) {
-        queryString = ((Query<?>) query).getQueryString();
-      }
-      if (query instanceof SqmQuery) {
-        try {
-          queryString = ((SqmQuery) query).getSqmStatement().toHqlString();
-        } catch (RuntimeException ignored) {
-          // ignore
-        }
-      }
-
       SessionInfo sessionInfo = COMMON_QUERY_CONTRACT_SESSION_INFO.get(query);
 
       Context parentContext = Java8BytecodeBridge.currentContext();
       HibernateOperation hibernateOperation =
-          new HibernateOperation(getOperationNameForQuery(queryString), sessionInfo);
+          new HibernateOperation(getOperationName(query), sessionInfo);
 
       return HibernateOperationScope.start(hibernateOperation, parentContext, instrumenter());
     }
@@ -0,0 +1,50 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.hibernate.v6_0;
+
+import static io.opentelemetry.javaagent.instrumentation.hibernate.common.v3_3.OperationNameUtil.getOperationNameForQuery;
+
+import io.opentelemetry.instrumentation.api.util.VirtualField;
+import org.hibernate.query.CommonQueryContract;
+import org.hibernate.query.Query;
+import org.hibernate.query.spi.SqmQuery;
+import org.hibernate.query.sqm.SqmQuerySource;
+import org.hibernate.query.sqm.tree.SqmStatement;
+
+final class QueryOperationNameUtil {
+
+  private static final VirtualField<SqmStatement<?>, String> SQM_STATEMENT_OPERATION_NAME =
+      VirtualField.find(SqmStatement.class, String.class);
+
+  static String getOperationName(CommonQueryContract query) {
+    String queryString = null;
+    if (query instanceof Query) {
+      queryString = ((Query<?>) query).getQueryString();
+    }
+    if (query instanceof SqmQuery) {
+      try {
+        SqmStatement<?> statement = ((SqmQuery) query).getSqmStatement();
+        // hibernate caches the statements that it parses from hql and shares them between all
+        // queries with the same hql, while criteria statements may still be modified by the
+        // application after they were executed
+        if (statement.getQuerySource() != SqmQuerySource.HQL) {
+          return getOperationNameForQuery(statement.toHqlString());
+        }
+        String operationName = SQM_STATEMENT_OPERATION_NAME.get(statement);
+        if (operationName == null) {
+          operationName = getOperationNameForQuery(statement.toHqlString());
+          SQM_STATEMENT_OPERATION_NAME.set(statement, operationName);
+        }
+        return operationName;
+      } catch (RuntimeException ignored) {
+        // ignore
+      }
+    }
+    return getOperationNameForQuery(queryString);
+  }
+
+  private QueryOperationNameUtil() {}
+}
@@ -35,6 +35,7 @@ import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -118,4 +119,76 @@ class CriteriaTest extends AbstractHibernateTest {
                                 experimental(
                                     trace.getSpan(1).getAttributes().get(HIBERNATE_SESSION_ID))))));
   }
+
+  @Test
+  void testCriteriaQueryModifiedAfterExecution() {
+    testing.runWithSpan(
+        "parent",
+        () -> {
+          Session session = sessionFactory.openSession();
+          CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+          CriteriaQuery<Value> createQuery = criteriaBuilder.createQuery(Value.class);
+          createQuery.select(createQuery.from(Value.class));
+          session.createQuery(createQuery).getResultList();
+          // the criteria statement is not cached by hibernate, so the operation name of the second
+          // query must not be the one that was computed for the first query
+          createQuery.from(Value.class);
+          session.createQuery(createQuery).getResultList();
+          session.close();
+        });
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                span ->
+                    span.hasName(
+                            emitStableDatabaseSemconv()
+                                ? "select io.opentelemetry.javaagent.instrumentation.hibernate.v6_0.Value"
+                                : "SELECT io.opentelemetry.javaagent.instrumentation.hibernate.v6_0.Value")
+                        .hasKind(SpanKind.INTERNAL)
+                        .hasParent(trace.getSpan(0)),
+                span -> span.hasKind(SpanKind.CLIENT).hasParent(trace.getSpan(1)),
+                span ->
+                    span.hasName(
+                            emitStableDatabaseSemconv()
+                                ? "select io.opentelemetry.javaagent.instrumentation.hibernate.v6_0.Value"
+                                    + " io.opentelemetry.javaagent.instrumentation.hibernate.v6_0.Value"
+                                : "SELECT")
+                        .hasKind(SpanKind.INTERNAL)
+                        .hasParent(trace.getSpan(0)),
+                span -> span.hasKind(SpanKind.CLIENT).hasParent(trace.getSpan(3))));
+  }
+
+  @Test
+  void testHqlQueryExecutedTwice() {
+    testing.runWithSpan(
+        "parent",
+        () -> {
+          Session session = sessionFactory.openSession();
+          // hibernate shares the statement parsed from the hql between both queries, so the
+          // operation name computed for the first query is reused for the second one
+          session.createQuery("from Value", Value.class).getResultList();
+          session.createQuery("from Value", Value.class).getResultList();
+          session.close();
+        });
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasKind(SpanKind.INTERNAL).hasNoParent(),
+                span ->
+                    span.hasName(
+                            emitStableDatabaseSemconv()
+                                ? "select io.opentelemetry.javaagent.instrumentation.hibernate.v6_0.Value"
+                                : "SELECT io.opentelemetry.javaagent.instrumentation.hibernate.v6_0.Value")
+                        .hasKind(SpanKind.INTERNAL)
+                        .hasParent(trace.getSpan(0)),
+                span -> span.hasKind(SpanKind.CLIENT).hasParent(trace.getSpan(1)),
+                span ->
+                    span.hasName(trace.getSpan(1).getName())
+                        .hasKind(SpanKind.INTERNAL)
+                        .hasParent(trace.getSpan(0)),
+                span -> span.hasKind(SpanKind.CLIENT).hasParent(trace.getSpan(3))));
+  }
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.IntrospectionException;
+import javax.management.InvalidAttributeValueException;
+import javax.management.ListenerNotFoundException;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServerConnection;
+import javax.management.NotCompliantMBeanException;
+import javax.management.NotificationFilter;
+import javax.management.NotificationListener;
+import javax.management.ObjectInstance;
+import javax.management.ObjectName;
+import javax.management.QueryExp;
+import javax.management.ReflectionException;
+
+/**
+ * An {@link MBeanServerConnection} used for a single metric collection cycle. The first time an
+ * attribute of an MBean is requested, all the attributes that the collection needs from it are read
+ * with a single {@link MBeanServerConnection#getAttributes(ObjectName, String[])} call, which
+ * avoids a round trip per attribute for remote connections. Values are not refreshed, so instances
+ * must not be reused across collection cycles. Objects of this class are not thread safe.
+ */
+class BatchingConnection implements MBeanServerConnection {
+
+  private final MBeanServerConnection delegate;
+  private final String[] attributeNames;
+  private final Map<ObjectName, Map<String, Object>> values = new HashMap<>();
+
+  /**
+   * Constructor for BatchingConnection.
+   *
+   * @param delegate the {@link MBeanServerConnection} to read the attributes from
+   * @param attributeNames the names of the attributes to read together from each MBean
+   */
+  BatchingConnection(MBeanServerConnection delegate, String[] attributeNames) {
+    this.delegate = delegate;
+    this.attributeNames = attributeNames;
+  }
+
+  @Override
+  public Object getAttribute(ObjectName name, String attribute)
+      throws MBeanException,
+          AttributeNotFoundException,
+          InstanceNotFoundException,
+          ReflectionException,
+          IOException {
+    Map<String, Object> beanValues = values.get(name);
+    if (beanValues == null) {
+      beanValues = readAttributes(name);
+      values.put(name, beanValues);
+    }
+    if (beanValues.containsKey(attribute)) {
+      return beanValues.get(attribute);
+    }
+    // not part of the batch, or its getter failed, in which case this reports why
+    Object value = delegate.getAttribute(name, attribute);
+    beanValues.put(attribute, value);
+    return value;
+  }
+
+  private Map<String, Object> readAttributes(ObjectName name) {
+    Map<String, Object> beanValues = new HashMap<>();
+    try {
+      // attributes that can't be read are left out of the result
+      for (Attribute attribute : delegate.getAttributes(name, attributeNames).asList()) {
+        beanValues.put(attribute.getName(), attribute.getValue());
+      }
+    } catch (InstanceNotFoundException
+        | ReflectionException
+        | IOException
+        | RuntimeException ignored) {
+      // reported by the individual reads
+    }
+    return beanValues;
+  }
+
+  @Override
+  public AttributeList getAttributes(ObjectName name, String[] attributes)
+      throws InstanceNotFoundException, ReflectionException, IOException {
+    return delegate.getAttributes(name, attributes);
+  }
+
+  @Override
+  public ObjectInstance createMBean(String className, ObjectName name)
+      throws ReflectionException,
+          InstanceAlreadyExistsException,
+          MBeanRegistrationException,
+          MBeanException,
+          NotCompliantMBeanException,
+          IOException {
+    return delegate.createMBean(className, name);
+  }
+
+  @Override
+  public ObjectInstance createMBean(String className, ObjectName name, ObjectName loaderName)
+      throws ReflectionException,
+          InstanceAlreadyExistsException,
+          MBeanRegistrationException,
+          MBeanException,
+          NotCompliantMBeanException,
+          InstanceNotFoundException,
+          IOException {
+    return delegate.createMBean(className, name, loaderName);
+  }
+
+  @Override
+  public ObjectInstance createMBean(
+      String className, ObjectName name, Object[] params, String[] signature)
+      throws ReflectionException,
+          InstanceAlreadyExistsException,
+          MBeanRegistrationException,
+          MBeanException,
+          NotCompliantMBeanException,
+          IOException {
+    return delegate.createMBean(className, name, params, signature);
+  }
+
+  @Override
+  public ObjectInstance createMBean(
+      String className,
+      ObjectName name,
+      ObjectName loaderName,
+      Object[] params,
+      String[] signature)
+      throws ReflectionException,
+          InstanceAlreadyExistsException,
+          MBeanRegistrationException,
+          MBeanException,
+          NotCompliantMBeanException,
+          InstanceNotFoundException,
+          IOException {
+    return delegate.createMBean(className, name, loaderName, params, signature);
+  }
+
+  @Override
+  public void unregisterMBean(ObjectName name)
+      throws InstanceNotFoundException, MBeanRegistrationException, IOException {
+    delegate.unregisterMBean(name);
+  }
+
+  @Override
+  public ObjectInstance getObjectInstance(ObjectName name)
+      throws InstanceNotFoundException, IOException {
+    return delegate.getObjectInstance(name);
+  }
+
+  @Override
+  public Set<ObjectInstance> queryMBeans(ObjectName name, QueryExp query) throws IOException {
+    return delegate.queryMBeans(name, query);
+  }
+
+  @Override
+  public Set<ObjectName> queryNames(ObjectName name, QueryExp query) throws IOException {
+    return delegate.queryNames(name, query);
+  }
+
+  @Override
+  public boolean isRegistered(ObjectName name) throws IOException {
+    return delegate.isRegistered(name);
+  }
+
+  @Override
+  public Integer getMBeanCount() throws IOException {
+    return delegate.getMBeanCount();
+  }
+
+  @Override
+  public void setAttribute(ObjectName name, Attribute attribute)
+      throws InstanceNotFoundException,
+          AttributeNotFoundException,
+          InvalidAttributeValueException,
+          MBeanException,
+          ReflectionException,
+          IOException {
+    delegate.setAttribute(name, attribute);
+  }
+
+  @Override
+  public AttributeList setAttributes(ObjectName name, AttributeList attributes)
+      throws InstanceNotFoundException, ReflectionException, IOException {
+    return delegate.setAttributes(name, attributes);
+  }
+
+  @Override
+  public Object invoke(ObjectName name, String operationName, Object[] params, String[] signature)
+      throws InstanceNotFoundException, MBeanException, ReflectionException, IOException {
+    return delegate.invoke(name, operationName, params, signature);
+  }
+
+  @Override
+  public String getDefaultDomain() throws IOException {
+    return delegate.getDefaultDomain();
+  }
+
+  @Override
+  public String[] getDomains() throws IOException {
+    return delegate.getDomains();
+  }
+
+  @Override
+  public void addNotificationListener(
+      ObjectName name, NotificationListener listener, NotificationFilter filter, Object handback)
+      throws InstanceNotFoundException, IOException {
+    delegate.addNotificationListener(name, listener, filter, handback);
+  }
+
+  @Override
+  public void addNotificationListener(
+      ObjectName name, ObjectName listener, NotificationFilter filter, Object handback)
+      throws InstanceNotFoundException, IOException {
+    delegate.addNotificationListener(name, listener, filter, handback);
+  }
+
+  @Override
+  public void removeNotificationListener(ObjectName name, ObjectName listener)
+      throws InstanceNotFoundException, ListenerNotFoundException, IOException {
+    delegate.removeNotificationListener(name, listener);
+  }
+
+  @Override
+  public void removeNotificationListener(
+      ObjectName name, ObjectName listener, NotificationFilter filter, Object handback)
+      throws InstanceNotFoundException, ListenerNotFoundException, IOException {
+    delegate.removeNotificationListener(name, listener, filter, handback);
+  }
+
+  @Override
+  public void removeNotificationListener(ObjectName name, NotificationListener listener)
+      throws InstanceNotFoundException, ListenerNotFoundException, IOException {
+    delegate.removeNotificationListener(name, listener);
+  }
+
+  @Override
+  public void removeNotificationListener(
+      ObjectName name, NotificationListener listener, NotificationFilter filter, Object handback)
+      throws InstanceNotFoundException, ListenerNotFoundException, IOException {
+    delegate.removeNotificationListener(name, listener, filter, handback);
+  }
+
+  @Override
+  public MBeanInfo getMBeanInfo(ObjectName name)
+      throws InstanceNotFoundException, IntrospectionException, ReflectionException, IOException {
+    return delegate.getMBeanInfo(name);
+  }
+
+  @Override
+  public boolean isInstanceOf(ObjectName name, String className)
+      throws InstanceNotFoundException, IOException {
+    return delegate.isInstanceOf(name, className);
+  }
+}
@@ -114,6 +114,11 @@ public class BeanAttributeExtractor implements MetricAttributeExtractor {
     this.nameChain = nameChain;
   }
 
+  /** Get the name of the MBean attribute that the value is extracted from. */
+  String getBaseName() {
+    return baseName;
+  }
+
   /**
    * Get a human readable name of the attribute to extract. Used to form the metric name if none is
    * provided. Also useful for logging or debugging.
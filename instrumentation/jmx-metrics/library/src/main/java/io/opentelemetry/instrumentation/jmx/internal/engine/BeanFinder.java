@@ -5,33 +5,57 @@
 
 package io.opentelemetry.instrumentation.jmx.internal.engine;
 
+import static java.util.Collections.emptyList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.WARNING;
 
 import io.opentelemetry.instrumentation.jmx.internal.ExperimentalJmxMetricHandler;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.management.InstanceNotFoundException;
+import javax.management.ListenerNotFoundException;
+import javax.management.MBeanServer;
 import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerDelegate;
+import javax.management.MBeanServerNotification;
+import javax.management.Notification;
+import javax.management.NotificationListener;
 import javax.management.ObjectName;
 
 /**
  * A class responsible for finding MBeans that match metric definitions specified by a set of
  * MetricDefs.
+ *
+ * <p>Local MBeanServers report MBean registrations and unregistrations through notifications of
+ * their {@link MBeanServerDelegate}, which are dispatched to the MetricDefs whose ObjectName
+ * patterns match the MBean. Only remote connections are polled for changes, as well as the
+ * MetricDefs with matching MBeans whose attributes could not be resolved yet, for example because
+ * their value was still null, since no notification reports when an attribute gets a value.
  */
 class BeanFinder {
 
   private static final Logger logger = Logger.getLogger(BeanFinder.class.getName());
 
+  // gives time to register related MBeans together and to initialize them before they are queried
+  private static final long NOTIFICATION_REFRESH_DELAY = 1000;
+
   private final MetricRegistrar registrar;
   private final MetricConfiguration conf;
   private final ScheduledExecutorService exec =
@@ -46,6 +70,20 @@ class BeanFinder {
   private final long maxDelay;
   private long delay = 1000; // number of milliseconds until first attempt to discover MBeans
 
+  // MetricDefs by the domain of their ObjectName patterns, to dispatch the notifications
+  private final Map<String, List<PatternMetricDef>> patternsByDomain = new HashMap<>();
+  // MetricDefs with patterns that match several domains
+  private final List<PatternMetricDef> domainPatterns = new ArrayList<>();
+  private final NotificationListener registrationListener =
+      (notification, handback) -> handleRegistration(notification);
+  // only accessed by the executor thread
+  private final Set<MBeanServer> subscribedServers = new HashSet<>();
+  private List<? extends MBeanServerConnection> servers = emptyList();
+  private final Set<MetricDef> pendingMetricDefs = ConcurrentHashMap.newKeySet();
+  // only accessed by the executor thread
+  private final Set<MetricDef> unresolvedMetricDefs = new HashSet<>();
+  private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
   BeanFinder(
       MetricConfiguration conf,
       MetricRegistrar registrar,
@@ -57,6 +95,16 @@ class BeanFinder {
     this.maxDelay = Math.max(60000, discoveryDelay);
 
     for (MetricDef metricDef : conf.getMetricDefs()) {
+      for (ObjectName pattern : metricDef.getBeanGroup().getNamePatterns()) {
+        PatternMetricDef patternMetricDef = new PatternMetricDef(pattern, metricDef);
+        if (pattern.isDomainPattern()) {
+          domainPatterns.add(patternMetricDef);
+        } else {
+          patternsByDomain
+              .computeIfAbsent(pattern.getDomain(), domain -> new ArrayList<>())
+              .add(patternMetricDef);
+        }
+      }
       for (MetricHandlerHolder holder : metricDef.getHandlers()) {
         String handlerName = holder.getHandlerName();
         ExperimentalJmxMetricHandler handler = handlers.get(handlerName);
@@ -110,18 +158,104 @@ class BeanFinder {
    * Go over all configured metric definitions and try to find matching MBeans. Once a match is
    * found for a given metric definition, submit the definition to MetricRegistrar for further
    * handling. Successive invocations of this method may find matches that were previously
-   * unavailable, in such cases MetricRegistrar will extend the coverage for the new MBeans
+   * unavailable, in such cases MetricRegistrar will extend the coverage for the new MBeans.
+   *
+   * <p>Once all the connections are local MBeanServers that notify about MBean registrations,
+   * this method only looks for new MBeanServers and retries the MetricDefs with unresolved
+   * attributes.
    *
    * @param connections supplier providing {@link MBeanServerConnection} instances to query
    */
   private void refreshState(Supplier<List<? extends MBeanServerConnection>> connections) {
     List<? extends MBeanServerConnection> servers = connections.get();
+    this.servers = servers;
+
+    boolean refresh = false;
+    for (MBeanServerConnection connection : servers) {
+      if (!(connection instanceof MBeanServer) || !subscribe((MBeanServer) connection)) {
+        // remote connections have to be polled
+        refresh = true;
+      } else if (subscribedServers.add((MBeanServer) connection)) {
+        // find the MBeans registered before subscribing
+        refresh = true;
+      }
+    }
+    if (!refresh) {
+      for (MetricDef metricDef : new ArrayList<>(unresolvedMetricDefs)) {
+        resolveBeans(metricDef, servers);
+      }
+      return;
+    }
 
     for (MetricDef metricDef : conf.getMetricDefs()) {
       resolveBeans(metricDef, servers);
     }
   }
 
+  /**
+   * Subscribes to the MBean registration notifications of the server, unless already subscribed.
+   *
+   * @return whether the server notifies about MBean registrations
+   */
+  private boolean subscribe(MBeanServer server) {
+    if (subscribedServers.contains(server)) {
+      return true;
+    }
+    try {
+      server.addNotificationListener(
+          MBeanServerDelegate.DELEGATE_NAME, registrationListener, null, null);
+      return true;
+    } catch (InstanceNotFoundException | RuntimeException e) {
+      logger.log(FINE, "Unable to subscribe to MBean registrations, polling instead", e);
+      return false;
+    }
+  }
+
+  /**
+   * Invoked by the MBeanServer on the thread registering or unregistering an MBean, so it only
+   * records the MetricDefs whose patterns match the MBean and leaves resolving them to the
+   * executor.
+   */
+  private void handleRegistration(Notification notification) {
+    if (!(notification instanceof MBeanServerNotification)) {
+      return;
+    }
+    ObjectName objectName = ((MBeanServerNotification) notification).getMBeanName();
+    boolean matched = addMatching(patternsByDomain.get(objectName.getDomain()), objectName);
+    matched |= addMatching(domainPatterns, objectName);
+    if (!matched || !refreshScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      exec.schedule(this::refreshPendingMetricDefs, NOTIFICATION_REFRESH_DELAY, MILLISECONDS);
+    } catch (RejectedExecutionException ignored) {
+      // shut down
+    }
+  }
+
+  private boolean addMatching(@Nullable List<PatternMetricDef> patterns, ObjectName objectName) {
+    if (patterns == null) {
+      return false;
+    }
+    boolean matched = false;
+    for (PatternMetricDef pattern : patterns) {
+      if (pattern.pattern.apply(objectName)) {
+        pendingMetricDefs.add(pattern.metricDef);
+        matched = true;
+      }
+    }
+    return matched;
+  }
+
+  private void refreshPendingMetricDefs() {
+    refreshScheduled.set(false);
+    for (Iterator<MetricDef> iterator = pendingMetricDefs.iterator(); iterator.hasNext(); ) {
+      MetricDef metricDef = iterator.next();
+      iterator.remove();
+      resolveBeans(metricDef, servers);
+    }
+  }
+
   /**
    * Go over the specified list of MBeanServers and try to find any MBeans matching the specified
    * MetricDef. If found, verify that the MBeans support the specified attributes, and set up
@@ -147,7 +281,11 @@ class BeanFinder {
       }
 
       if (!allObjectNames.isEmpty()) {
-        resolveAttributes(allObjectNames, connection, metricDef);
+        if (resolveAttributes(allObjectNames, connection, metricDef)) {
+          unresolvedMetricDefs.remove(metricDef);
+        } else {
+          unresolvedMetricDefs.add(metricDef);
+        }
         resolveHandlers(allObjectNames, connection, metricDef);
 
         // Assuming that only one MBeanServer has the required MBeans
@@ -164,9 +302,11 @@ class BeanFinder {
    * @param connection the {@link MBeanServerConnection} which recognized the collection of
    *     ObjectNames
    * @param metricDef the {@link MetricDef} describing the attributes to look for
+   * @return whether the attributes were resolved for all the MBeans
    */
-  private void resolveAttributes(
+  private boolean resolveAttributes(
       Set<ObjectName> objectNames, MBeanServerConnection connection, MetricDef metricDef) {
+    boolean resolved = true;
     for (MetricExtractor extractor : metricDef.getMetricExtractors()) {
       // For each MetricExtractor, find the subset of MBeans that have the required attribute
       List<ObjectName> validObjectNames = new ArrayList<>();
@@ -181,13 +321,17 @@ class BeanFinder {
             attributeInfo.updateFrom(attr);
           }
           validObjectNames.add(objectName);
+        } else {
+          resolved = false;
         }
       }
       if (!validObjectNames.isEmpty()) {
         // Ready to collect metric values
-        registrar.enrollExtractor(connection, validObjectNames, extractor, attributeInfo);
+        registrar.enrollExtractor(
+            connection, validObjectNames, metricDef, extractor, attributeInfo);
       }
     }
+    return resolved;
   }
 
   private void resolveHandlers(
@@ -202,5 +346,22 @@ class BeanFinder {
     if (!exec.awaitTermination(10, SECONDS)) {
       logger.log(WARNING, "Bean finder executor did not terminate within 10 seconds");
     }
+    for (MBeanServer server : subscribedServers) {
+      try {
+        server.removeNotificationListener(MBeanServerDelegate.DELEGATE_NAME, registrationListener);
+      } catch (InstanceNotFoundException | ListenerNotFoundException e) {
+        logger.log(FINE, "Unable to unsubscribe from MBean registrations", e);
+      }
+    }
+  }
+
+  private static final class PatternMetricDef {
+    private final ObjectName pattern;
+    private final MetricDef metricDef;
+
+    private PatternMetricDef(ObjectName pattern, MetricDef metricDef) {
+      this.pattern = pattern;
+      this.metricDef = metricDef;
+    }
   }
 }
@@ -34,6 +34,14 @@ public class MetricAttribute {
     return name;
   }
 
+  /** Returns the name of the MBean attribute the value is extracted from, if any. */
+  @Nullable
+  String getBeanAttributeName() {
+    return extractor instanceof BeanAttributeExtractor
+        ? ((BeanAttributeExtractor) extractor).getBaseName()
+        : null;
+  }
+
   @Nullable
   public String acquireAttributeValue(MBeanServerConnection connection, ObjectName objectName) {
     return extractor.extractValue(connection, objectName);
@@ -0,0 +1,120 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import io.opentelemetry.api.metrics.BatchCallback;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableMeasurement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.Nullable;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+
+/**
+ * A class collecting the values of all the metrics of a {@link MetricDef} with a single batch
+ * callback. During each collection the attributes of every MBean are read once, using a {@link
+ * BatchingConnection}, no matter how many metrics and metric attributes are extracted from them.
+ */
+class MetricDefCollector implements AutoCloseable {
+
+  /** Records the values of a metric for the MBeans identified by the ObjectNames. */
+  interface Recorder {
+    void record(MBeanServerConnection connection, Collection<ObjectName> objectNames);
+  }
+
+  private final Meter meter;
+  private final String[] attributeNames;
+  private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+  @Nullable private BatchCallback callback;
+  private boolean closed;
+
+  MetricDefCollector(Meter meter, MetricDef metricDef) {
+    this.meter = meter;
+    this.attributeNames = getAttributeNames(metricDef);
+  }
+
+  private static String[] getAttributeNames(MetricDef metricDef) {
+    Set<String> names = new LinkedHashSet<>();
+    for (MetricExtractor extractor : metricDef.getMetricExtractors()) {
+      names.add(extractor.getMetricValueExtractor().getBaseName());
+      for (MetricAttribute attribute : extractor.getAttributes()) {
+        String name = attribute.getBeanAttributeName();
+        if (name != null) {
+          names.add(name);
+        }
+      }
+    }
+    return names.toArray(new String[0]);
+  }
+
+  /**
+   * Adds a metric to the collection. As the observed instruments of a batch callback can't change,
+   * the callback is replaced, which only happens when a metric is first discovered.
+   */
+  synchronized void add(
+      MetricExtractor extractor, ObservableMeasurement observer, Recorder recorder) {
+    if (closed) {
+      return;
+    }
+    registrations.add(new Registration(extractor, observer, recorder));
+
+    List<ObservableMeasurement> observers = new ArrayList<>();
+    for (Registration registration : registrations) {
+      observers.add(registration.observer);
+    }
+    if (callback != null) {
+      callback.close();
+    }
+    callback =
+        meter.batchCallback(
+            this::collect,
+            observers.get(0),
+            observers.subList(1, observers.size()).toArray(new ObservableMeasurement[0]));
+  }
+
+  private void collect() {
+    Map<MBeanServerConnection, BatchingConnection> connections = new IdentityHashMap<>();
+    for (Registration registration : registrations) {
+      DetectionStatus status = registration.extractor.getStatus();
+      if (status != null) {
+        BatchingConnection connection =
+            connections.computeIfAbsent(
+                status.getConnection(),
+                delegate -> new BatchingConnection(delegate, attributeNames));
+        registration.recorder.record(connection, status.getObjectNames());
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    if (callback != null) {
+      callback.close();
+      callback = null;
+    }
+  }
+
+  private static final class Registration {
+    private final MetricExtractor extractor;
+    private final ObservableMeasurement observer;
+    private final Recorder recorder;
+
+    private Registration(
+        MetricExtractor extractor, ObservableMeasurement observer, Recorder recorder) {
+      this.extractor = extractor;
+      this.observer = observer;
+      this.recorder = recorder;
+    }
+  }
+}
@@ -19,12 +19,13 @@ import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterBuilder;
 import io.opentelemetry.api.metrics.ObservableDoubleMeasurement;
 import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import io.opentelemetry.api.metrics.ObservableMeasurement;
 import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
 import io.opentelemetry.instrumentation.jmx.internal.ExperimentalJmxMetricHandler;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Consumer;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
 import javax.management.MBeanServerConnection;
@@ -37,6 +38,7 @@ class MetricRegistrar implements AutoCloseable {
 
   private final Meter meter;
   private final Collection<AutoCloseable> instruments = ConcurrentHashMap.newKeySet();
+  private final Map<MetricDef, MetricDefCollector> collectors = new ConcurrentHashMap<>();
 
   MetricRegistrar(
       OpenTelemetry openTelemetry, String instrumentationScope, String versionLookupName) {
@@ -54,12 +56,15 @@ class MetricRegistrar implements AutoCloseable {
    * @param connection the {@link MBeanServerConnection} to use to query for metric values
    * @param objectNames the {@link ObjectName} that are known to the server and that know the
    *     attribute that is required to get the metric values
+   * @param metricDef the {@link MetricDef} the extractor belongs to, whose metrics are collected
+   *     together
    * @param extractor the {@link MetricExtractor} responsible for getting the metric values
    * @param attributeInfo the {@link AttributeInfo}
    */
   void enrollExtractor(
       MBeanServerConnection connection,
       Collection<ObjectName> objectNames,
+      MetricDef metricDef,
       MetricExtractor extractor,
       AttributeInfo attributeInfo) {
     // For the first enrollment of the extractor we have to build the corresponding Instrument
@@ -96,12 +101,15 @@ class MetricRegistrar implements AutoCloseable {
           builder.setUnit(unit);
 
           if (recordDoubleValue) {
-            register(
-                builder
-                    .ofDoubles()
-                    .buildWithCallback(doubleTypeCallback(extractor, unitConverter)));
+            ObservableDoubleMeasurement measurement = builder.ofDoubles().buildObserver();
+            collect(
+                metricDef,
+                extractor,
+                measurement,
+                doubleTypeRecorder(extractor, measurement, unitConverter));
           } else {
-            register(builder.buildWithCallback(longTypeCallback(extractor)));
+            ObservableLongMeasurement measurement = builder.buildObserver();
+            collect(metricDef, extractor, measurement, longTypeRecorder(extractor, measurement));
           }
           logger.log(INFO, "Created Counter for {0}", metricName);
         }
@@ -116,12 +124,15 @@ class MetricRegistrar implements AutoCloseable {
           builder.setUnit(unit);
 
           if (recordDoubleValue) {
-            register(
-                builder
-                    .ofDoubles()
-                    .buildWithCallback(doubleTypeCallback(extractor, unitConverter)));
+            ObservableDoubleMeasurement measurement = builder.ofDoubles().buildObserver();
+            collect(
+                metricDef,
+                extractor,
+                measurement,
+                doubleTypeRecorder(extractor, measurement, unitConverter));
           } else {
-            register(builder.buildWithCallback(longTypeCallback(extractor)));
+            ObservableLongMeasurement measurement = builder.buildObserver();
+            collect(metricDef, extractor, measurement, longTypeRecorder(extractor, measurement));
           }
           logger.log(INFO, "Created UpDownCounter for {0}", metricName);
         }
@@ -136,9 +147,15 @@ class MetricRegistrar implements AutoCloseable {
           builder.setUnit(unit);
 
           if (recordDoubleValue) {
-            register(builder.buildWithCallback(doubleTypeCallback(extractor, unitConverter)));
+            ObservableDoubleMeasurement measurement = builder.buildObserver();
+            collect(
+                metricDef,
+                extractor,
+                measurement,
+                doubleTypeRecorder(extractor, measurement, unitConverter));
           } else {
-            register(builder.ofLongs().buildWithCallback(longTypeCallback(extractor)));
+            ObservableLongMeasurement measurement = builder.ofLongs().buildObserver();
+            collect(metricDef, extractor, measurement, longTypeRecorder(extractor, measurement));
           }
           logger.log(INFO, "Created Gauge for {0}", metricName);
         }
@@ -152,51 +169,62 @@ class MetricRegistrar implements AutoCloseable {
     }
   }
 
+  private void collect(
+      MetricDef metricDef,
+      MetricExtractor extractor,
+      ObservableMeasurement observer,
+      MetricDefCollector.Recorder recorder) {
+    collectors
+        .computeIfAbsent(
+            metricDef,
+            def -> {
+              MetricDefCollector collector = new MetricDefCollector(meter, def);
+              register(collector);
+              return collector;
+            })
+        .add(extractor, observer, recorder);
+  }
+
   /*
-   * A method generating metric collection callback for asynchronous Measurement
-   * of Double type.
+   * A method generating a recorder for metric values of Double type, which is invoked by the
+   * batch callback of the MetricDef.
    * If unit converter is provided then conversion is applied before metric is recorded.
    */
-  static Consumer<ObservableDoubleMeasurement> doubleTypeCallback(
-      MetricExtractor extractor, @Nullable UnitConverter unitConverter) {
-    return measurement -> {
-      DetectionStatus status = extractor.getStatus();
-      if (status != null) {
-        MBeanServerConnection connection = status.getConnection();
-        for (ObjectName objectName : status.getObjectNames()) {
-          Number metricValue =
-              extractor.getMetricValueExtractor().extractNumericalAttribute(connection, objectName);
-          if (metricValue != null) {
-            // get the metric attributes
-            Attributes attr = createMetricAttributes(connection, objectName, extractor);
+  static MetricDefCollector.Recorder doubleTypeRecorder(
+      MetricExtractor extractor,
+      ObservableDoubleMeasurement measurement,
+      @Nullable UnitConverter unitConverter) {
+    return (connection, objectNames) -> {
+      for (ObjectName objectName : objectNames) {
+        Number metricValue =
+            extractor.getMetricValueExtractor().extractNumericalAttribute(connection, objectName);
+        if (metricValue != null) {
+          // get the metric attributes
+          Attributes attr = createMetricAttributes(connection, objectName, extractor);
 
-            if (unitConverter != null) {
-              metricValue = unitConverter.convert(metricValue);
-            }
-            measurement.record(metricValue.doubleValue(), attr);
+          if (unitConverter != null) {
+            metricValue = unitConverter.convert(metricValue);
           }
+          measurement.record(metricValue.doubleValue(), attr);
         }
       }
     };
   }
 
   /*
-   * A method generating metric collection callback for asynchronous Measurement
-   * of Long type.
+   * A method generating a recorder for metric values of Long type, which is invoked by the
+   * batch callback of the MetricDef.
    */
-  static Consumer<ObservableLongMeasurement> longTypeCallback(MetricExtractor extractor) {
-    return measurement -> {
-      DetectionStatus status = extractor.getStatus();
-      if (status != null) {
-        MBeanServerConnection connection = status.getConnection();
-        for (ObjectName objectName : status.getObjectNames()) {
-          Number metricValue =
-              extractor.getMetricValueExtractor().extractNumericalAttribute(connection, objectName);
-          if (metricValue != null) {
-            // get the metric attributes
-            Attributes attr = createMetricAttributes(connection, objectName, extractor);
-            measurement.record(metricValue.longValue(), attr);
-          }
+  static MetricDefCollector.Recorder longTypeRecorder(
+      MetricExtractor extractor, ObservableLongMeasurement measurement) {
+    return (connection, objectNames) -> {
+      for (ObjectName objectName : objectNames) {
+        Number metricValue =
+            extractor.getMetricValueExtractor().extractNumericalAttribute(connection, objectName);
+        if (metricValue != null) {
+          // get the metric attributes
+          Attributes attr = createMetricAttributes(connection, objectName, extractor);
+          measurement.record(metricValue.longValue(), attr);
         }
       }
     };
@@ -267,5 +295,6 @@ class MetricRegistrar implements AutoCloseable {
       }
     }
     instruments.clear();
+    collectors.clear();
   }
 }
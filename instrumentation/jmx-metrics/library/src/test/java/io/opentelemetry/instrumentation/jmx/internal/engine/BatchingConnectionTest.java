@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jmx.internal.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+
+class BatchingConnectionTest {
+
+  private static final String[] ATTRIBUTE_NAMES = {"Count", "Size", "Broken"};
+
+  @Test
+  void readsAttributesOfBeanOnce() throws Exception {
+    MBeanServerConnection delegate = mock(MBeanServerConnection.class);
+    ObjectName objectName = new ObjectName("otel.jmx.test:type=Test");
+    when(delegate.getAttributes(objectName, ATTRIBUTE_NAMES))
+        .thenReturn(
+            new AttributeList(
+                Arrays.asList(new Attribute("Count", 42), new Attribute("Size", null))));
+
+    BatchingConnection connection = new BatchingConnection(delegate, ATTRIBUTE_NAMES);
+
+    assertThat(connection.getAttribute(objectName, "Count")).isEqualTo(42);
+    assertThat(connection.getAttribute(objectName, "Size")).isNull();
+    assertThat(connection.getAttribute(objectName, "Count")).isEqualTo(42);
+
+    verify(delegate, times(1)).getAttributes(objectName, ATTRIBUTE_NAMES);
+    verify(delegate, never()).getAttribute(any(), any());
+  }
+
+  @Test
+  void readsAttributesMissingFromBatchIndividually() throws Exception {
+    MBeanServerConnection delegate = mock(MBeanServerConnection.class);
+    ObjectName objectName = new ObjectName("otel.jmx.test:type=Test");
+    when(delegate.getAttributes(objectName, ATTRIBUTE_NAMES))
+        .thenReturn(new AttributeList(Arrays.asList(new Attribute("Count", 42))));
+    when(delegate.getAttribute(objectName, "Other")).thenReturn("value");
+    when(delegate.getAttribute(objectName, "Broken"))
+        .thenThrow(new AttributeNotFoundException("Broken"));
+
+    BatchingConnection connection = new BatchingConnection(delegate, ATTRIBUTE_NAMES);
+
+    assertThat(connection.getAttribute(objectName, "Other")).isEqualTo("value");
+    assertThat(connection.getAttribute(objectName, "Other")).isEqualTo("value");
+    assertThatThrownBy(() -> connection.getAttribute(objectName, "Broken"))
+        .isInstanceOf(JMException.class);
+
+    verify(delegate, times(1)).getAttribute(objectName, "Other");
+    verify(delegate, times(1)).getAttribute(objectName, "Broken");
+  }
+}
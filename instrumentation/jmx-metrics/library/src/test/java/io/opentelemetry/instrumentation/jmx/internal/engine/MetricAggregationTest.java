@@ -9,6 +9,7 @@ import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.asser
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.params.ParameterizedInvocationConstants.ARGUMENTS_PLACEHOLDER;
 
 import io.opentelemetry.api.common.AttributeKey;
@@ -32,6 +33,7 @@ import javax.management.ObjectName;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -58,6 +60,28 @@ class MetricAggregationTest {
     }
   }
 
+  @SuppressWarnings({"unused", "checkstyle:AbbreviationAsWordInName"})
+  public interface LateHelloMBean {
+
+    Integer getValue();
+  }
+
+  public static class LateHello implements LateHelloMBean {
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private volatile Integer value;
+
+    void setValue(Integer value) {
+      this.value = value;
+    }
+
+    @Override
+    public Integer getValue() {
+      reads.incrementAndGet();
+      return value;
+    }
+  }
+
   @RegisterExtension
   static final InstrumentationExtension testing = LibraryInstrumentationExtension.create();
 
@@ -79,7 +103,7 @@ class MetricAggregationTest {
 
   @AfterEach
   void after() throws JMException {
-    ObjectName objectName = new ObjectName(DOMAIN + ":type=" + Hello.class.getSimpleName() + ",*");
+    ObjectName objectName = new ObjectName(DOMAIN + ":*");
     theServer
         .queryMBeans(objectName, null)
         .forEach(
@@ -140,6 +164,40 @@ class MetricAggregationTest {
         point -> point.hasValue(expected).hasAttributes(Attributes.empty()));
   }
 
+  @Test
+  void aggregateBeanRegisteredAfterStart() throws JMException {
+    MetricInfo.Type metricType = MetricInfo.Type.COUNTER;
+    theServer.registerMBean(new Hello(42), getObjectName("value1", null));
+
+    String bean = getObjectName("*", null).toString();
+    String metricName = generateMetricName(metricType);
+    startTestMetric(metricName, bean, emptyList(), metricType);
+    waitAndAssertMetric(
+        metricName, metricType, point -> point.hasValue(42).hasAttributes(Attributes.empty()));
+
+    // discovered through the MBean registration notification of the server
+    theServer.registerMBean(new Hello(37), getObjectName("value2", null));
+    waitAndAssertMetric(
+        metricName, metricType, point -> point.hasValue(79).hasAttributes(Attributes.empty()));
+  }
+
+  @Test
+  void attributeWithValueAfterDiscovery() throws JMException {
+    MetricInfo.Type metricType = MetricInfo.Type.GAUGE;
+    LateHello lateHello = new LateHello();
+    ObjectName bean = new ObjectName(DOMAIN + ":type=" + LateHello.class.getSimpleName());
+    theServer.registerMBean(lateHello, bean);
+
+    String metricName = generateMetricName(metricType);
+    startTestMetric(metricName, bean.toString(), emptyList(), metricType);
+    // the attribute is null when the MBean is discovered, no notification reports its value
+    await().untilAsserted(() -> assertThat(lateHello.reads).hasPositiveValue());
+    lateHello.setValue(42);
+
+    waitAndAssertMetric(
+        metricName, metricType, point -> point.hasValue(42).hasAttributes(Attributes.empty()));
+  }
+
   @ParameterizedTest(name = ARGUMENTS_PLACEHOLDER)
   @MethodSource("metricTypes")
   void aggregateMultipleParams(MetricInfo.Type metricType) throws JMException {
@@ -7,7 +7,6 @@ package io.opentelemetry.javaagent.instrumentation.lettuce.v5_1;
 
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasClassesNamed;
 import static java.util.Arrays.asList;
-import static java.util.Collections.singletonList;
 
 import com.google.auto.service.AutoService;
 import io.opentelemetry.javaagent.bootstrap.internal.AgentCommonConfig;
@@ -43,7 +42,9 @@ public class LettuceInstrumentationModule extends InstrumentationModule {
 
   @Override
   public List<String> injectedClassNames() {
-    return singletonList("io.lettuce.core.protocol.OtelCommandArgsUtil");
+    return asList(
+        "io.lettuce.core.protocol.OtelCommandArgsUtil",
+        "io.lettuce.core.protocol.OtelCommandArgsUtil$LazyArgs");
   }
 
   @Override
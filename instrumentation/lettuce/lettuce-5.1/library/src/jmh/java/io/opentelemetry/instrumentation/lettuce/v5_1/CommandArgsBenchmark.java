@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.lettuce.v5_1;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.OtelCommandArgsUtil;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.RedisCommandSanitizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class CommandArgsBenchmark {
+
+  private static final String LARGE_VALUE = largeValue(2 * 1024 * 1024);
+
+  private static final CommandArgs<String, String> SET_ARGS =
+      new CommandArgs<>(StringCodec.UTF8).addKey("key").addValue(LARGE_VALUE);
+  private static final CommandArgs<String, String> HSET_ARGS =
+      new CommandArgs<>(StringCodec.UTF8).addKey("hash").add("field").addValue(LARGE_VALUE);
+  private static final CommandArgs<String, String> MSET_ARGS =
+      new CommandArgs<>(StringCodec.UTF8)
+          .addKey("key1")
+          .addValue(LARGE_VALUE)
+          .addKey("key2")
+          .addValue(LARGE_VALUE);
+
+  private final RedisCommandSanitizer sanitizer = RedisCommandSanitizer.create(true);
+
+  private static String largeValue(int length) {
+    StringBuilder value = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      value.append((char) ('a' + i % 26));
+    }
+    return value.toString();
+  }
+
+  @Benchmark
+  public String set() {
+    return sanitizer.sanitize("SET", OtelCommandArgsUtil.getCommandArgs(SET_ARGS));
+  }
+
+  @Benchmark
+  public String hset() {
+    return sanitizer.sanitize("HSET", OtelCommandArgsUtil.getCommandArgs(HSET_ARGS));
+  }
+
+  @Benchmark
+  public String mset() {
+    return sanitizer.sanitize("MSET", OtelCommandArgsUtil.getCommandArgs(MSET_ARGS));
+  }
+}
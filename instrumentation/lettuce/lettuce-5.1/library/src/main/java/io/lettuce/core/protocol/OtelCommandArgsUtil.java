@@ -10,7 +10,7 @@ import io.lettuce.core.protocol.CommandArgs.KeyArgument;
 import io.lettuce.core.protocol.CommandArgs.SingularArgument;
 import io.lettuce.core.protocol.CommandArgs.ValueArgument;
 import io.opentelemetry.instrumentation.lettuce.common.LettuceArgSplitter;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 
 // Helper class for accessing package private fields in CommandArgs and its inner classes.
@@ -20,15 +20,13 @@ public final class OtelCommandArgsUtil {
   /**
    * Extract argument {@link List} from {@link CommandArgs} so that we wouldn't need to parse them
    * from command {@link String} with {@link LettuceArgSplitter#splitArgs}.
+   *
+   * <p>Arguments are decoded into strings only when they are read from the returned list, so that
+   * arguments which are masked by the command sanitizer, typically values that can be arbitrarily
+   * large, are never encoded and decoded.
    */
   public static List<String> getCommandArgs(CommandArgs<?, ?> commandArgs) {
-    List<String> result = new ArrayList<>();
-
-    for (SingularArgument argument : commandArgs.singularArguments) {
-      String value = getArgValue(StringCodec.UTF8, argument);
-      result.add(value);
-    }
-    return result;
+    return new LazyArgs(commandArgs.singularArguments.toArray(new SingularArgument[0]));
   }
 
   @SuppressWarnings("unchecked") // type is checked before casting
@@ -44,5 +42,31 @@ public final class OtelCommandArgsUtil {
     return argument.toString();
   }
 
+  private static final class LazyArgs extends AbstractList<String> {
+
+    private final SingularArgument[] arguments;
+    private final String[] values;
+
+    LazyArgs(SingularArgument[] arguments) {
+      this.arguments = arguments;
+      this.values = new String[arguments.length];
+    }
+
+    @Override
+    public String get(int index) {
+      String value = values[index];
+      if (value == null) {
+        value = getArgValue(StringCodec.UTF8, arguments[index]);
+        values[index] = value;
+      }
+      return value;
+    }
+
+    @Override
+    public int size() {
+      return arguments.length;
+    }
+  }
+
   private OtelCommandArgsUtil() {}
 }
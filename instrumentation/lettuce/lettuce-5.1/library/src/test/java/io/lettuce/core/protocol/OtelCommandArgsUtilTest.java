@@ -0,0 +1,86 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.lettuce.core.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class OtelCommandArgsUtilTest {
+
+  @Test
+  void decodesArgumentsOnlyWhenRead() {
+    CountingCodec codec = new CountingCodec();
+    CommandArgs<String, String> commandArgs =
+        new CommandArgs<>(codec).addKey("key").addValue("value").add("EX").add(10);
+
+    List<String> args = OtelCommandArgsUtil.getCommandArgs(commandArgs);
+
+    assertThat(args).hasSize(4);
+    assertThat(codec.encodedKeys).isZero();
+    assertThat(codec.encodedValues).isZero();
+
+    assertThat(args.get(0)).isEqualTo("key");
+    assertThat(args.get(0)).isEqualTo("key");
+    assertThat(codec.encodedKeys).isEqualTo(1);
+    assertThat(codec.encodedValues).isZero();
+
+    assertThat(args.get(1)).isEqualTo("value");
+    assertThat(codec.encodedValues).isEqualTo(1);
+  }
+
+  @Test
+  void matchesEagerlyDecodedArguments() {
+    CommandArgs<String, String> commandArgs =
+        new CommandArgs<>(StringCodec.UTF8)
+            .addKey("key")
+            .addValue("value with spaces")
+            .add("NX")
+            .add(-1)
+            .addKey("other-key");
+
+    List<String> args = OtelCommandArgsUtil.getCommandArgs(commandArgs);
+
+    // the arguments that were returned when all of them were decoded up front
+    assertThat(args.size()).isEqualTo(5);
+    assertThat(args.get(1)).isEqualTo("value with spaces");
+    assertThat(args.get(3)).isEqualTo("-1");
+    assertThat(args).containsExactly("key", "value with spaces", "NX", "-1", "other-key");
+    assertThat(OtelCommandArgsUtil.getCommandArgs(new CommandArgs<>(StringCodec.UTF8))).isEmpty();
+  }
+
+  private static final class CountingCodec implements RedisCodec<String, String> {
+
+    private int encodedKeys;
+    private int encodedValues;
+
+    @Override
+    public String decodeKey(ByteBuffer bytes) {
+      return StringCodec.UTF8.decodeKey(bytes);
+    }
+
+    @Override
+    public String decodeValue(ByteBuffer bytes) {
+      return StringCodec.UTF8.decodeValue(bytes);
+    }
+
+    @Override
+    public ByteBuffer encodeKey(String key) {
+      encodedKeys++;
+      return StringCodec.UTF8.encodeKey(key);
+    }
+
+    @Override
+    public ByteBuffer encodeValue(String value) {
+      encodedValues++;
+      return StringCodec.UTF8.encodeValue(value);
+    }
+  }
+}
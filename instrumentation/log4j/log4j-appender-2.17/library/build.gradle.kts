@@ -1,5 +1,6 @@
 plugins {
   id("otel.library-instrumentation")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -17,6 +18,9 @@ dependencies {
     testCompileOnly("biz.aQute.bnd:biz.aQute.bnd.annotation:7.0.0")
     testCompileOnly("com.google.errorprone:error_prone_annotations")
   }
+
+  jmhImplementation("org.apache.logging.log4j:log4j-core:2.17.0")
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk")
 }
 
 tasks {
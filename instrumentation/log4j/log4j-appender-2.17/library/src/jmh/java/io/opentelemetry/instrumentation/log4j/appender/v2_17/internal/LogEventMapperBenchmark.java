@@ -0,0 +1,100 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.log4j.appender.v2_17.internal;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class LogEventMapperBenchmark {
+
+  private static final Logger logger = SdkLoggerProvider.builder().build().get("benchmark");
+
+  private static final LogEventMapper<Map<String, String>> withoutCodeAttributes =
+      createMapper(false);
+  private static final LogEventMapper<Map<String, String>> withCodeAttributes = createMapper(true);
+
+  private static final Message message = new ParameterizedMessage("log message");
+  private static final StackTraceElement source =
+      new StackTraceElement("com.example.OrderService", "placeOrder", "OrderService.java", 42);
+
+  private static LogEventMapper<Map<String, String>> createMapper(boolean captureCodeAttributes) {
+    return new LogEventMapper<>(
+        MapContextDataAccessor.INSTANCE,
+        false,
+        captureCodeAttributes,
+        null,
+        false,
+        false,
+        false,
+        null,
+        false);
+  }
+
+  @Benchmark
+  public void withoutCodeAttributes() {
+    emit(withoutCodeAttributes);
+  }
+
+  @Benchmark
+  public void withCodeAttributes() {
+    emit(withCodeAttributes);
+  }
+
+  private static void emit(LogEventMapper<Map<String, String>> mapper) {
+    LogRecordBuilder builder = logger.logRecordBuilder();
+    mapper.mapLogEvent(
+        builder,
+        message,
+        Level.INFO,
+        null,
+        null,
+        Collections.emptyMap(),
+        "main",
+        1,
+        () -> source,
+        Context.root());
+    builder.emit();
+  }
+
+  private enum MapContextDataAccessor implements ContextDataAccessor<Map<String, String>> {
+    INSTANCE;
+
+    @Override
+    public String getValue(Map<String, String> contextData, String key) {
+      return contextData.get(key);
+    }
+
+    @Override
+    public void forEach(Map<String, String> contextData, BiConsumer<String, String> action) {
+      contextData.forEach(action);
+    }
+  }
+}
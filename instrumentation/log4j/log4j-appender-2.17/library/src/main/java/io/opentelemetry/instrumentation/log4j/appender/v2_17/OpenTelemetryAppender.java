@@ -15,6 +15,7 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.incubator.config.DeclarativeConfigProperties;
 import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.api.logs.LoggerProvider;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.TraceFlags;
@@ -23,6 +24,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.config.IncludeExclude;
 import io.opentelemetry.instrumentation.api.incubator.config.internal.DeclarativeConfigUtil;
 import io.opentelemetry.instrumentation.api.incubator.config.internal.SelectorConfig;
+import io.opentelemetry.instrumentation.api.internal.LogRecordReplayBuffer;
 import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.ContextDataAccessor;
 import io.opentelemetry.instrumentation.log4j.appender.v2_17.internal.LogEventMapper;
 import io.opentelemetry.instrumentation.log4j.contextdata.v2_17.internal.ContextDataKeys;
@@ -33,6 +35,7 @@ import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -71,7 +74,8 @@ public class OpenTelemetryAppender extends AbstractAppender {
   @Nullable private volatile OpenTelemetry openTelemetry;
 
   private final BlockingQueue<LogEventToReplay> eventsToReplay;
-  private final AtomicBoolean replayLimitWarningLogged = new AtomicBoolean();
+  @Nullable private final LogRecordReplayBuffer replayBuffer;
+  private final AtomicLong droppedLogsBeforeOtelInstall = new AtomicLong();
   private final AtomicBoolean legacyContextDataWarningLogged = new AtomicBoolean();
   private final ReadWriteLock lock = new ReentrantReadWriteLock();
   private final boolean captureCodeAttributes;
@@ -129,6 +133,7 @@ public class OpenTelemetryAppender extends AbstractAppender {
     @Nullable @PluginBuilderAttribute private String contextDataAttributesExcluded;
     @Nullable private IncludeExclude contextDataAttributes;
     @PluginBuilderAttribute private int numLogsCapturedBeforeOtelInstall;
+    @PluginBuilderAttribute private int numBytesCapturedBeforeOtelInstall;
 
     @Nullable private OpenTelemetry openTelemetry;
 
@@ -363,6 +368,19 @@ public class OpenTelemetryAppender extends AbstractAppender {
       return asBuilder();
     }
 
+    /**
+     * Sets the number of bytes of the buffer used to replay the logs that were emitted prior to
+     * setting the OpenTelemetry instance, see {@link #setNumLogsCapturedBeforeOtelInstall(int)}.
+     * When set, this setting takes precedence, and the logs are kept serialized outside of the heap
+     * instead of as events. They are then mapped when they are captured, so they are replayed
+     * without their context and their exceptions are only kept as attributes.
+     */
+    @CanIgnoreReturnValue
+    public B setNumBytesCapturedBeforeOtelInstall(int numBytesCapturedBeforeOtelInstall) {
+      this.numBytesCapturedBeforeOtelInstall = numBytesCapturedBeforeOtelInstall;
+      return asBuilder();
+    }
+
     /** Configures the {@link OpenTelemetry} used to append logs. */
     @CanIgnoreReturnValue
     public B setOpenTelemetry(OpenTelemetry openTelemetry) {
@@ -387,6 +405,7 @@ public class OpenTelemetryAppender extends AbstractAppender {
           captureArguments,
           getEffectiveContextDataAttributes(),
           numLogsCapturedBeforeOtelInstall,
+          numBytesCapturedBeforeOtelInstall,
           openTelemetry);
     }
 
@@ -438,6 +457,7 @@ public class OpenTelemetryAppender extends AbstractAppender {
       boolean captureArguments,
       @Nullable Predicate<String> contextDataAttributes,
       int numLogsCapturedBeforeOtelInstall,
+      int numBytesCapturedBeforeOtelInstall,
       @Nullable OpenTelemetry openTelemetry) {
     super(name, filter, layout, ignoreExceptions, properties);
 
@@ -463,6 +483,11 @@ public class OpenTelemetryAppender extends AbstractAppender {
     } else {
       this.eventsToReplay = new ArrayBlockingQueue<>(1000);
     }
+    this.replayBuffer =
+        numBytesCapturedBeforeOtelInstall > 0
+            ? new LogRecordReplayBuffer(
+                numBytesCapturedBeforeOtelInstall, this::onLogDroppedBeforeOtelInstall)
+            : null;
   }
 
   private static List<String> splitAndFilterBlanksAndNulls(@Nullable String value) {
@@ -500,14 +525,17 @@ public class OpenTelemetryAppender extends AbstractAppender {
    * Configures the {@link OpenTelemetry} used to append logs. This MUST be called for the appender
    * to function. See {@link #install(OpenTelemetry)} for simple installation option.
    */
+  @SuppressWarnings("SystemOut")
   public void setOpenTelemetry(OpenTelemetry openTelemetry) {
     List<LogEventToReplay> eventsToReplay = new ArrayList<>();
+    long droppedLogs;
     Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
       // minimize scope of write lock
       this.openTelemetry = openTelemetry;
       this.eventsToReplay.drainTo(eventsToReplay);
+      droppedLogs = droppedLogsBeforeOtelInstall.getAndSet(0);
     } finally {
       writeLock.unlock();
     }
@@ -515,6 +543,16 @@ public class OpenTelemetryAppender extends AbstractAppender {
     for (LogEventToReplay eventToReplay : eventsToReplay) {
       emit(openTelemetry, eventToReplay);
     }
+    // no log is added to the buffer anymore once the OpenTelemetry instance is set
+    if (replayBuffer != null) {
+      replayBuffer.replay(openTelemetry.getLogsBridge());
+    }
+    if (droppedLogs > 0) {
+      System.err.println(
+          droppedLogs
+              + " logs captured before the OpenTelemetry instance was set were dropped by the"
+              + " OpenTelemetry appender.");
+    }
   }
 
   private void resetAppenderForTest() {
@@ -523,14 +561,16 @@ public class OpenTelemetryAppender extends AbstractAppender {
     try {
       openTelemetry = null;
       eventsToReplay.clear();
-      replayLimitWarningLogged.set(false);
+      if (replayBuffer != null) {
+        replayBuffer.clear();
+      }
+      droppedLogsBeforeOtelInstall.set(0);
       legacyContextDataWarningLogged.set(false);
     } finally {
       writeLock.unlock();
     }
   }
 
-  @SuppressWarnings("SystemOut")
   @Override
   public void append(LogEvent event) {
     OpenTelemetry openTelemetry = this.openTelemetry;
@@ -549,28 +589,55 @@ public class OpenTelemetryAppender extends AbstractAppender {
         return;
       }
 
+      if (replayBuffer != null) {
+        // the buffer keeps the mapped log record instead of the event
+        emit(replayBuffer, event, event.getContextData(), Context.current());
+        return;
+      }
+
       LogEventToReplay logEventToReplay = new LogEventToReplay(event, captureCodeAttributes);
 
-      if (!eventsToReplay.offer(logEventToReplay) && !replayLimitWarningLogged.getAndSet(true)) {
-        String message =
-            "numLogsCapturedBeforeOtelInstall value of the OpenTelemetry appender is too small.";
-        System.err.println(message);
+      if (!eventsToReplay.offer(logEventToReplay)) {
+        onLogDroppedBeforeOtelInstall();
       }
     } finally {
       readLock.unlock();
     }
   }
 
+  @SuppressWarnings("SystemOut")
+  private void onLogDroppedBeforeOtelInstall() {
+    if (droppedLogsBeforeOtelInstall.getAndIncrement() == 0) {
+      String setting =
+          replayBuffer != null
+              ? "numBytesCapturedBeforeOtelInstall"
+              : "numLogsCapturedBeforeOtelInstall";
+      String message = setting + " value of the OpenTelemetry appender is too small.";
+      System.err.println(message);
+    }
+  }
+
   private void emit(OpenTelemetry openTelemetry, LogEvent event) {
+    ReadOnlyStringMap contextData = event.getContextData();
+    emit(
+        openTelemetry.getLogsBridge(),
+        event,
+        contextData,
+        getContext(openTelemetry, event, contextData));
+  }
+
+  private void emit(
+      LoggerProvider loggerProvider,
+      LogEvent event,
+      ReadOnlyStringMap contextData,
+      Context context) {
     String instrumentationName = event.getLoggerName();
     if (instrumentationName == null || instrumentationName.isEmpty()) {
       instrumentationName = "ROOT";
     }
 
     LogRecordBuilder builder =
-        openTelemetry.getLogsBridge().loggerBuilder(instrumentationName).build().logRecordBuilder();
-    ReadOnlyStringMap contextData = event.getContextData();
-    Context context = getContext(openTelemetry, event, contextData);
+        loggerProvider.loggerBuilder(instrumentationName).build().logRecordBuilder();
 
     mapper.mapLogEvent(
         builder,
@@ -15,6 +15,8 @@ import static io.opentelemetry.semconv.OtelAttributes.OTEL_EVENT_NAME;
 import static java.util.stream.Collectors.toList;
 
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.context.Context;
@@ -50,6 +52,9 @@ public final class LogEventMapper<T> {
       Cache.bounded(100);
   private final Cache<String, AttributeKey<String>> mapMessageAttributeKeyCache =
       Cache.bounded(100);
+  // logs are usually made from a limited number of call sites, which have equal sources
+  private static final Cache<StackTraceElement, Attributes> codeAttributesCache =
+      Cache.bounded(1000);
 
   private static final AttributeKey<String> LOG_MARKER = stringKey("log4j.marker");
   private static final AttributeKey<String> LOG_BODY_TEMPLATE = stringKey("log.body.template");
@@ -153,37 +158,43 @@ public final class LogEventMapper<T> {
     if (captureCodeAttributes) {
       StackTraceElement source = sourceSupplier.get();
       if (source != null) {
-        String fileName = source.getFileName();
-        if (emitStableCodeSemconv()) {
-          builder.setAttribute(CODE_FILE_PATH, fileName);
-        }
-        if (emitOldCodeSemconv()) {
-          builder.setAttribute(CODE_FILEPATH, fileName);
-        }
-        if (emitStableCodeSemconv()) {
-          builder.setAttribute(
-              CODE_FUNCTION_NAME, source.getClassName() + "." + source.getMethodName());
-        }
-        if (emitOldCodeSemconv()) {
-          builder.setAttribute(CODE_NAMESPACE, source.getClassName());
-          builder.setAttribute(CODE_FUNCTION, source.getMethodName());
-        }
-
-        int lineNumber = source.getLineNumber();
-        if (lineNumber > 0) {
-          if (emitStableCodeSemconv()) {
-            builder.setAttribute(CODE_LINE_NUMBER, (long) lineNumber);
-          }
-          if (emitOldCodeSemconv()) {
-            builder.setAttribute(CODE_LINENO, (long) lineNumber);
-          }
-        }
+        builder.setAllAttributes(getCodeAttributes(source));
       }
     }
 
     builder.setContext(context);
   }
 
+  private static Attributes getCodeAttributes(StackTraceElement source) {
+    return codeAttributesCache.computeIfAbsent(source, LogEventMapper::createCodeAttributes);
+  }
+
+  private static Attributes createCodeAttributes(StackTraceElement source) {
+    AttributesBuilder attributes = Attributes.builder();
+    String fileName = source.getFileName();
+    int lineNumber = source.getLineNumber();
+    if (emitStableCodeSemconv()) {
+      if (fileName != null) {
+        attributes.put(CODE_FILE_PATH, fileName);
+      }
+      attributes.put(CODE_FUNCTION_NAME, source.getClassName() + "." + source.getMethodName());
+      if (lineNumber > 0) {
+        attributes.put(CODE_LINE_NUMBER, (long) lineNumber);
+      }
+    }
+    if (emitOldCodeSemconv()) {
+      if (fileName != null) {
+        attributes.put(CODE_FILEPATH, fileName);
+      }
+      attributes.put(CODE_NAMESPACE, source.getClassName());
+      attributes.put(CODE_FUNCTION, source.getMethodName());
+      if (lineNumber > 0) {
+        attributes.put(CODE_LINENO, (long) lineNumber);
+      }
+    }
+    return attributes.build();
+  }
+
   // visible for testing
   void captureMessage(LogRecordBuilder builder, Message message) {
     if (message == null) {
@@ -6,10 +6,17 @@
 package io.opentelemetry.instrumentation.log4j.appender.v2_17.internal;
 
 import static io.opentelemetry.api.common.AttributeKey.stringArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.longKey;
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.instrumentation.api.internal.SemconvStability.emitOldCodeSemconv;
+import static io.opentelemetry.instrumentation.api.internal.SemconvStability.emitStableCodeSemconv;
+import static io.opentelemetry.semconv.CodeAttributes.CODE_FILE_PATH;
+import static io.opentelemetry.semconv.CodeAttributes.CODE_FUNCTION_NAME;
+import static io.opentelemetry.semconv.CodeAttributes.CODE_LINE_NUMBER;
 import static io.opentelemetry.semconv.incubating.UserIncubatingAttributes.USER_NAME;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -19,6 +26,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.config.IncludeExclude;
@@ -33,6 +41,7 @@ import org.apache.logging.log4j.message.StructuredDataMessage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 
 class LogEventMapperTest {
 
@@ -465,6 +474,67 @@ class LogEventMapperTest {
     verify(builder, never()).setAttribute(eq(stringArrayKey("log.body.parameters")), any());
   }
 
+  @Test
+  void testCodeAttributesOfCallSitesSharingMethodNameOrLine() {
+    // given
+    LogEventMapper<Map<String, String>> mapper =
+        new LogEventMapper<>(
+            ContextDataAccessorImpl.INSTANCE, false, true, null, false, false, false, null, false);
+    StackTraceElement[] sources = {
+      new StackTraceElement("com.example.OrderService", "handle", "OrderService.java", 10),
+      new StackTraceElement("com.example.UserService", "handle", "UserService.java", 10),
+      new StackTraceElement("com.example.OrderService", "handle", "OrderService.java", 20),
+      new StackTraceElement("com.example.OrderService", "cancel", "OrderService.java", 10),
+      new StackTraceElement("com.example.OrderService", "handle", null, -1),
+    };
+
+    // when logging twice from each call site, the second time from the cached attributes
+    for (int i = 0; i < 2; i++) {
+      for (StackTraceElement source : sources) {
+        LogRecordBuilder builder = mock(LogRecordBuilder.class);
+        mapper.mapLogEvent(
+            builder,
+            new ParameterizedMessage("hello"),
+            Level.INFO,
+            null,
+            null,
+            new HashMap<>(),
+            "main",
+            1,
+            () -> source,
+            Context.root());
+
+        // then
+        ArgumentCaptor<Attributes> attributes = ArgumentCaptor.forClass(Attributes.class);
+        verify(builder).setAllAttributes(attributes.capture());
+        assertCodeAttributes(attributes.getValue(), source);
+      }
+    }
+  }
+
+  private static void assertCodeAttributes(Attributes attributes, StackTraceElement source) {
+    String fileName = source.getFileName();
+    Long lineNumber = source.getLineNumber() > 0 ? (long) source.getLineNumber() : null;
+    // the file path and line number are only added when they are known
+    int optionalAttributes = (fileName != null ? 1 : 0) + (lineNumber != null ? 1 : 0);
+    int size = 0;
+    if (emitStableCodeSemconv()) {
+      assertThat(attributes.get(CODE_FILE_PATH)).isEqualTo(fileName);
+      assertThat(attributes.get(CODE_FUNCTION_NAME))
+          .isEqualTo(source.getClassName() + "." + source.getMethodName());
+      assertThat(attributes.get(CODE_LINE_NUMBER)).isEqualTo(lineNumber);
+      size += 1 + optionalAttributes;
+    }
+    if (emitOldCodeSemconv()) {
+      assertThat(attributes.get(stringKey("code.filepath"))).isEqualTo(fileName);
+      assertThat(attributes.get(stringKey("code.namespace"))).isEqualTo(source.getClassName());
+      assertThat(attributes.get(stringKey("code.function"))).isEqualTo(source.getMethodName());
+      assertThat(attributes.get(longKey("code.lineno"))).isEqualTo(lineNumber);
+      size += 2 + optionalAttributes;
+    }
+    assertThat(attributes.size()).isEqualTo(size);
+  }
+
   private static Predicate<String> include(String... patterns) {
     return IncludeExclude.builder().setIncluded(asList(patterns)).build()::matches;
   }
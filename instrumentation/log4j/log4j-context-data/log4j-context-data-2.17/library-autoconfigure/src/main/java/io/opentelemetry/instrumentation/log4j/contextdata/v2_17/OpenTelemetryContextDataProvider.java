@@ -19,8 +19,13 @@ import io.opentelemetry.instrumentation.log4j.contextdata.v2_17.internal.Context
 import io.opentelemetry.javaagent.bootstrap.internal.ConfiguredResourceAttributesHolder;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
 import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.impl.JdkMapAdapterStringMap;
 import org.apache.logging.log4j.core.util.ContextDataProvider;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
 
 /**
  * Implementation of Log4j 2's {@link ContextDataProvider} which is loaded via SPI. {@link
@@ -31,6 +36,7 @@ public final class OpenTelemetryContextDataProvider implements ContextDataProvid
   private static final boolean configuredResourceAttributeAccessible =
       isConfiguredResourceAttributeAccessible();
   private static final Map<String, String> staticContextData = getStaticContextData();
+  private static final StringMap emptyStringMap = frozenStringMap(emptyMap());
 
   private static Map<String, String> getStaticContextData() {
     if (configuredResourceAttributeAccessible) {
@@ -64,38 +70,74 @@ public final class OpenTelemetryContextDataProvider implements ContextDataProvid
    */
   @Override
   public Map<String, String> supplyContextData() {
+    Map<String, String> contextData = currentContextData(HashMap::new, Map::put);
+    return contextData != null ? contextData : staticContextData;
+  }
+
+  /**
+   * Returns the same context data as {@link #supplyContextData()} as a frozen {@link StringMap},
+   * which log4j copies from without wrapping it first.
+   */
+  @Override
+  public StringMap supplyStringMap() {
+    StringMap contextData = currentContextData(SortedArrayStringMap::new, StringMap::putValue);
+    if (contextData != null) {
+      contextData.freeze();
+      return contextData;
+    }
+    // resource attributes may still be added to staticContextData after this class is initialized
+    return staticContextData.isEmpty()
+        ? emptyStringMap
+        : new JdkMapAdapterStringMap(staticContextData);
+  }
+
+  /**
+   * Builds the context data of the current span and baggage into a map created by {@code
+   * mapFactory}, or returns null when only the static context data applies.
+   */
+  @Nullable
+  private static <T> T currentContextData(IntFunction<T> mapFactory, MapSetter<T> setter) {
     Context context = Context.current();
     SpanContext spanContext = Span.fromContext(context).getSpanContext();
     Baggage baggage = Baggage.fromContext(context);
     // checking baggage.isEmpty() first to avoid initializing Configuration when possible
     boolean addBaggage = !baggage.isEmpty() && Configuration.baggageEnabled;
     if (!spanContext.isValid() && !addBaggage) {
-      return staticContextData;
+      return null;
     }
 
     ContextDataKeys contextDataKeys = Configuration.contextDataKeys;
     if (ThreadContext.containsKey(contextDataKeys.getTraceIdKey())) {
       // Assume already instrumented event if traceId is present.
-      return staticContextData;
+      return null;
     }
 
-    Map<String, String> contextData = new HashMap<>(staticContextData);
+    T contextData =
+        mapFactory.apply(staticContextData.size() + 3 + (addBaggage ? baggage.size() : 0));
+    staticContextData.forEach((key, value) -> setter.put(contextData, key, value));
     if (spanContext.isValid()) {
-      contextData.put(contextDataKeys.getTraceIdKey(), spanContext.getTraceId());
-      contextData.put(contextDataKeys.getSpanIdKey(), spanContext.getSpanId());
-      contextData.put(contextDataKeys.getTraceFlagsKey(), spanContext.getTraceFlags().asHex());
+      setter.put(contextData, contextDataKeys.getTraceIdKey(), spanContext.getTraceId());
+      setter.put(contextData, contextDataKeys.getSpanIdKey(), spanContext.getSpanId());
+      setter.put(
+          contextData, contextDataKeys.getTraceFlagsKey(), spanContext.getTraceFlags().asHex());
     }
 
     if (addBaggage) {
       for (Map.Entry<String, BaggageEntry> entry : baggage.asMap().entrySet()) {
         // prefix all baggage values to avoid clashes with existing context
-        contextData.put("baggage." + entry.getKey(), entry.getValue().getValue());
+        setter.put(contextData, "baggage." + entry.getKey(), entry.getValue().getValue());
       }
     }
 
     return contextData;
   }
 
+  private static StringMap frozenStringMap(Map<String, String> map) {
+    StringMap stringMap = new SortedArrayStringMap(map);
+    stringMap.freeze();
+    return stringMap;
+  }
+
   private static class Configuration {
     private static final boolean baggageEnabled =
         DeclarativeConfigUtil.getInstrumentationConfig(
@@ -111,4 +153,9 @@ public final class OpenTelemetryContextDataProvider implements ContextDataProvid
     private static final ContextDataKeys contextDataKeys =
         ContextDataKeys.create(GlobalOpenTelemetry.getOrNoop());
   }
+
+  @FunctionalInterface
+  private interface MapSetter<T> {
+    void put(T map, String key, String value);
+  }
 }
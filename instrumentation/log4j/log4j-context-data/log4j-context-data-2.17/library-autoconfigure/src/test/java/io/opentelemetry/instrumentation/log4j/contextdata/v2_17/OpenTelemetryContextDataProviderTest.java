@@ -0,0 +1,52 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.log4j.contextdata.v2_17;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.Map;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.jupiter.api.Test;
+
+class OpenTelemetryContextDataProviderTest {
+
+  private static final String TRACE_ID = "ff01020304050600ff0a0b0c0d0e0f00";
+
+  private final OpenTelemetryContextDataProvider provider = new OpenTelemetryContextDataProvider();
+
+  @Test
+  void suppliesContextDataOfCurrentSpan() {
+    try (Scope ignored = makeCurrent("090a0b0c0d0e0f00")) {
+      Map<String, String> contextData = provider.supplyContextData();
+      StringMap stringMap = provider.supplyStringMap();
+
+      assertThat(contextData).containsValues(TRACE_ID, "090a0b0c0d0e0f00");
+      assertThat(stringMap.toMap()).isEqualTo(contextData);
+      assertThat(stringMap.isFrozen()).isTrue();
+    }
+
+    try (Scope ignored = makeCurrent("0102030405060708")) {
+      assertThat(provider.supplyContextData()).containsValues(TRACE_ID, "0102030405060708");
+      assertThat(provider.supplyStringMap().toMap()).containsValues(TRACE_ID, "0102030405060708");
+    }
+
+    // nothing of the previous spans is retained
+    assertThat(provider.supplyContextData()).doesNotContainValue(TRACE_ID);
+    assertThat(provider.supplyStringMap().toMap()).doesNotContainValue(TRACE_ID);
+  }
+
+  private static Scope makeCurrent(String spanId) {
+    SpanContext spanContext =
+        SpanContext.create(TRACE_ID, spanId, TraceFlags.getSampled(), TraceState.getDefault());
+    return Context.root().with(Span.wrap(spanContext)).makeCurrent();
+  }
+}
@@ -1,6 +1,7 @@
 plugins {
   id("otel.library-instrumentation")
   id("otel.osgi-conventions")
+  id("otel.jmh-conventions")
   id("org.graalvm.buildtools.native")
 }
 
@@ -59,6 +60,18 @@ dependencies {
 
   testImplementation(project(":instrumentation:logback:logback-appender-1.0:testing"))
   testImplementation("io.opentelemetry:opentelemetry-sdk-testing")
+
+  jmhImplementation("ch.qos.logback:logback-classic") {
+    version {
+      strictly("1.3.0")
+    }
+  }
+  jmhImplementation("org.slf4j:slf4j-api") {
+    version {
+      strictly("2.0.0")
+    }
+  }
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk")
 }
 
 graalvmNative {
@@ -0,0 +1,66 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0.internal;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.opentelemetry.api.logs.LoggerProvider;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import java.util.Collections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class LoggingEventMapperBenchmark {
+
+  private static final LoggerProvider loggerProvider = SdkLoggerProvider.builder().build();
+
+  private static final LoggingEventMapper withoutCodeAttributes =
+      LoggingEventMapper.builder().setCaptureCodeAttributes(false).build();
+  private static final LoggingEventMapper withCodeAttributes =
+      LoggingEventMapper.builder().setCaptureCodeAttributes(true).build();
+
+  private static final LoggingEvent event = createEvent();
+
+  private static LoggingEvent createEvent() {
+    LoggingEvent event = new LoggingEvent();
+    event.setLoggerName("benchmark");
+    event.setLevel(Level.INFO);
+    event.setMessage("log message");
+    event.setTimeStamp(System.currentTimeMillis());
+    event.setThreadName("main");
+    event.setMDCPropertyMap(Collections.emptyMap());
+    event.setCallerData(
+        new StackTraceElement[] {
+          new StackTraceElement("com.example.OrderService", "placeOrder", "OrderService.java", 42)
+        });
+    return event;
+  }
+
+  @Benchmark
+  public void withoutCodeAttributes() {
+    withoutCodeAttributes.emit(loggerProvider, event, -1);
+  }
+
+  @Benchmark
+  public void withCodeAttributes() {
+    withCodeAttributes.emit(loggerProvider, event, -1);
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * Emits log events on a dedicated worker thread. Logging threads only add a snapshot of the event
+ * to a bounded, lock-free ring buffer, from which the worker thread takes the events in batches to
+ * map and emit them.
+ *
+ * <p>When the ring buffer is full, events are dropped and counted, unless the emitter was created
+ * to block, in which case the logging thread waits until the worker thread makes room. Once the
+ * emitter is stopped, events that are still added are emitted on the logging thread.
+ */
+final class AsyncLogEmitter {
+
+  private static final int MAX_BATCH_SIZE = 512;
+  private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+  private static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+  // a slot can be written at position p when its sequence is p, and read when it is p + 1
+  private final AtomicReferenceArray<AsyncLoggingEvent> buffer;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  // only accessed while holding the lock of this emitter, by the worker thread and, once stopped,
+  // by the logging threads
+  private long head;
+
+  private final boolean blockWhenFull;
+  private final Consumer<AsyncLoggingEvent> emitter;
+  private final Runnable onFirstDrop;
+  private final Consumer<Throwable> onEmitFailure;
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final Thread worker;
+  private volatile boolean workerWaiting;
+  private volatile boolean stopped;
+
+  AsyncLogEmitter(
+      String name,
+      int capacity,
+      boolean blockWhenFull,
+      Consumer<AsyncLoggingEvent> emitter,
+      Runnable onFirstDrop,
+      Consumer<Throwable> onEmitFailure) {
+    int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+    this.buffer = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    this.mask = size - 1;
+    this.blockWhenFull = blockWhenFull;
+    this.emitter = emitter;
+    this.onFirstDrop = onFirstDrop;
+    this.onEmitFailure = onEmitFailure;
+    this.worker = new Thread(this::run, name);
+    worker.setDaemon(true);
+  }
+
+  void start() {
+    worker.start();
+  }
+
+  /** Stops the worker thread after it has emitted the events that were already added. */
+  void stop() {
+    stopped = true;
+    LockSupport.unpark(worker);
+    try {
+      worker.join(STOP_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  void append(AsyncLoggingEvent event) {
+    while (!offer(event)) {
+      if (!blockWhenFull || stopped) {
+        if (droppedCount.getAndIncrement() == 0) {
+          onFirstDrop.run();
+        }
+        return;
+      }
+      LockSupport.unpark(worker);
+      LockSupport.parkNanos(this, FULL_PARK_NANOS);
+    }
+    if (stopped) {
+      // the worker thread may already have emitted its last events
+      emitRemaining();
+    } else if (workerWaiting) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  private boolean offer(AsyncLoggingEvent event) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) position & mask;
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          buffer.lazySet(index, event);
+          // publishes the event to the worker thread
+          sequences.set(index, position + 1);
+          return true;
+        }
+      } else if (difference < 0) {
+        // the slot still holds the event that was added one lap earlier
+        return false;
+      }
+      position = tail.get();
+    }
+  }
+
+  @Nullable
+  private AsyncLoggingEvent poll() {
+    int index = (int) head & mask;
+    if (sequences.get(index) != head + 1) {
+      return null;
+    }
+    AsyncLoggingEvent event = buffer.get(index);
+    buffer.lazySet(index, null);
+    // hands the slot back to the logging threads for the next lap
+    sequences.set(index, head + mask + 1);
+    head++;
+    return event;
+  }
+
+  private boolean isEmpty() {
+    return sequences.get((int) head & mask) != head + 1;
+  }
+
+  private void run() {
+    while (!stopped) {
+      if (emitBatch() == 0) {
+        workerWaiting = true;
+        // checking again after publishing workerWaiting, so that an event that is added
+        // concurrently either is seen here or unparks this thread
+        if (isEmpty() && !stopped) {
+          LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        workerWaiting = false;
+      }
+    }
+    // emit the events that were added before stopping
+    emitRemaining();
+  }
+
+  private void emitRemaining() {
+    int emitted;
+    do {
+      emitted = emitBatch();
+    } while (emitted > 0);
+  }
+
+  private synchronized int emitBatch() {
+    int count = 0;
+    AsyncLoggingEvent event;
+    while (count < MAX_BATCH_SIZE && (event = poll()) != null) {
+      try {
+        emitter.accept(event);
+      } catch (Throwable t) {
+        // keep the worker thread alive, logging threads may be waiting for it to make room
+        onEmitFailure.accept(t);
+      }
+      count++;
+    }
+    return count;
+  }
+}
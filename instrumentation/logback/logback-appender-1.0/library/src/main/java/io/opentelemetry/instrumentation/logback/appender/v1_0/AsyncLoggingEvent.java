@@ -0,0 +1,46 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.opentelemetry.context.Context;
+import java.util.Map;
+
+/**
+ * A log event that is emitted by the {@link AsyncLogEmitter} worker thread. In addition to the
+ * values captured for replay, the MDC and the context are captured, because they are bound to the
+ * logging thread. The remaining values are read from the original event on the worker thread, in
+ * particular the message is formatted there.
+ */
+final class AsyncLoggingEvent extends LoggingEventToReplay {
+
+  private final Map<String, String> mdcPropertyMap;
+  private final Context context;
+
+  AsyncLoggingEvent(
+      ILoggingEvent loggingEvent,
+      boolean captureExperimentalAttributes,
+      boolean captureCodeAttributes) {
+    super(loggingEvent, captureExperimentalAttributes, captureCodeAttributes);
+    this.mdcPropertyMap = loggingEvent.getMDCPropertyMap();
+    this.context = Context.current();
+  }
+
+  @Override
+  public Map<String, String> getMDCPropertyMap() {
+    return mdcPropertyMap;
+  }
+
+  @Override
+  @Deprecated
+  public Map<String, String> getMdc() {
+    return mdcPropertyMap;
+  }
+
+  Context getContext() {
+    return context;
+  }
+}
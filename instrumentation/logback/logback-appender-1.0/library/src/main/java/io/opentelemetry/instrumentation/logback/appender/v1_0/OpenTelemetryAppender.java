@@ -15,6 +15,7 @@ import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.spi.AppenderAttachable;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.instrumentation.api.config.IncludeExclude;
+import io.opentelemetry.instrumentation.api.internal.LogRecordReplayBuffer;
 import io.opentelemetry.instrumentation.logback.appender.v1_0.internal.AttributeSelectors;
 import io.opentelemetry.instrumentation.logback.appender.v1_0.internal.LoggingEventMapper;
 import java.util.ArrayList;
@@ -22,6 +23,7 @@ import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -72,10 +74,17 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
   private int numLogsCapturedBeforeOtelInstall = 1000;
   private BlockingQueue<LoggingEventToReplay> eventsToReplay =
       new ArrayBlockingQueue<>(numLogsCapturedBeforeOtelInstall);
-  private final AtomicBoolean replayLimitWarningLogged = new AtomicBoolean();
+  private int numBytesCapturedBeforeOtelInstall = 0;
+  @Nullable private LogRecordReplayBuffer replayBuffer;
+  private final AtomicLong droppedLogsBeforeOtelInstall = new AtomicLong();
 
   private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+  private boolean async = false;
+  private int asyncQueueSize = 8192;
+  private boolean asyncBlockWhenQueueFull = false;
+  @Nullable private volatile AsyncLogEmitter asyncEmitter;
+
   public OpenTelemetryAppender() {}
 
   /**
@@ -130,9 +139,38 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
             .setLogstashStructuredArgumentAttributes(resolveLogstashStructuredArgumentAttributes())
             .build();
     eventsToReplay = new ArrayBlockingQueue<>(numLogsCapturedBeforeOtelInstall);
+    replayBuffer =
+        numBytesCapturedBeforeOtelInstall > 0
+            ? new LogRecordReplayBuffer(
+                numBytesCapturedBeforeOtelInstall, this::onLogDroppedBeforeOtelInstall)
+            : null;
+    if (async) {
+      asyncEmitter =
+          new AsyncLogEmitter(
+              "OpenTelemetryAppender-Worker-" + getName(),
+              asyncQueueSize,
+              asyncBlockWhenQueueFull,
+              this::emitAsync,
+              () ->
+                  addWarn(
+                      "asyncQueueSize value of the OpenTelemetry appender is too small, logs are"
+                          + " being dropped."),
+              t -> addError("Failed to emit log.", t));
+      asyncEmitter.start();
+    }
     super.start();
   }
 
+  @Override
+  public void stop() {
+    super.stop();
+    AsyncLogEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      asyncEmitter.stop();
+      this.asyncEmitter = null;
+    }
+  }
+
   @Nullable
   private Predicate<String> resolveMdcAttributes() {
     Predicate<String> selector = AttributeSelectors.create(mdcAttributes);
@@ -271,13 +309,12 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     return AttributeSelectors.createDeprecated(captureLogstashStructuredArguments);
   }
 
-  @SuppressWarnings("SystemOut")
   @Override
   protected void append(ILoggingEvent event) {
     OpenTelemetry openTelemetry = this.openTelemetry;
     if (openTelemetry != null) {
       // optimization to avoid locking after the OpenTelemetry instance is set
-      emit(openTelemetry, event);
+      emitOrEnqueue(openTelemetry, event);
       return;
     }
 
@@ -286,23 +323,40 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     try {
       openTelemetry = this.openTelemetry;
       if (openTelemetry != null) {
-        emit(openTelemetry, event);
+        emitOrEnqueue(openTelemetry, event);
+        return;
+      }
+
+      LogRecordReplayBuffer replayBuffer = this.replayBuffer;
+      if (replayBuffer != null) {
+        // the buffer keeps the mapped log record instead of the event
+        mapper.emit(replayBuffer, event, -1);
         return;
       }
 
       LoggingEventToReplay logEventToReplay =
           new LoggingEventToReplay(event, captureExperimentalAttributes, captureCodeAttributes);
 
-      if (!eventsToReplay.offer(logEventToReplay) && !replayLimitWarningLogged.getAndSet(true)) {
-        String message =
-            "numLogsCapturedBeforeOtelInstall value of the OpenTelemetry appender is too small.";
-        System.err.println(message);
+      if (!eventsToReplay.offer(logEventToReplay)) {
+        onLogDroppedBeforeOtelInstall();
       }
     } finally {
       readLock.unlock();
     }
   }
 
+  @SuppressWarnings("SystemOut")
+  private void onLogDroppedBeforeOtelInstall() {
+    if (droppedLogsBeforeOtelInstall.getAndIncrement() == 0) {
+      String setting =
+          numBytesCapturedBeforeOtelInstall > 0
+              ? "numBytesCapturedBeforeOtelInstall"
+              : "numLogsCapturedBeforeOtelInstall";
+      String message = setting + " value of the OpenTelemetry appender is too small.";
+      System.err.println(message);
+    }
+  }
+
   /**
    * Sets whether experimental attributes should be set to logs. These attributes may be changed or
    * removed in the future, so only enable this if you know you do not require attributes filled by
@@ -727,12 +781,58 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     this.numLogsCapturedBeforeOtelInstall = size;
   }
 
+  /**
+   * Sets the number of bytes of the buffer used to replay the first logs, see {@link
+   * #setNumLogsCapturedBeforeOtelInstall(int)}. When set, this setting takes precedence, and the
+   * logs are kept serialized outside of the heap instead of as events. They are then mapped when
+   * they are captured, so they are replayed without their context and their exceptions are only
+   * kept as attributes.
+   */
+  public void setNumBytesCapturedBeforeOtelInstall(int size) {
+    this.numBytesCapturedBeforeOtelInstall = size;
+  }
+
+  /**
+   * Sets whether logs are mapped and emitted on a dedicated thread instead of the logging thread.
+   * The logging thread only captures the values that are bound to it (the timestamp, MDC, context,
+   * and depending on the configuration the thread name and caller data) and adds them to a bounded
+   * queue. The message is formatted on the dedicated thread, so arguments that are modified after
+   * logging may be rendered with their modified value.
+   */
+  public void setAsync(boolean async) {
+    this.async = async;
+  }
+
+  /**
+   * Sets the number of logs that can be queued for the dedicated thread when {@link
+   * #setAsync(boolean)} is enabled. The size is rounded up to a power of two.
+   */
+  public void setAsyncQueueSize(int asyncQueueSize) {
+    this.asyncQueueSize = asyncQueueSize;
+  }
+
+  /**
+   * Sets whether the logging thread waits for room in the queue when {@link #setAsync(boolean)} is
+   * enabled and the queue is full. By default, logs are dropped when the queue is full, see {@link
+   * #getAsyncDroppedLogCount()}.
+   */
+  public void setAsyncBlockWhenQueueFull(boolean asyncBlockWhenQueueFull) {
+    this.asyncBlockWhenQueueFull = asyncBlockWhenQueueFull;
+  }
+
+  /** Returns the number of logs dropped because the queue of the dedicated thread was full. */
+  public long getAsyncDroppedLogCount() {
+    AsyncLogEmitter asyncEmitter = this.asyncEmitter;
+    return asyncEmitter != null ? asyncEmitter.getDroppedCount() : 0;
+  }
+
   /**
    * Configures the {@link OpenTelemetry} used to append logs. This MUST be called for the appender
    * to function. See {@link #install(OpenTelemetry)} for simple installation option.
    */
   public void setOpenTelemetry(OpenTelemetry openTelemetry) {
     List<LoggingEventToReplay> eventsToReplay = new ArrayList<>();
+    long droppedLogs = 0;
     Lock writeLock = lock.writeLock();
     writeLock.lock();
     try {
@@ -741,14 +841,29 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
       // tests set openTelemetry to null, ignore it
       if (openTelemetry != null) {
         this.eventsToReplay.drainTo(eventsToReplay);
+        droppedLogs = droppedLogsBeforeOtelInstall.getAndSet(0);
       }
     } finally {
       writeLock.unlock();
     }
+    if (openTelemetry == null) {
+      return;
+    }
     // now emit
     for (LoggingEventToReplay eventToReplay : eventsToReplay) {
       emit(openTelemetry, eventToReplay);
     }
+    // no log is added to the buffer anymore once the OpenTelemetry instance is set
+    LogRecordReplayBuffer replayBuffer = this.replayBuffer;
+    if (replayBuffer != null) {
+      replayBuffer.replay(openTelemetry.getLogsBridge());
+    }
+    if (droppedLogs > 0) {
+      addWarn(
+          droppedLogs
+              + " logs captured before the OpenTelemetry instance was set were dropped by the"
+              + " OpenTelemetry appender.");
+    }
   }
 
   private void resetAppenderForTest() {
@@ -757,12 +872,34 @@ public class OpenTelemetryAppender extends UnsynchronizedAppenderBase<ILoggingEv
     try {
       openTelemetry = null;
       eventsToReplay.clear();
-      replayLimitWarningLogged.set(false);
+      if (replayBuffer != null) {
+        replayBuffer.clear();
+      }
+      droppedLogsBeforeOtelInstall.set(0);
     } finally {
       writeLock.unlock();
     }
   }
 
+  private void emitOrEnqueue(OpenTelemetry openTelemetry, ILoggingEvent event) {
+    AsyncLogEmitter asyncEmitter = this.asyncEmitter;
+    if (asyncEmitter != null) {
+      asyncEmitter.append(
+          new AsyncLoggingEvent(event, captureExperimentalAttributes, captureCodeAttributes));
+    } else {
+      emit(openTelemetry, event);
+    }
+  }
+
+  private void emitAsync(AsyncLoggingEvent event) {
+    OpenTelemetry openTelemetry = this.openTelemetry;
+    if (openTelemetry == null) {
+      // reset by tests
+      return;
+    }
+    mapper.emit(openTelemetry.getLogsBridge(), event, -1, event.getContext());
+  }
+
   private void emit(OpenTelemetry openTelemetry, ILoggingEvent event) {
     mapper.emit(openTelemetry.getLogsBridge(), event, -1);
   }
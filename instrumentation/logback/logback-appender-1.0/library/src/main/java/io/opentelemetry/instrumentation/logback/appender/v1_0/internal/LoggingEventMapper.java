@@ -20,6 +20,8 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.ThrowableProxy;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.api.logs.LoggerProvider;
 import io.opentelemetry.api.logs.Severity;
@@ -66,6 +68,8 @@ public final class LoggingEventMapper {
   private static final boolean supportsLogstashStructuredArguments =
       supportsLogstashStructuredArguments();
   private static final Cache<String, AttributeKey<String>> attributeKeys = Cache.bounded(100);
+  // logs are usually made from a limited number of call sites, which have equal caller data
+  private static final Cache<StackTraceElement, Attributes> codeAttributes = Cache.bounded(1000);
 
   private static final AttributeKey<List<String>> LOG_MARKER =
       AttributeKey.stringArrayKey("logback.marker");
@@ -103,19 +107,28 @@ public final class LoggingEventMapper {
   }
 
   public void emit(LoggerProvider loggerProvider, ILoggingEvent event, long threadId) {
+    emit(loggerProvider, event, threadId, Context.current());
+  }
+
+  /**
+   * Emits the {@code event} with the given {@code context}, which allows emitting on a different
+   * thread than the one that created the event.
+   */
+  public void emit(
+      LoggerProvider loggerProvider, ILoggingEvent event, long threadId, Context context) {
     String instrumentationName = event.getLoggerName();
     if (instrumentationName == null || instrumentationName.isEmpty()) {
       instrumentationName = "ROOT";
     }
     LogRecordBuilder builder =
         loggerProvider.loggerBuilder(instrumentationName).build().logRecordBuilder();
-    mapLoggingEvent(builder, event, threadId);
+    mapLoggingEvent(builder, event, threadId, context);
     builder.emit();
   }
 
   /** Map the {@link ILoggingEvent} data model onto the {@link LogRecordBuilder}. */
   private void mapLoggingEvent(
-      LogRecordBuilder builder, ILoggingEvent loggingEvent, long threadId) {
+      LogRecordBuilder builder, ILoggingEvent loggingEvent, long threadId, Context context) {
     // message
     String message = loggingEvent.getFormattedMessage();
     if (message != null) {
@@ -159,27 +172,7 @@ public final class LoggingEventMapper {
     if (captureCodeAttributes) {
       StackTraceElement[] callerData = loggingEvent.getCallerData();
       if (callerData != null && callerData.length > 0) {
-        StackTraceElement firstStackElement = callerData[0];
-        String fileName = firstStackElement.getFileName();
-        int lineNumber = firstStackElement.getLineNumber();
-
-        if (emitOldCodeSemconv()) {
-          builder.setAttribute(CODE_FILEPATH, fileName);
-          builder.setAttribute(CODE_NAMESPACE, firstStackElement.getClassName());
-          builder.setAttribute(CODE_FUNCTION, firstStackElement.getMethodName());
-          if (lineNumber > 0) {
-            builder.setAttribute(CODE_LINENO, (long) lineNumber);
-          }
-        }
-        if (emitStableCodeSemconv()) {
-          builder.setAttribute(CODE_FILE_PATH, fileName);
-          builder.setAttribute(
-              CODE_FUNCTION_NAME,
-              firstStackElement.getClassName() + "." + firstStackElement.getMethodName());
-          if (lineNumber > 0) {
-            builder.setAttribute(CODE_LINE_NUMBER, (long) lineNumber);
-          }
-        }
+        builder.setAllAttributes(getCodeAttributes(callerData[0]));
       }
     }
 
@@ -229,7 +222,37 @@ public final class LoggingEventMapper {
       captureOtelEventName(builder, loggingEvent);
     }
     // span context
-    builder.setContext(Context.current());
+    builder.setContext(context);
+  }
+
+  private static Attributes getCodeAttributes(StackTraceElement callSite) {
+    return codeAttributes.computeIfAbsent(callSite, LoggingEventMapper::createCodeAttributes);
+  }
+
+  private static Attributes createCodeAttributes(StackTraceElement callSite) {
+    AttributesBuilder attributes = Attributes.builder();
+    String fileName = callSite.getFileName();
+    int lineNumber = callSite.getLineNumber();
+    if (emitOldCodeSemconv()) {
+      if (fileName != null) {
+        attributes.put(CODE_FILEPATH, fileName);
+      }
+      attributes.put(CODE_NAMESPACE, callSite.getClassName());
+      attributes.put(CODE_FUNCTION, callSite.getMethodName());
+      if (lineNumber > 0) {
+        attributes.put(CODE_LINENO, (long) lineNumber);
+      }
+    }
+    if (emitStableCodeSemconv()) {
+      if (fileName != null) {
+        attributes.put(CODE_FILE_PATH, fileName);
+      }
+      attributes.put(CODE_FUNCTION_NAME, callSite.getClassName() + "." + callSite.getMethodName());
+      if (lineNumber > 0) {
+        attributes.put(CODE_LINE_NUMBER, (long) lineNumber);
+      }
+    }
+    return attributes.build();
   }
 
   // getInstant is available since Logback 1.3
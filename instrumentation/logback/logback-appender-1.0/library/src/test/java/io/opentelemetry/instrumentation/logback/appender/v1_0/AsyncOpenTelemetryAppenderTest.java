@@ -0,0 +1,218 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+class AsyncOpenTelemetryAppenderTest {
+
+  @RegisterExtension
+  private static final LibraryInstrumentationExtension testing =
+      LibraryInstrumentationExtension.create();
+
+  private static final Logger logger = (Logger) LoggerFactory.getLogger("AsyncTestLogger");
+
+  private OpenTelemetryAppender appender;
+
+  @BeforeEach
+  void setup() {
+    appender = new OpenTelemetryAppender();
+    appender.setContext((LoggerContext) LoggerFactory.getILoggerFactory());
+    appender.setName("async");
+    appender.setAsync(true);
+    appender.setMdcAttributesIncluded("key1");
+    appender.start();
+    appender.setOpenTelemetry(testing.getOpenTelemetry());
+    logger.addAppender(appender);
+    logger.setAdditive(false);
+  }
+
+  @AfterEach
+  void cleanup() {
+    logger.detachAppender(appender);
+    logger.setAdditive(true);
+    appender.stop();
+  }
+
+  @Test
+  void emitsWithContextAndMdcOfLoggingThread() {
+    Span span =
+        testing.runWithSpan(
+            "span",
+            () -> {
+              MDC.put("key1", "value1");
+              try {
+                logger.info("log message {}", 1);
+              } finally {
+                MDC.remove("key1");
+              }
+              return Span.current();
+            });
+    logger.info("log message 2");
+
+    testing.waitAndAssertLogRecords(
+        logRecord ->
+            logRecord
+                .hasBody("log message 1")
+                .hasSpanContext(span.getSpanContext())
+                .hasAttributesSatisfyingExactly(equalTo(stringKey("key1"), "value1")),
+        logRecord -> logRecord.hasBody("log message 2").hasTotalAttributeCount(0));
+    assertThat(appender.getAsyncDroppedLogCount()).isZero();
+  }
+
+  @Test
+  void dropsLogsWhenQueueIsFull() {
+    List<AsyncLoggingEvent> emitted = new ArrayList<>();
+    AtomicInteger dropWarnings = new AtomicInteger();
+    // not started, so that nothing is taken from the queue
+    AsyncLogEmitter emitter =
+        new AsyncLogEmitter(
+            "test",
+            2,
+            false,
+            emitted::add,
+            dropWarnings::incrementAndGet,
+            t -> {
+              throw new AssertionError(t);
+            });
+
+    for (int i = 0; i < 5; i++) {
+      emitter.append(new AsyncLoggingEvent(new LoggingEvent(), false, false));
+    }
+
+    assertThat(emitter.getDroppedCount()).isEqualTo(3);
+    assertThat(dropWarnings).hasValue(1);
+    assertThat(emitted).isEmpty();
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void concurrentProducersOnSmallQueue(boolean blockWhenFull) throws InterruptedException {
+    int producers = 4;
+    int eventsPerProducer = 2_000;
+    AtomicInteger emitted = new AtomicInteger();
+    AsyncLogEmitter emitter =
+        new AsyncLogEmitter(
+            "test",
+            4,
+            blockWhenFull,
+            event -> emitted.incrementAndGet(),
+            () -> {},
+            t -> {
+              throw new AssertionError(t);
+            });
+    emitter.start();
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < producers; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  return;
+                }
+                for (int j = 0; j < eventsPerProducer; j++) {
+                  emitter.append(new AsyncLoggingEvent(new LoggingEvent(), false, false));
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    emitter.stop();
+
+    if (blockWhenFull) {
+      assertThat(emitter.getDroppedCount()).isZero();
+    }
+    assertThat(emitted.get() + emitter.getDroppedCount())
+        .isEqualTo(producers * eventsPerProducer);
+  }
+
+  @Test
+  void keepsEmittingWhenEmitterThrows() {
+    List<AsyncLoggingEvent> emitted = new ArrayList<>();
+    List<Throwable> failures = new ArrayList<>();
+    AtomicInteger calls = new AtomicInteger();
+    AsyncLogEmitter emitter =
+        new AsyncLogEmitter(
+            "test",
+            2,
+            true,
+            event -> {
+              int call = calls.incrementAndGet();
+              if (call == 1) {
+                throw new IllegalStateException("exception");
+              }
+              if (call == 2) {
+                throw new AssertionError("error");
+              }
+              emitted.add(event);
+            },
+            () -> {},
+            failures::add);
+    emitter.start();
+
+    for (int i = 0; i < 10; i++) {
+      emitter.append(new AsyncLoggingEvent(new LoggingEvent(), false, false));
+    }
+    emitter.stop();
+
+    assertThat(emitted).hasSize(8);
+    assertThat(failures)
+        .satisfiesExactly(
+            t -> assertThat(t).hasMessage("exception"), t -> assertThat(t).hasMessage("error"));
+    assertThat(emitter.getDroppedCount()).isZero();
+  }
+
+  @Test
+  void emitsLogsAddedAfterStop() {
+    List<AsyncLoggingEvent> emitted = new ArrayList<>();
+    AsyncLogEmitter emitter =
+        new AsyncLogEmitter(
+            "test",
+            2,
+            false,
+            emitted::add,
+            () -> {},
+            t -> {
+              throw new AssertionError(t);
+            });
+    emitter.start();
+    emitter.stop();
+
+    emitter.append(new AsyncLoggingEvent(new LoggingEvent(), false, false));
+
+    assertThat(emitted).hasSize(1);
+    assertThat(emitter.getDroppedCount()).isZero();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.logback.appender.v1_0;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.instrumentation.testing.junit.LibraryInstrumentationExtension;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+class ReplayBufferOpenTelemetryAppenderTest {
+
+  @RegisterExtension
+  private static final LibraryInstrumentationExtension testing =
+      LibraryInstrumentationExtension.create();
+
+  private static final Logger logger = (Logger) LoggerFactory.getLogger("ReplayBufferTestLogger");
+
+  private OpenTelemetryAppender appender;
+
+  @BeforeEach
+  void setup() {
+    appender = new OpenTelemetryAppender();
+    appender.setContext((LoggerContext) LoggerFactory.getILoggerFactory());
+    appender.setNumBytesCapturedBeforeOtelInstall(32 * 1024);
+    appender.setMdcAttributesIncluded("key1");
+    appender.start();
+    logger.addAppender(appender);
+    logger.setAdditive(false);
+  }
+
+  @AfterEach
+  void cleanup() {
+    logger.detachAppender(appender);
+    logger.setAdditive(true);
+    appender.stop();
+  }
+
+  @Test
+  void replaysLogsThatFitIntoTheBuffer() {
+    MDC.put("key1", "value1");
+    try {
+      logger.info("log message {}", 1);
+    } finally {
+      MDC.remove("key1");
+    }
+    // doesn't fit into the remaining bytes
+    logger.info(largeMessage(64 * 1024));
+    logger.warn("log message 3", new IllegalStateException("failure"));
+
+    appender.setOpenTelemetry(testing.getOpenTelemetry());
+
+    testing.waitAndAssertLogRecords(
+        logRecord ->
+            logRecord
+                .hasInstrumentationScope(InstrumentationScopeInfo.create("ReplayBufferTestLogger"))
+                .hasBody("log message 1")
+                .hasSeverity(Severity.INFO)
+                .hasSeverityText("INFO")
+                .hasAttributesSatisfyingExactly(equalTo(stringKey("key1"), "value1")),
+        logRecord ->
+            logRecord
+                .hasBody("log message 3")
+                .hasSeverity(Severity.WARN)
+                .hasAttributesSatisfying(
+                    equalTo(stringKey("exception.type"), IllegalStateException.class.getName()),
+                    equalTo(stringKey("exception.message"), "failure")));
+  }
+
+  private static String largeMessage(int length) {
+    StringBuilder message = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      message.append('x');
+    }
+    return message.toString();
+  }
+}
@@ -8,19 +8,33 @@ package io.opentelemetry.instrumentation.logback.appender.v1_0.internal;
 import static io.opentelemetry.api.common.AttributeKey.booleanArrayKey;
 import static io.opentelemetry.api.common.AttributeKey.doubleArrayKey;
 import static io.opentelemetry.api.common.AttributeKey.longArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.longKey;
 import static io.opentelemetry.api.common.AttributeKey.stringArrayKey;
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.instrumentation.api.internal.SemconvStability.emitOldCodeSemconv;
+import static io.opentelemetry.instrumentation.api.internal.SemconvStability.emitStableCodeSemconv;
+import static io.opentelemetry.semconv.CodeAttributes.CODE_FILE_PATH;
+import static io.opentelemetry.semconv.CodeAttributes.CODE_FUNCTION_NAME;
+import static io.opentelemetry.semconv.CodeAttributes.CODE_LINE_NUMBER;
 import static io.opentelemetry.semconv.incubating.UserIncubatingAttributes.USER_NAME;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.instrumentation.api.config.IncludeExclude;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Predicate;
@@ -257,6 +271,75 @@ class LoggingEventMapperTest {
     verifyNoMoreInteractions(builder);
   }
 
+  @Test
+  void testCodeAttributesOfCallSitesSharingMethodNameOrLine() {
+    // given
+    LoggingEventMapper mapper = LoggingEventMapper.builder().setCaptureCodeAttributes(true).build();
+    InMemoryLogRecordExporter exporter = InMemoryLogRecordExporter.create();
+    SdkLoggerProvider loggerProvider =
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(SimpleLogRecordProcessor.create(exporter))
+            .build();
+    StackTraceElement[] callSites = {
+      new StackTraceElement("com.example.OrderService", "handle", "OrderService.java", 10),
+      new StackTraceElement("com.example.UserService", "handle", "UserService.java", 10),
+      new StackTraceElement("com.example.OrderService", "handle", "OrderService.java", 20),
+      new StackTraceElement("com.example.OrderService", "cancel", "OrderService.java", 10),
+      new StackTraceElement("com.example.OrderService", "handle", null, -1)
+    };
+
+    // when, twice so that the second time the code attributes of each call site are cached
+    for (int i = 0; i < 2; i++) {
+      for (StackTraceElement callSite : callSites) {
+        mapper.emit(loggerProvider, event(callSite), -1);
+      }
+    }
+
+    // then
+    assertThat(exporter.getFinishedLogRecordItems()).hasSize(2 * callSites.length);
+    for (int i = 0; i < exporter.getFinishedLogRecordItems().size(); i++) {
+      assertCodeAttributes(
+          exporter.getFinishedLogRecordItems().get(i).getAttributes(),
+          callSites[i % callSites.length]);
+    }
+    loggerProvider.close();
+  }
+
+  private static LoggingEvent event(StackTraceElement callSite) {
+    LoggingEvent event = new LoggingEvent();
+    event.setLoggerName("test");
+    event.setLevel(Level.INFO);
+    event.setMessage("log message");
+    event.setTimeStamp(System.currentTimeMillis());
+    event.setThreadName("main");
+    event.setMDCPropertyMap(emptyMap());
+    event.setCallerData(new StackTraceElement[] {callSite});
+    return event;
+  }
+
+  private static void assertCodeAttributes(Attributes attributes, StackTraceElement callSite) {
+    String fileName = callSite.getFileName();
+    Long lineNumber = callSite.getLineNumber() > 0 ? (long) callSite.getLineNumber() : null;
+    // the file path and line number are only added when they are known
+    int optionalAttributes = (fileName != null ? 1 : 0) + (lineNumber != null ? 1 : 0);
+    int size = 0;
+    if (emitStableCodeSemconv()) {
+      assertThat(attributes.get(CODE_FILE_PATH)).isEqualTo(fileName);
+      assertThat(attributes.get(CODE_FUNCTION_NAME))
+          .isEqualTo(callSite.getClassName() + "." + callSite.getMethodName());
+      assertThat(attributes.get(CODE_LINE_NUMBER)).isEqualTo(lineNumber);
+      size += 1 + optionalAttributes;
+    }
+    if (emitOldCodeSemconv()) {
+      assertThat(attributes.get(stringKey("code.filepath"))).isEqualTo(fileName);
+      assertThat(attributes.get(stringKey("code.namespace"))).isEqualTo(callSite.getClassName());
+      assertThat(attributes.get(stringKey("code.function"))).isEqualTo(callSite.getMethodName());
+      assertThat(attributes.get(longKey("code.lineno"))).isEqualTo(lineNumber);
+      size += 2 + optionalAttributes;
+    }
+    assertThat(attributes.size()).isEqualTo(size);
+  }
+
   private static Predicate<String> include(String... patterns) {
     return AttributeSelectors.create(
         IncludeExclude.builder().setIncluded(asList(patterns)).build());
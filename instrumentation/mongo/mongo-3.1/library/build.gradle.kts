@@ -1,6 +1,7 @@
 plugins {
   id("otel.library-instrumentation")
   id("otel.nullaway-conventions")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -10,6 +11,8 @@ dependencies {
   annotationProcessor("com.google.auto.value:auto-value")
 
   testImplementation(project(":instrumentation:mongo:mongo-3.1:testing"))
+
+  jmhImplementation("org.mongodb:mongo-java-driver:3.1.0")
 }
 
 tasks {
@@ -0,0 +1,133 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.mongo.v3_1.internal;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.json.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class MongoQuerySanitizerBenchmark {
+
+  private static final int MAX_LENGTH =
+      MongoInstrumenterFactory.DEFAULT_MAX_NORMALIZED_QUERY_LENGTH;
+
+  private static final BsonDocument FIND =
+      new BsonDocument("find", new BsonString("orders"))
+          .append(
+              "filter",
+              new BsonDocument("customerId", new BsonInt32(42))
+                  .append("status", new BsonDocument("$in", statuses())))
+          .append("limit", new BsonInt32(100));
+
+  // an insertMany of 10k documents
+  private static final BsonDocument INSERT =
+      new BsonDocument("insert", new BsonString("orders"))
+          .append("ordered", new BsonInt32(1))
+          .append("documents", documents(10_000));
+
+  private final MongoDbAttributesGetter getter = new MongoDbAttributesGetter(true, MAX_LENGTH);
+
+  private static BsonArray statuses() {
+    List<BsonValue> statuses = new ArrayList<>();
+    statuses.add(new BsonString("NEW"));
+    statuses.add(new BsonString("PAID"));
+    statuses.add(new BsonString("SHIPPED"));
+    return new BsonArray(statuses);
+  }
+
+  private static BsonArray documents(int count) {
+    List<BsonValue> documents = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      documents.add(
+          new BsonDocument("_id", new BsonInt32(i))
+              .append("customerId", new BsonInt32(i % 100))
+              .append("item", new BsonDocument("sku", new BsonString("sku-" + i)))
+              .append("notes", new BsonString("some free text describing order " + i)));
+    }
+    return new BsonArray(documents);
+  }
+
+  @Benchmark
+  public String find() {
+    return getter.sanitizeQuery(FIND);
+  }
+
+  @Benchmark
+  public String findJsonWriter() {
+    return jsonWriterSanitize(FIND);
+  }
+
+  @Benchmark
+  public String insert() {
+    return getter.sanitizeQuery(INSERT);
+  }
+
+  @Benchmark
+  public String insertJsonWriter() {
+    return jsonWriterSanitize(INSERT);
+  }
+
+  // the previous implementation, which wrote "?" for every value through a JsonWriter
+  private static String jsonWriterSanitize(BsonDocument command) {
+    StringBuilderWriter stringWriter = new StringBuilderWriter(128);
+    JsonWriter jsonWriter = new JsonWriter(stringWriter);
+    writeScrubbed(command, jsonWriter, /* isRoot= */ true);
+    StringBuilder buf = stringWriter.getBuilder();
+    return buf.length() <= MAX_LENGTH ? buf.toString() : buf.substring(0, MAX_LENGTH);
+  }
+
+  private static void writeScrubbed(BsonDocument origin, JsonWriter writer, boolean isRoot) {
+    writer.writeStartDocument();
+    boolean firstField = true;
+    for (Map.Entry<String, BsonValue> entry : origin.entrySet()) {
+      writer.writeName(entry.getKey());
+      if (isRoot && firstField && entry.getValue().isString()) {
+        writer.writeString(entry.getValue().asString().getValue());
+      } else {
+        writeScrubbed(entry.getValue(), writer);
+      }
+      firstField = false;
+    }
+    writer.writeEndDocument();
+  }
+
+  private static void writeScrubbed(BsonValue origin, JsonWriter writer) {
+    if (origin.isDocument()) {
+      writeScrubbed(origin.asDocument(), writer, /* isRoot= */ false);
+    } else if (origin.isArray()) {
+      writer.writeStartArray();
+      for (BsonValue value : origin.asArray()) {
+        writeScrubbed(value, writer);
+      }
+      writer.writeEndArray();
+    } else {
+      writer.writeString("?");
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.mongo.v3_1.internal;
+
+import java.util.Map;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Renders a command as json in which every value is replaced by {@code "?"}, walking the bson
+ * structure directly instead of encoding it with a {@link org.bson.json.JsonWriter}. The value of
+ * the first field of the command is preserved when it is a string, since for most CRUD commands it
+ * is the collection name. Consecutive array elements that render to the same text are collapsed
+ * into one, so that e.g. the {@code documents} of a large insert are rendered once per distinct
+ * shape. Rendering stops once {@code maxLength} characters have been produced.
+ */
+final class MongoQuerySanitizer {
+
+  private static final String HIDDEN_VALUE = "\"?\"";
+
+  private final int maxLength;
+
+  MongoQuerySanitizer(int maxLength) {
+    this.maxLength = maxLength;
+  }
+
+  String sanitize(BsonDocument command) {
+    StringBuilder sb = new StringBuilder(Math.min(maxLength, 128));
+    writeDocument(sb, command, /* isRoot= */ true);
+    return sb.length() <= maxLength ? sb.toString() : sb.substring(0, maxLength);
+  }
+
+  // each method returns true when maxLength has been reached and rendering should stop
+
+  private boolean writeDocument(StringBuilder sb, BsonDocument document, boolean isRoot) {
+    sb.append('{');
+    boolean firstField = true;
+    for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+      if (!firstField) {
+        sb.append(", ");
+      }
+      writeString(sb, entry.getKey());
+      sb.append(": ");
+      if (sb.length() >= maxLength) {
+        return true;
+      }
+      BsonValue value = entry.getValue();
+      if (isRoot && firstField && value.isString()) {
+        writeString(sb, value.asString().getValue());
+        if (sb.length() >= maxLength) {
+          return true;
+        }
+      } else if (writeValue(sb, value)) {
+        return true;
+      }
+      firstField = false;
+    }
+    sb.append('}');
+    return sb.length() >= maxLength;
+  }
+
+  private boolean writeArray(StringBuilder sb, BsonArray array) {
+    sb.append('[');
+    int previousStart = -1;
+    int previousEnd = -1;
+    for (BsonValue value : array) {
+      int start = sb.length();
+      if (previousStart != -1) {
+        sb.append(", ");
+      }
+      int valueStart = sb.length();
+      if (writeValue(sb, value)) {
+        return true;
+      }
+      if (previousStart != -1 && regionsEqual(sb, previousStart, previousEnd, valueStart)) {
+        sb.setLength(start);
+      } else {
+        previousStart = valueStart;
+        previousEnd = sb.length();
+      }
+    }
+    sb.append(']');
+    return sb.length() >= maxLength;
+  }
+
+  private boolean writeValue(StringBuilder sb, BsonValue value) {
+    if (value.isDocument()) {
+      return writeDocument(sb, value.asDocument(), /* isRoot= */ false);
+    } else if (value.isArray()) {
+      return writeArray(sb, value.asArray());
+    }
+    sb.append(HIDDEN_VALUE);
+    return sb.length() >= maxLength;
+  }
+
+  private static boolean regionsEqual(StringBuilder sb, int start, int end, int otherStart) {
+    int length = end - start;
+    if (sb.length() - otherStart != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (sb.charAt(start + i) != sb.charAt(otherStart + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void writeString(StringBuilder sb, String value) {
+    sb.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\b':
+          sb.append("\\b");
+          break;
+        case '\f':
+          sb.append("\\f");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (c < ' ') {
+            sb.append("\\u00");
+            sb.append(Character.forDigit(c >> 4, 16));
+            sb.append(Character.forDigit(c & 0xf, 16));
+          } else {
+            sb.append(c);
+          }
+      }
+    }
+    sb.append('"');
+  }
+}
@@ -99,6 +99,60 @@ class MongoDbAttributesGetterTest {
         .isIn("{\"cmd\": \"c\", \"f1\": [\"?\", \"?", "{\"cmd\": \"c\", \"f1\": [\"?\",");
   }
 
+  @Test
+  @DisplayName("should collapse repeated array elements")
+  void shouldCollapseRepeatedArrayElements() {
+    MongoDbAttributesGetter extractor =
+        new MongoDbAttributesGetter(true, DEFAULT_MAX_NORMALIZED_QUERY_LENGTH);
+
+    BsonArray documents =
+        new BsonArray(
+            asList(
+                new BsonDocument("_id", new BsonInt32(1)).append("a", new BsonInt32(1)),
+                new BsonDocument("_id", new BsonInt32(2)).append("a", new BsonString("b")),
+                new BsonDocument("_id", new BsonInt32(3)),
+                new BsonDocument("_id", new BsonInt32(4)).append("a", new BsonInt32(4))));
+    String normalized =
+        sanitizeQueryAcrossVersions(
+            extractor,
+            new BsonDocument("insert", new BsonString("c")).append("documents", documents));
+
+    assertThat(normalized)
+        .isEqualTo(
+            "{\"insert\": \"c\", \"documents\": [{\"_id\": \"?\", \"a\": \"?\"}, "
+                + "{\"_id\": \"?\"}, {\"_id\": \"?\", \"a\": \"?\"}]}");
+  }
+
+  @Test
+  @DisplayName("should only render the structure of the command")
+  void shouldOnlyRenderTheStructureOfTheCommand() {
+    MongoDbAttributesGetter extractor =
+        new MongoDbAttributesGetter(true, DEFAULT_MAX_NORMALIZED_QUERY_LENGTH);
+
+    String first =
+        extractor.sanitizeQuery(
+            new BsonDocument("find", new BsonString("c"))
+                .append("filter", new BsonDocument("a", new BsonInt32(1))));
+    String second =
+        extractor.sanitizeQuery(
+            new BsonDocument("find", new BsonString("c"))
+                .append("filter", new BsonDocument("a", new BsonString("other"))));
+    String otherCollection =
+        extractor.sanitizeQuery(
+            new BsonDocument("find", new BsonString("d"))
+                .append("filter", new BsonDocument("a", new BsonInt32(1))));
+    String otherField =
+        extractor.sanitizeQuery(
+            new BsonDocument("find", new BsonString("c"))
+                .append("filter", new BsonDocument("b", new BsonInt32(1))));
+
+    assertThat(second).isEqualTo(first);
+    assertThat(sanitizeAcrossVersions(otherCollection))
+        .isEqualTo("{\"find\": \"d\", \"filter\": {\"a\": \"?\"}}");
+    assertThat(sanitizeAcrossVersions(otherField))
+        .isEqualTo("{\"find\": \"c\", \"filter\": {\"b\": \"?\"}}");
+  }
+
   @ParameterizedTest
   @MethodSource("errorTypes")
   void getErrorTypeReturnsServerCodeOrFallsBack(Throwable error, String expectedErrorType) {
@@ -10,6 +10,7 @@ import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
 
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.incubator.config.DeclarativeConfigProperties;
 import io.opentelemetry.instrumentation.api.incubator.config.internal.DeclarativeConfigUtil;
 import io.opentelemetry.instrumentation.reactor.v3_1.ContextPropagationOperator;
 import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
@@ -40,10 +41,13 @@ class HooksInstrumentation implements TypeInstrumentation {
 
     @Advice.OnMethodExit(suppress = Throwable.class, inline = false)
     public static void postStaticInitializer() {
+      DeclarativeConfigProperties config =
+          DeclarativeConfigUtil.getInstrumentationConfig(GlobalOpenTelemetry.get(), "reactor");
       ContextPropagationOperator.builder()
           .setCaptureExperimentalSpanAttributes(
-              DeclarativeConfigUtil.getInstrumentationConfig(GlobalOpenTelemetry.get(), "reactor")
-                  .getBoolean("experimental_span_attributes/development", false))
+              config.getBoolean("experimental_span_attributes/development", false))
+          .setLiftAsyncBoundariesOnly(
+              config.getBoolean("experimental_lift_async_boundaries_only/development", false))
           .build()
           .registerOnEachOperator();
     }
@@ -0,0 +1,97 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.reactor.v3_1;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/** Measures the cost of propagating the context through a flux with 20 synchronous operators. */
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@State(Scope.Benchmark)
+public class ContextPropagationOperatorBenchmark {
+
+  private static final int ELEMENTS = 100_000;
+  private static final int OPERATORS = 20;
+
+  private static final Context PARENT_CONTEXT =
+      Context.root()
+          .with(
+              Span.wrap(
+                  SpanContext.create(
+                      "11111111111111111111111111111111",
+                      "1111111111111111",
+                      TraceFlags.getSampled(),
+                      TraceState.getDefault())));
+
+  @Param({"none", "eachOperator", "asyncBoundariesOnly"})
+  public String mode;
+
+  private ContextPropagationOperator operator;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    if (mode.equals("none")) {
+      return;
+    }
+    operator =
+        ContextPropagationOperator.builder()
+            .setLiftAsyncBoundariesOnly(mode.equals("asyncBoundariesOnly"))
+            .build();
+    operator.registerOnEachOperator();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (operator != null) {
+      operator.resetOnEachOperator();
+    }
+  }
+
+  @Benchmark
+  public Long synchronousChain() {
+    try (io.opentelemetry.context.Scope ignored = PARENT_CONTEXT.makeCurrent()) {
+      return chain(Flux.range(0, ELEMENTS)).count().block();
+    }
+  }
+
+  @Benchmark
+  public Long chainWithPublishOn() {
+    try (io.opentelemetry.context.Scope ignored = PARENT_CONTEXT.makeCurrent()) {
+      return chain(Flux.range(0, ELEMENTS).publishOn(Schedulers.parallel())).count().block();
+    }
+  }
+
+  private static Flux<Integer> chain(Flux<Integer> flux) {
+    for (int i = 0; i < OPERATORS; i++) {
+      flux = i % 2 == 0 ? flux.map(value -> value + 1) : flux.filter(value -> value >= 0);
+    }
+    return flux;
+  }
+}
@@ -77,7 +77,10 @@ public final class ContextPropagationOperator {
 
   private static volatile boolean enabled = false;
 
+  private static final boolean RUN_STYLE_SUPPORTED = isRunStyleSupported();
+
   private final ReactorAsyncOperationEndStrategy asyncOperationEndStrategy;
+  private final boolean liftAsyncBoundariesOnly;
 
   @Nullable
   private static MethodHandle getContextWriteMethod(Class<?> type) {
@@ -119,6 +122,16 @@ public final class ContextPropagationOperator {
     return null;
   }
 
+  private static boolean isRunStyleSupported() {
+    try {
+      // added in reactor-core 3.4.0
+      Class.forName("reactor.core.Scannable$Attr$RunStyle");
+      return true;
+    } catch (ClassNotFoundException ignored) {
+      return false;
+    }
+  }
+
   public static ContextPropagationOperator create() {
     return builder().build();
   }
@@ -167,11 +180,13 @@ public final class ContextPropagationOperator {
     return contextView.getOrDefault(TRACE_CONTEXT_KEY, defaultTraceContext);
   }
 
-  ContextPropagationOperator(boolean captureExperimentalSpanAttributes) {
+  ContextPropagationOperator(
+      boolean captureExperimentalSpanAttributes, boolean liftAsyncBoundariesOnly) {
     this.asyncOperationEndStrategy =
         ReactorAsyncOperationEndStrategy.builder()
             .setCaptureExperimentalSpanAttributes(captureExperimentalSpanAttributes)
             .build();
+    this.liftAsyncBoundariesOnly = liftAsyncBoundariesOnly && RUN_STYLE_SUPPORTED;
   }
 
   /**
@@ -186,7 +201,8 @@ public final class ContextPropagationOperator {
         return;
       }
       Hooks.onEachOperator(
-          TracingSubscriber.class.getName(), tracingLift(asyncOperationEndStrategy));
+          TracingSubscriber.class.getName(),
+          tracingLift(asyncOperationEndStrategy, liftAsyncBoundariesOnly));
       AsyncOperationEndStrategies.instance().registerStrategy(asyncOperationEndStrategy);
       registerScheduleHook(SCHEDULERS_HOOK_KEY, RunnableWrapper::new);
       enabled = true;
@@ -229,7 +245,13 @@ public final class ContextPropagationOperator {
   }
 
   private static <T> Function<? super Publisher<T>, ? extends Publisher<T>> tracingLift(
-      ReactorAsyncOperationEndStrategy asyncOperationEndStrategy) {
+      ReactorAsyncOperationEndStrategy asyncOperationEndStrategy,
+      boolean liftAsyncBoundariesOnly) {
+    if (liftAsyncBoundariesOnly) {
+      return Operators.lift(
+          ContextPropagationOperator::shouldInstrumentAsyncBoundary,
+          new Lifter<>(asyncOperationEndStrategy));
+    }
     return Operators.lift(
         ContextPropagationOperator::shouldInstrument, new Lifter<>(asyncOperationEndStrategy));
   }
@@ -301,6 +323,34 @@ public final class ContextPropagationOperator {
     return !(publisher instanceof Fuseable.ScalarCallable);
   }
 
+  private static boolean shouldInstrumentAsyncBoundary(Scannable publisher) {
+    if (!shouldInstrument(publisher)) {
+      return false;
+    }
+    // signals of a synchronous operator are delivered on the thread of its upstream operator, which
+    // is itself wrapped and has already made the same context current
+    return !isSynchronousOperator(publisher) || writesSubscriberContext(publisher);
+  }
+
+  @NoMuzzle
+  private static boolean isSynchronousOperator(Scannable publisher) {
+    if (publisher.scan(Scannable.Attr.RUN_STYLE) != Scannable.Attr.RunStyle.SYNC) {
+      return false;
+    }
+    // sources (and operators whose upstream is not wrapped) must still propagate the context,
+    // they may emit from whichever thread requests data from them
+    Scannable parent = publisher.scan(Scannable.Attr.PARENT);
+    return parent instanceof Publisher && shouldInstrument(parent);
+  }
+
+  private static boolean writesSubscriberContext(Scannable publisher) {
+    // FluxContextWrite, MonoContextWrite (3.4+), FluxContextStart, MonoSubscriberContext (< 3.4)
+    String name = publisher.getClass().getName();
+    return name.contains("ContextWrite")
+        || name.contains("ContextStart")
+        || name.contains("SubscriberContext");
+  }
+
   private static class Lifter<T>
       implements BiFunction<Scannable, CoreSubscriber<? super T>, CoreSubscriber<? super T>> {
 
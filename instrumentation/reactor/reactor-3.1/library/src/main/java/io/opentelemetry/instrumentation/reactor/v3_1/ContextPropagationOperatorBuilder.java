@@ -9,6 +9,7 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 
 public final class ContextPropagationOperatorBuilder {
   private boolean captureExperimentalSpanAttributes;
+  private boolean liftAsyncBoundariesOnly;
 
   ContextPropagationOperatorBuilder() {}
 
@@ -19,7 +20,26 @@ public final class ContextPropagationOperatorBuilder {
     return this;
   }
 
+  /**
+   * Sets whether the {@link io.opentelemetry.context.Context} should only be propagated at
+   * asynchronous boundaries of a reactive stream.
+   *
+   * <p>When enabled, operators that Reactor reports as running synchronously (e.g. {@code map},
+   * {@code filter}) are not wrapped with a {@link TracingSubscriber}, since their signals are
+   * delivered on the thread of the upstream operator which already made the context current.
+   * Sources, operators that switch threads (e.g. {@code publishOn}, {@code subscribeOn}) and
+   * operators that write to the subscriber context are still wrapped. This requires Reactor 3.4 or
+   * later, on older versions every operator is wrapped. Disabled by default.
+   */
+  @CanIgnoreReturnValue
+  public ContextPropagationOperatorBuilder setLiftAsyncBoundariesOnly(
+      boolean liftAsyncBoundariesOnly) {
+    this.liftAsyncBoundariesOnly = liftAsyncBoundariesOnly;
+    return this;
+  }
+
   public ContextPropagationOperator build() {
-    return new ContextPropagationOperator(captureExperimentalSpanAttributes);
+    return new ContextPropagationOperator(
+        captureExperimentalSpanAttributes, liftAsyncBoundariesOnly);
   }
 }
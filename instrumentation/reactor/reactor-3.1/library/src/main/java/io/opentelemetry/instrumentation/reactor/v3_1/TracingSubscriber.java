@@ -104,7 +104,12 @@ public class TracingSubscriber<T> implements CoreSubscriber<T> {
 
   @Nullable
   private Scope openScope() {
-    return openScope(hasContextToPropagate ? traceContext : null);
+    // when the upstream operator already made our context current (the common case in a chain of
+    // synchronous operators) there is no need to attach it again
+    if (!hasContextToPropagate || traceContext == io.opentelemetry.context.Context.current()) {
+      return null;
+    }
+    return traceContext.makeCurrent();
   }
 
   @Nullable
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.CoreSubscriber;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Hooks;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -105,6 +106,29 @@ class HooksTest {
     operator.resetOnEachOperator();
   }
 
+  @Test
+  void liftAsyncBoundariesOnlyPropagatesContext() {
+    ContextPropagationOperator operator =
+        ContextPropagationOperator.builder().setLiftAsyncBoundariesOnly(true).build();
+    operator.registerOnEachOperator();
+
+    Mono<Boolean> mono =
+        Flux.range(0, 10)
+            .map(i -> i + 1)
+            .publishOn(Schedulers.single())
+            .filter(i -> i > 0)
+            .map(i -> Span.current().getSpanContext().isValid())
+            .reduce(true, Boolean::logicalAnd);
+
+    Boolean result;
+    try (Scope ignored = Context.root().with(PARENT_SPAN).makeCurrent()) {
+      result = mono.block();
+    }
+    assertThat(result).isTrue();
+
+    operator.resetOnEachOperator();
+  }
+
   private static boolean schedulerHooksSupported() {
     try {
       Schedulers.class.getMethod("onScheduleHook", String.class, Function.class);
@@ -28,12 +28,14 @@ import java.lang.instrument.ClassFileTransformer;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.security.CodeSource;
 import java.security.ProtectionDomain;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import javax.annotation.Nullable;
 
 /**
  * {@link JarAnalyzer} is a {@link ClassFileTransformer} which processes the {@link
@@ -57,9 +59,14 @@ final class JarAnalyzer implements ClassFileTransformer {
   static final AttributeKey<String> PACKAGE_PATH = AttributeKey.stringKey("package.path");
 
   private final Set<URI> seenUris = ConcurrentHashMap.newKeySet();
-  private final BlockingQueue<URL> toProcess = new LinkedBlockingDeque<>();
+  // unbounded, but each archive is queued at most once since it's first added to seenUris
+  private final BlockingQueue<URL> toProcess = new LinkedBlockingQueue<>();
 
-  private JarAnalyzer(OpenTelemetry openTelemetry, String instrumentationName, int jarsPerSecond) {
+  private JarAnalyzer(
+      OpenTelemetry openTelemetry,
+      String instrumentationName,
+      int jarsPerSecond,
+      @Nullable Path cacheFile) {
     String instrumentationVersion =
         EmbeddedInstrumentationProperties.findVersion(instrumentationName);
     Logger logger =
@@ -68,7 +75,7 @@ final class JarAnalyzer implements ClassFileTransformer {
             .loggerBuilder(instrumentationName)
             .setInstrumentationVersion(instrumentationVersion)
             .build();
-    Worker worker = new Worker(logger, toProcess, jarsPerSecond);
+    Worker worker = new Worker(logger, toProcess, jarsPerSecond, PackageCache.create(cacheFile));
     Thread workerThread =
         new DaemonThreadFactory(JarAnalyzer.class.getSimpleName() + "_WorkerThread")
             .newThread(worker);
@@ -78,8 +85,11 @@ final class JarAnalyzer implements ClassFileTransformer {
   /** Create {@link JarAnalyzer} and start the worker thread. */
   // TODO can remove instrumentationName parameter in 3.0
   static JarAnalyzer create(
-      OpenTelemetry openTelemetry, String instrumentationName, int jarsPerSecond) {
-    return new JarAnalyzer(openTelemetry, instrumentationName, jarsPerSecond);
+      OpenTelemetry openTelemetry,
+      String instrumentationName,
+      int jarsPerSecond,
+      @Nullable Path cacheFile) {
+    return new JarAnalyzer(openTelemetry, instrumentationName, jarsPerSecond, cacheFile);
   }
 
   /**
@@ -161,37 +171,36 @@ final class JarAnalyzer implements ClassFileTransformer {
     private final Logger logger;
     private final BlockingQueue<URL> toProcess;
     private final RateLimiter rateLimiter;
+    private final PackageCache cache;
 
-    private Worker(Logger logger, BlockingQueue<URL> toProcess, int jarsPerSecond) {
+    private Worker(
+        Logger logger, BlockingQueue<URL> toProcess, int jarsPerSecond, PackageCache cache) {
       this.logger = logger;
       this.toProcess = toProcess;
       this.rateLimiter = new RateLimiter(jarsPerSecond, jarsPerSecond, Clock.getDefault());
+      this.cache = cache;
     }
 
     /**
      * Continuously poll the {@link #toProcess} for archive {@link URL}s, and process each with
-     * {@link #processUrl(Logger, URL)}.
+     * {@link #processUrl(Logger, URL, PackageCache, RateLimiter)}. The cache is saved whenever the
+     * queue is drained.
      */
     @Override
     public void run() {
       while (!Thread.currentThread().isInterrupted()) {
         URL archiveUrl = null;
         try {
-          if (!rateLimiter.trySpend(1.0)) {
-            Thread.sleep(100);
+          archiveUrl = toProcess.poll(100, MILLISECONDS);
+          if (archiveUrl == null) {
+            cache.save();
             continue;
           }
-          archiveUrl = toProcess.poll(100, MILLISECONDS);
-        } catch (InterruptedException ignored) {
-          Thread.currentThread().interrupt();
-        }
-        if (archiveUrl == null) {
-          continue;
-        }
-        try {
           // TODO(jack-berg): add ability to optionally re-process urls periodically to re-emit
           // events
-          processUrl(logger, archiveUrl);
+          processUrl(logger, archiveUrl, cache, rateLimiter);
+        } catch (InterruptedException ignored) {
+          Thread.currentThread().interrupt();
         } catch (Throwable t) {
           JarAnalyzer.logger.log(
               WARNING, "Unexpected error processing archive URL: " + archiveUrl, t);
@@ -201,27 +210,84 @@ final class JarAnalyzer implements ClassFileTransformer {
     }
   }
 
+  /**
+   * Process the {@code archiveUrl}, taking its metadata from the {@code cache} when the archive
+   * hasn't changed since it was cached, and otherwise extracting it once the {@code rateLimiter}
+   * allows. Emits an event with the content.
+   */
+  private static void processUrl(
+      Logger logger, URL archiveUrl, PackageCache cache, RateLimiter rateLimiter)
+      throws InterruptedException {
+    File archiveFile = null;
+    if ("file".equals(archiveUrl.getProtocol())) {
+      try {
+        archiveFile = UrlPaths.toFile(archiveUrl);
+      } catch (IOException e) {
+        JarAnalyzer.logger.log(FINEST, "Unable to get file for archive URL: " + archiveUrl, e);
+      }
+    }
+    if (archiveFile != null) {
+      PackageCache.Entry entry = cache.get(archiveFile);
+      if (entry != null) {
+        emit(logger, archiveUrl, entry);
+        return;
+      }
+    }
+
+    while (!rateLimiter.trySpend(1.0)) {
+      Thread.sleep(100);
+    }
+    // read before the archive, so that a concurrent modification invalidates the cached entry
+    long size = archiveFile != null ? archiveFile.length() : 0;
+    long lastModified = archiveFile != null ? archiveFile.lastModified() : 0;
+    PackageCache.Entry entry = analyze(archiveUrl, size, lastModified);
+    if (entry == null) {
+      return;
+    }
+    if (archiveFile != null) {
+      cache.put(archiveFile, entry);
+    }
+    emit(logger, archiveUrl, entry);
+  }
+
   /**
    * Process the {@code archiveUrl}, extracting metadata from it and emitting an event with the
    * content.
    */
   static void processUrl(Logger logger, URL archiveUrl) {
+    PackageCache.Entry entry = analyze(archiveUrl, 0, 0);
+    if (entry != null) {
+      emit(logger, archiveUrl, entry);
+    }
+  }
+
+  @Nullable
+  private static PackageCache.Entry analyze(URL archiveUrl, long size, long lastModified) {
     JarDetails jarDetails;
     try {
       jarDetails = JarDetails.forUrl(archiveUrl);
     } catch (IOException e) {
       JarAnalyzer.logger.log(WARNING, "Error reading package for archive URL: " + archiveUrl, e);
-      return;
+      return null;
     }
+    return new PackageCache.Entry(
+        size,
+        lastModified,
+        jarDetails.packageName(),
+        jarDetails.version(),
+        jarDetails.packageDescription(),
+        jarDetails.computeSha256());
+  }
+
+  private static void emit(Logger logger, URL archiveUrl, PackageCache.Entry entry) {
     AttributesBuilder builder = Attributes.builder();
-    builder.put(PACKAGE_PATH, jarDetails.packagePath());
-    builder.put(PACKAGE_TYPE, jarDetails.packageType());
-    builder.put(PACKAGE_NAME, jarDetails.packageName());
-    builder.put(PACKAGE_VERSION, jarDetails.version());
-    builder.put(PACKAGE_DESCRIPTION, jarDetails.packageDescription());
-
-    String packageChecksum = jarDetails.computeSha256();
-    builder.put(PACKAGE_CHECKSUM, packageChecksum);
+    builder.put(PACKAGE_PATH, JarDetails.packagePath(archiveUrl));
+    builder.put(PACKAGE_TYPE, JarDetails.packageType(archiveUrl));
+    builder.put(PACKAGE_NAME, entry.packageName);
+    builder.put(PACKAGE_VERSION, entry.version);
+    builder.put(PACKAGE_DESCRIPTION, entry.packageDescription);
+
+    builder.put(PACKAGE_CHECKSUM, entry.sha256Checksum);
     builder.put(PACKAGE_CHECKSUM_ALGORITHM, "SHA-256");
 
     logger
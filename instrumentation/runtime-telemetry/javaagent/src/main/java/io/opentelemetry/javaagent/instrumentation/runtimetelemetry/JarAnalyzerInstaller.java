@@ -15,6 +15,7 @@ import io.opentelemetry.javaagent.bootstrap.InstrumentationHolder;
 import io.opentelemetry.javaagent.tooling.BeforeAgentListener;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
 import java.lang.instrument.Instrumentation;
+import java.nio.file.Paths;
 
 /** Installs the {@link JarAnalyzer}. */
 @AutoService(BeforeAgentListener.class)
@@ -43,8 +44,14 @@ public class JarAnalyzerInstaller implements BeforeAgentListener {
 
     int jarsPerSecond =
         JarAnalyzerConfig.getJarsPerSecond(newPackageEmitterConfig, oldPackageEmitterConfig);
-
-    JarAnalyzer jarAnalyzer = JarAnalyzer.create(openTelemetry, instrumentationName, jarsPerSecond);
+    String cacheFile = JarAnalyzerConfig.getCacheFile(newPackageEmitterConfig);
+
+    JarAnalyzer jarAnalyzer =
+        JarAnalyzer.create(
+            openTelemetry,
+            instrumentationName,
+            jarsPerSecond,
+            cacheFile == null ? null : Paths.get(cacheFile));
     inst.addTransformer(jarAnalyzer);
   }
 }
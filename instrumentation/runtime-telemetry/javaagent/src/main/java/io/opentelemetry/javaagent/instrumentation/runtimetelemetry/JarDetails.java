@@ -8,9 +8,13 @@ package io.opentelemetry.javaagent.instrumentation.runtimetelemetry;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toMap;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -47,6 +51,8 @@ class JarDetails {
               throw new IllegalStateException(e);
             }
           });
+  private static final ThreadLocal<ByteBuffer> readBuffer =
+      ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(64 * 1024));
 
   private final URL url;
   @Nullable private final Properties pom;
@@ -88,9 +94,10 @@ class JarDetails {
         }
       }
     }
-    try (JarFile jarFile = new JarFile(UrlPaths.toFile(url))) {
+    File file = UrlPaths.toFile(url);
+    try (JarFile jarFile = new JarFile(file)) {
       return new JarDetails(
-          url, getPom(jarFile), getManifest(jarFile), computeDigest(url, sha256.get()));
+          url, getPom(jarFile), getManifest(jarFile), computeDigest(file, sha256.get()));
     }
   }
 
@@ -100,6 +107,11 @@ class JarDetails {
    */
   @Nullable
   String packagePath() {
+    return packagePath(url);
+  }
+
+  @Nullable
+  static String packagePath(URL url) {
     String path = url.getFile();
     int start = path.lastIndexOf('/');
     if (start > -1) {
@@ -114,6 +126,11 @@ class JarDetails {
    */
   @Nullable
   String packageType() {
+    return packageType(url);
+  }
+
+  @Nullable
+  static String packageType(URL url) {
     String path = url.getFile();
     int extensionStart = path.lastIndexOf(".");
     if (extensionStart > -1) {
@@ -185,9 +202,19 @@ class JarDetails {
     return sha256Checksum;
   }
 
-  private static String computeDigest(URL url, MessageDigest md) throws IOException {
-    try (InputStream inputStream = url.openStream()) {
-      return computeDigest(inputStream, md);
+  // reads through a reused direct buffer, which avoids copying the file content to the heap
+  private static String computeDigest(File file, MessageDigest md) throws IOException {
+    ByteBuffer buffer = readBuffer.get();
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      buffer.clear();
+      while (channel.read(buffer) != -1) {
+        buffer.flip();
+        md.update(buffer);
+        buffer.clear();
+      }
+      return toHex(md.digest());
+    } finally {
+      md.reset();
     }
   }
 
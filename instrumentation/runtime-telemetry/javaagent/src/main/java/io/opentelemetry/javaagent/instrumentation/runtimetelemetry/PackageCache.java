@@ -0,0 +1,180 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.runtimetelemetry;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Caches the metadata of the archives analyzed by the {@link JarAnalyzer}, keyed by the archive's
+ * path, size, and last modified time, so that unchanged archives don't need to be read and hashed
+ * again. When a file is configured the cache is persisted to it, and is reused after a restart.
+ */
+final class PackageCache {
+
+  private static final Logger logger = Logger.getLogger(PackageCache.class.getName());
+
+  private static final int FORMAT_VERSION = 1;
+  // bounds the size of the cache file, archives beyond it are always analyzed
+  private static final int MAX_ENTRIES = 10_000;
+
+  @Nullable private final Path file;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicBoolean dirty = new AtomicBoolean();
+
+  private PackageCache(@Nullable Path file) {
+    this.file = file;
+  }
+
+  /** Creates a cache that is persisted to the given file, or only kept in memory if null. */
+  static PackageCache create(@Nullable Path file) {
+    PackageCache cache = new PackageCache(file);
+    if (file != null) {
+      cache.load(file);
+    }
+    return cache;
+  }
+
+  /** Returns the cached metadata of the archive, or null when it isn't cached or has changed. */
+  @Nullable
+  Entry get(File archive) {
+    Entry entry = entries.get(archive.getPath());
+    if (entry == null
+        || entry.size != archive.length()
+        || entry.lastModified != archive.lastModified()) {
+      return null;
+    }
+    return entry;
+  }
+
+  void put(File archive, Entry entry) {
+    if (entries.size() < MAX_ENTRIES || entries.containsKey(archive.getPath())) {
+      entries.put(archive.getPath(), entry);
+      dirty.set(true);
+    }
+  }
+
+  /** Writes the cache to its file if it has changed since it was last written. */
+  synchronized void save() {
+    if (file == null || !dirty.compareAndSet(true, false)) {
+      return;
+    }
+    Map<String, Entry> snapshot = new HashMap<>(entries);
+    Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(snapshot.size());
+        for (Map.Entry<String, Entry> entry : snapshot.entrySet()) {
+          out.writeUTF(entry.getKey());
+          entry.getValue().write(out);
+        }
+      }
+      // readers of the file never see a partially written cache
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      logger.log(WARNING, "Unable to write package cache file: " + file, e);
+    }
+  }
+
+  private void load(Path file) {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != FORMAT_VERSION) {
+        return;
+      }
+      int count = Math.min(in.readInt(), MAX_ENTRIES);
+      for (int i = 0; i < count; i++) {
+        String path = in.readUTF();
+        entries.put(path, Entry.read(in));
+      }
+    } catch (NoSuchFileException ignored) {
+      // not written yet
+    } catch (EOFException e) {
+      logger.log(FINE, "Ignoring truncated package cache file: " + file, e);
+      entries.clear();
+    } catch (IOException e) {
+      logger.log(WARNING, "Unable to read package cache file: " + file, e);
+      entries.clear();
+    }
+  }
+
+  /** The metadata extracted from an archive. */
+  static final class Entry {
+    private final long size;
+    private final long lastModified;
+    @Nullable final String packageName;
+    @Nullable final String version;
+    @Nullable final String packageDescription;
+    final String sha256Checksum;
+
+    Entry(
+        long size,
+        long lastModified,
+        @Nullable String packageName,
+        @Nullable String version,
+        @Nullable String packageDescription,
+        String sha256Checksum) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.packageName = packageName;
+      this.version = version;
+      this.packageDescription = packageDescription;
+      this.sha256Checksum = sha256Checksum;
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+      out.writeLong(size);
+      out.writeLong(lastModified);
+      writeNullable(out, packageName);
+      writeNullable(out, version);
+      writeNullable(out, packageDescription);
+      out.writeUTF(sha256Checksum);
+    }
+
+    private static Entry read(DataInputStream in) throws IOException {
+      return new Entry(
+          in.readLong(),
+          in.readLong(),
+          readNullable(in),
+          readNullable(in),
+          readNullable(in),
+          in.readUTF());
+    }
+
+    private static void writeNullable(DataOutputStream out, @Nullable String value)
+        throws IOException {
+      out.writeBoolean(value != null);
+      if (value != null) {
+        out.writeUTF(value);
+      }
+    }
+
+    @Nullable
+    private static String readNullable(DataInputStream in) throws IOException {
+      return in.readBoolean() ? in.readUTF() : null;
+    }
+  }
+}
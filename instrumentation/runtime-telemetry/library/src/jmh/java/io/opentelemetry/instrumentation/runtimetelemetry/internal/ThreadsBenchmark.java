@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimetelemetry.internal;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of a single {@code jvm.thread.count} collection through {@link ThreadMXBean}
+ * and through thread enumeration. Safepoint time can be compared by running with {@code -prof
+ * safepoints}.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xss256k")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Benchmark)
+public class ThreadsBenchmark {
+
+  @Param({"1000", "10000", "50000"})
+  public int threadCount;
+
+  private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+  private final CountDownLatch stop = new CountDownLatch(1);
+  private final List<Thread> threads = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    for (int i = 0; i < threadCount; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  stop.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              });
+      thread.setDaemon(i % 2 == 0);
+      thread.start();
+      threads.add(thread);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    stop.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+  }
+
+  @Benchmark
+  public long[] threadMxBean() {
+    return Threads.countThreadStates(threadBean);
+  }
+
+  @Benchmark
+  public long[] threadEnumeration() {
+    return Threads.countThreadStates(Threads.getThreads());
+  }
+}
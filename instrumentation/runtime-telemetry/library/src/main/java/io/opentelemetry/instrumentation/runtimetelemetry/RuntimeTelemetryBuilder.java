@@ -8,9 +8,12 @@ package io.opentelemetry.instrumentation.runtimetelemetry;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.LoggerBuilder;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterBuilder;
 import io.opentelemetry.instrumentation.api.config.IncludeExclude;
@@ -22,12 +25,16 @@ import io.opentelemetry.instrumentation.runtimetelemetry.internal.JmxRuntimeMetr
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
 /** Builder for {@link RuntimeTelemetry}. */
 public final class RuntimeTelemetryBuilder {
 
   private static final String DEFAULT_INSTRUMENTATION_NAME = "io.opentelemetry.runtime-telemetry";
+  // only selected when named explicitly, not through patterns or by selecting all JFR metrics
+  private static final Set<String> OPT_IN_JFR_METRICS = singleton("jvm.memory.allocation.sampled");
+
   private static final List<String> EXPERIMENTAL_JFR_METRICS =
       asList(
           // the jvm.buffer.* metrics overlap with JMX, and are filtered back out of the JFR
@@ -53,6 +60,7 @@ public final class RuntimeTelemetryBuilder {
   private boolean suppressOverlappingJmxMetrics = true;
   private boolean disableJmx;
   private boolean captureGcCause;
+  private boolean enableCpuProfiler;
   // For backward compatibility: support separate instrumentation names for JMX and JFR metrics
   @Nullable private String jmxInstrumentationName;
   @Nullable private String jfrInstrumentationName;
@@ -68,6 +76,8 @@ public final class RuntimeTelemetryBuilder {
     Internal.internalSetJfrMetrics((builder, selector) -> builder.jfrMetrics = selector);
     Internal.internalSetSuppressOverlappingJmxMetrics(
         (builder, suppress) -> builder.suppressOverlappingJmxMetrics = suppress);
+    Experimental.internalSetEnableCpuProfiler(
+        (builder, enable) -> builder.enableCpuProfiler = enable);
     Internal.internalSetCaptureGcCause((builder, capture) -> builder.captureGcCause = capture);
     Internal.internalSetUseLegacyJfrCpuCountMetric(
         (builder, useLegacy) -> builder.jfrConfig.setUseLegacyJfrCpuCountMetric(useLegacy));
@@ -99,11 +109,16 @@ public final class RuntimeTelemetryBuilder {
         jfrInstrumentationName != null ? jfrInstrumentationName : DEFAULT_INSTRUMENTATION_NAME;
 
     IncludeExclude effectiveJfrMetrics = getEffectiveJfrMetrics();
+    if (enableCpuProfiler) {
+      jfrConfig.setCpuProfilerLogger(getLogger(openTelemetry, jfrName));
+    }
     JfrConfig.JfrTelemetry jfrTelemetry =
-        effectiveJfrMetrics == null
+        effectiveJfrMetrics == null && !enableCpuProfiler
             ? new JfrConfig.JfrTelemetry(null, emptySet())
             : jfrConfig.buildJfrTelemetry(
-                effectiveJfrMetrics::matches,
+                effectiveJfrMetrics == null
+                    ? metricName -> false
+                    : jfrMetricNamePredicate(effectiveJfrMetrics),
                 getMeter(openTelemetry, jfrName),
                 suppressOverlappingJmxMetrics && !disableJmx,
                 emitExperimentalMetrics);
@@ -122,6 +137,13 @@ public final class RuntimeTelemetryBuilder {
     return new RuntimeTelemetry(observables, jfrTelemetry.getTelemetry());
   }
 
+  private static Predicate<String> jfrMetricNamePredicate(IncludeExclude jfrMetrics) {
+    return metricName ->
+        jfrMetrics.matches(metricName)
+            && (!OPT_IN_JFR_METRICS.contains(metricName)
+                || jfrMetrics.getIncluded().contains(metricName));
+  }
+
   @Nullable
   private IncludeExclude getEffectiveJfrMetrics() {
     IncludeExclude selector = jfrMetrics;
@@ -162,4 +184,13 @@ public final class RuntimeTelemetryBuilder {
     }
     return meterBuilder.build();
   }
+
+  private static Logger getLogger(OpenTelemetry openTelemetry, String instrumentationName) {
+    LoggerBuilder loggerBuilder = openTelemetry.getLogsBridge().loggerBuilder(instrumentationName);
+    String version = EmbeddedInstrumentationProperties.findVersion(DEFAULT_INSTRUMENTATION_NAME);
+    if (version != null) {
+      loggerBuilder.setInstrumentationVersion(version);
+    }
+    return loggerBuilder.build();
+  }
 }
@@ -59,6 +59,9 @@ public final class Experimental {
   @Nullable
   private static volatile BiConsumer<RuntimeTelemetryBuilder, Boolean> setPreferJfrMetrics;
 
+  @Nullable
+  private static volatile BiConsumer<RuntimeTelemetryBuilder, Boolean> setEnableCpuProfiler;
+
   /**
    * Sets whether experimental JMX-based metrics should be emitted. Experimental metrics are those
    * not marked as stable in the <a
@@ -148,5 +151,26 @@ public final class Experimental {
     }
   }
 
+  /**
+   * Sets whether the JFR CPU profiler should be enabled (Java 17+). The profiler attributes the
+   * {@code jdk.ExecutionSample} JFR events to the {@code http.route} of the HTTP server request
+   * that the sampled thread was handling and periodically emits the aggregated folded stacks with
+   * their sample counts as {@code jvm.cpu.profile} events.
+   *
+   * @param builder the runtime telemetry builder
+   * @param enableCpuProfiler {@code true} to enable the JFR CPU profiler
+   */
+  public static void setEnableCpuProfiler(
+      RuntimeTelemetryBuilder builder, boolean enableCpuProfiler) {
+    if (setEnableCpuProfiler != null) {
+      setEnableCpuProfiler.accept(builder, enableCpuProfiler);
+    }
+  }
+
+  public static void internalSetEnableCpuProfiler(
+      BiConsumer<RuntimeTelemetryBuilder, Boolean> setEnableCpuProfiler) {
+    Experimental.setEnableCpuProfiler = setEnableCpuProfiler;
+  }
+
   private Experimental() {}
 }
@@ -191,12 +191,17 @@ public final class Internal {
     boolean java17Enabled = java17Config.getBoolean("enabled", false);
     boolean java17EnableAll = java17Config.getBoolean("enable_all", false);
     JfrMetricSelection jfrMetricSelection = JfrMetricSelection.create(config);
+    boolean enableCpuProfiler =
+        config.get("cpu_profiler/development").getBoolean("enabled", false);
 
     if (!baseEnabled && !java17Enabled && !java17EnableAll) {
       return null; // Nothing is enabled
     }
 
     RuntimeTelemetryBuilder builder = RuntimeTelemetry.builder(openTelemetry);
+    if (enableCpuProfiler) {
+      Experimental.setEnableCpuProfiler(builder, true);
+    }
 
     // Preserve the deprecated Java 17 scopes and metric sets while honoring explicit exclusions.
     if (java17EnableAll) {
@@ -210,7 +215,7 @@ public final class Internal {
 
     // New unified config: handles both old java8 settings and new unified options
     if (baseEnabled) {
-      configureUnified(builder, config, jfrMetricSelection);
+      configureUnified(builder, config, jfrMetricSelection, enableCpuProfiler);
       return builder.build();
     }
 
@@ -273,10 +278,12 @@ public final class Internal {
   private static void configureUnified(
       RuntimeTelemetryBuilder builder,
       DeclarativeConfigProperties config,
-      JfrMetricSelection jfrMetricSelection) {
+      JfrMetricSelection jfrMetricSelection,
+      boolean enableCpuProfiler) {
     boolean emitExperimentalMetrics =
         config.getBoolean("emit_experimental_metrics/development", false);
-    boolean newConfig = emitExperimentalMetrics || jfrMetricSelection.isConfigured();
+    boolean newConfig =
+        emitExperimentalMetrics || enableCpuProfiler || jfrMetricSelection.isConfigured();
 
     if (newConfig) {
       // New unified config: Use new instrumentation name for both JMX and JFR
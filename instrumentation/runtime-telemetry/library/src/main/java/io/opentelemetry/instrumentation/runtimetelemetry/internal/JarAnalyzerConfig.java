@@ -62,5 +62,12 @@ public final class JarAnalyzerConfig {
     return DEFAULT_JARS_PER_SECOND;
   }
 
+  /** Returns the file that the package metadata is cached in across restarts, if configured. */
+  @Nullable
+  public static String getCacheFile(DeclarativeConfigProperties config) {
+    String cacheFile = config.getString("cache_file");
+    return cacheFile == null || cacheFile.isEmpty() ? null : cacheFile;
+  }
+
   private JarAnalyzerConfig() {}
 }
@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.runtimetelemetry.internal;
 import static java.util.Collections.emptySet;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.api.logs.Logger;
 import io.opentelemetry.api.metrics.Meter;
 import java.util.Collections;
 import java.util.HashSet;
@@ -34,6 +35,11 @@ public class JfrConfig {
     return this;
   }
 
+  @CanIgnoreReturnValue
+  public JfrConfig setCpuProfilerLogger(@Nullable Logger logger) {
+    return this;
+  }
+
   public JfrTelemetry buildJfrTelemetry(
       Predicate<String> metricNamePredicate,
       Meter meter,
@@ -0,0 +1,217 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimetelemetry.internal;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.instrumenter.ContextCustomizer;
+import io.opentelemetry.instrumentation.api.internal.HttpRouteState;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps track of the HTTP server requests handled by each thread, so that JFR events, which are
+ * only tied to the thread that emitted them, can be attributed to the {@code http.route} of the
+ * request that was being handled at the time of the event. Since JFR events are delivered with a
+ * delay, the last few finished requests of every thread are kept together with their start and end
+ * times. Tracking only happens while it is {@linkplain #setEnabled(boolean) enabled}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ServerRequestThreads {
+
+  private static final ContextKey<Request> REQUEST_KEY =
+      ContextKey.named("opentelemetry-runtime-telemetry-server-request");
+
+  // finished requests kept per thread for the JFR events that arrive after the request ended
+  private static final int HISTORY_SIZE = 8;
+
+  private static final Tracker TRACKER = new Tracker();
+
+  private static final long MAINTENANCE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+  // much longer than the delay with which JFR delivers events
+  private static final long INACTIVE_THREAD_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+  private static final Map<Long, History> histories = new ConcurrentHashMap<>();
+  // number of handlers that use the tracked requests
+  private static final AtomicInteger users = new AtomicInteger();
+  // difference between System.nanoTime() and the wall clock time in nanos, recalibrated
+  // periodically to follow wall clock adjustments
+  private static volatile long nanoTimeOffset;
+  private static volatile long lastMaintenanceNanoTime;
+
+  static {
+    calibrateClock(System.nanoTime());
+  }
+
+  /** Records the start of a server request in the history of the thread that handles it. */
+  static ContextCustomizer<Object> contextCustomizer() {
+    return TRACKER;
+  }
+
+  /** Records the end of a server request, adds no attributes. */
+  static AttributesExtractor<Object, Object> attributesExtractor() {
+    return TRACKER;
+  }
+
+  static boolean isEnabled() {
+    return users.get() > 0;
+  }
+
+  /**
+   * Enables or disables tracking. Each handler enables tracking while it is open, tracking stops
+   * when all of them have disabled it again.
+   */
+  public static void setEnabled(boolean enabled) {
+    if (enabled) {
+      users.incrementAndGet();
+    } else if (users.updateAndGet(count -> Math.max(count - 1, 0)) == 0) {
+      histories.clear();
+    }
+  }
+
+  /**
+   * Returns the {@code http.route} of the request that the thread with the given id was handling at
+   * the given {@link System#nanoTime()}, or {@code null} when it wasn't handling a request with a
+   * known route.
+   */
+  @Nullable
+  public static String getHttpRoute(long threadId, long nanoTime) {
+    History history = histories.get(threadId);
+    return history == null ? null : history.getHttpRoute(nanoTime);
+  }
+
+  /**
+   * Converts the wall clock time of a JFR event to the {@link System#nanoTime()} based times used
+   * by {@link #getHttpRoute(long, long)}.
+   */
+  public static long toNanoTime(Instant time) {
+    long now = System.nanoTime();
+    if (now - lastMaintenanceNanoTime > MAINTENANCE_INTERVAL_NANOS) {
+      calibrateClock(now);
+      removeInactive(now - INACTIVE_THREAD_NANOS);
+    }
+    return toEpochNanos(time) + nanoTimeOffset;
+  }
+
+  private static void calibrateClock(long now) {
+    nanoTimeOffset = now - toEpochNanos(Instant.now());
+    lastMaintenanceNanoTime = now;
+  }
+
+  private static long toEpochNanos(Instant instant) {
+    return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+  }
+
+  // Visible for testing
+  static void removeInactive(long nanoTime) {
+    histories.values().removeIf(history -> history.isInactiveSince(nanoTime));
+  }
+
+  private static final class Tracker
+      implements ContextCustomizer<Object>, AttributesExtractor<Object, Object> {
+
+    @Override
+    public Context onStart(Context context, Object request, Attributes startAttributes) {
+      if (users.get() == 0) {
+        return context;
+      }
+      long threadId = Thread.currentThread().getId();
+      Request serverRequest =
+          new Request(HttpRouteState.fromContextOrNull(context), System.nanoTime());
+      History history = histories.get(threadId);
+      if (history == null) {
+        history = new History();
+        History previous = histories.putIfAbsent(threadId, history);
+        if (previous != null) {
+          history = previous;
+        }
+      }
+      history.start(serverRequest);
+      return context.with(REQUEST_KEY, serverRequest);
+    }
+
+    @Override
+    public void onStart(AttributesBuilder attributes, Context parentContext, Object request) {}
+
+    @Override
+    public void onEnd(
+        AttributesBuilder attributes,
+        Context context,
+        Object request,
+        @Nullable Object response,
+        @Nullable Throwable error) {
+      Request serverRequest = context.get(REQUEST_KEY);
+      if (serverRequest != null) {
+        // the request may end on a different thread than the one it was started on, the end time
+        // is enough for the history of the thread it was started on to see that it has ended
+        serverRequest.endNanoTime = System.nanoTime();
+      }
+    }
+  }
+
+  private static final class Request {
+    @Nullable private final HttpRouteState routeState;
+    private final long startNanoTime;
+    // 0 while the request is in progress
+    private volatile long endNanoTime;
+
+    private Request(@Nullable HttpRouteState routeState, long startNanoTime) {
+      this.routeState = routeState;
+      this.startNanoTime = startNanoTime;
+    }
+
+    private boolean contains(long nanoTime) {
+      long end = endNanoTime;
+      return nanoTime - startNanoTime >= 0 && (end == 0 || end - nanoTime >= 0);
+    }
+  }
+
+  private static final class History {
+    // ring buffer of the most recently started requests
+    private final Request[] requests = new Request[HISTORY_SIZE];
+    private int next;
+
+    private synchronized void start(Request request) {
+      requests[next] = request;
+      next = (next + 1) % HISTORY_SIZE;
+    }
+
+    @Nullable
+    private synchronized String getHttpRoute(long nanoTime) {
+      // look at the most recent requests first
+      for (int i = 1; i <= HISTORY_SIZE; i++) {
+        Request request = requests[(next - i + HISTORY_SIZE) % HISTORY_SIZE];
+        if (request == null) {
+          return null;
+        }
+        if (request.contains(nanoTime)) {
+          return request.routeState == null ? null : request.routeState.getRoute();
+        }
+      }
+      return null;
+    }
+
+    private synchronized boolean isInactiveSince(long nanoTime) {
+      Request last = requests[(next - 1 + HISTORY_SIZE) % HISTORY_SIZE];
+      if (last == null) {
+        return true;
+      }
+      long end = last.endNanoTime;
+      return end != 0 && nanoTime - end > 0;
+    }
+  }
+
+  private ServerRequestThreads() {}
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimetelemetry.internal;
+
+import io.opentelemetry.instrumentation.api.incubator.instrumenter.InstrumenterCustomizer;
+import io.opentelemetry.instrumentation.api.incubator.instrumenter.InstrumenterCustomizer.InstrumentationType;
+import io.opentelemetry.instrumentation.api.incubator.instrumenter.InstrumenterCustomizerProvider;
+
+/**
+ * Adds the {@link ServerRequestThreads} tracking to HTTP server instrumenters that are built while
+ * tracking is enabled, i.e. while a JFR metric that uses it is enabled. The javaagent enables these
+ * metrics before any HTTP server instrumenter is built.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ServerRequestThreadsCustomizerProvider
+    implements InstrumenterCustomizerProvider {
+
+  @Override
+  public void customize(InstrumenterCustomizer customizer) {
+    if (customizer.hasType(InstrumentationType.HTTP_SERVER) && ServerRequestThreads.isEnabled()) {
+      customizer.addContextCustomizer(ServerRequestThreads.contextCustomizer());
+      customizer.addAttributesExtractor(ServerRequestThreads.attributesExtractor());
+    }
+  }
+}
@@ -19,10 +19,8 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -108,27 +106,40 @@ public class Threads {
     return !isJava9OrNewer() || isNativeExecution;
   }
 
+  private static final Attributes DAEMON_ATTRIBUTES = Attributes.of(JVM_THREAD_DAEMON, true);
+  private static final Attributes NON_DAEMON_ATTRIBUTES = Attributes.of(JVM_THREAD_DAEMON, false);
+
+  private static final Thread.State[] THREAD_STATES = Thread.State.values();
+  // attributes for every daemon and thread state combination, indexed by threadStateIndex()
+  private static final Attributes[] THREAD_STATE_ATTRIBUTES = buildThreadStateAttributes();
+
+  private static Attributes[] buildThreadStateAttributes() {
+    Attributes[] attributes = new Attributes[2 * THREAD_STATES.length];
+    for (Thread.State state : THREAD_STATES) {
+      String threadState = state.name().toLowerCase(Locale.ROOT);
+      attributes[threadStateIndex(false, state)] =
+          Attributes.of(JVM_THREAD_DAEMON, false, JVM_THREAD_STATE, threadState);
+      attributes[threadStateIndex(true, state)] =
+          Attributes.of(JVM_THREAD_DAEMON, true, JVM_THREAD_STATE, threadState);
+    }
+    return attributes;
+  }
+
+  private static int threadStateIndex(boolean isDaemon, Thread.State state) {
+    return (isDaemon ? THREAD_STATES.length : 0) + state.ordinal();
+  }
+
   private static Consumer<ObservableLongMeasurement> java8Callback(ThreadMXBean threadBean) {
     return measurement -> {
       int daemonThreadCount = threadBean.getDaemonThreadCount();
-      measurement.record(
-          daemonThreadCount, Attributes.builder().put(JVM_THREAD_DAEMON, true).build());
-      measurement.record(
-          threadBean.getThreadCount() - daemonThreadCount,
-          Attributes.builder().put(JVM_THREAD_DAEMON, false).build());
+      measurement.record(daemonThreadCount, DAEMON_ATTRIBUTES);
+      measurement.record(threadBean.getThreadCount() - daemonThreadCount, NON_DAEMON_ATTRIBUTES);
     };
   }
 
   private static Consumer<ObservableLongMeasurement> java8ThreadCallback(
       Supplier<Thread[]> supplier) {
-    return measurement -> {
-      Map<Attributes, Long> counts = new HashMap<>();
-      for (Thread thread : supplier.get()) {
-        Attributes threadAttributes = threadAttributes(thread);
-        counts.compute(threadAttributes, (k, value) -> value == null ? 1 : value + 1);
-      }
-      counts.forEach((threadAttributes, count) -> measurement.record(count, threadAttributes));
-    };
+    return measurement -> recordThreadStateCounts(measurement, countThreadStates(supplier.get()));
   }
 
   // Visible for testing
@@ -151,35 +162,51 @@ public class Threads {
 
   private static Consumer<ObservableLongMeasurement> java9AndNewerCallback(
       ThreadMXBean threadBean) {
-    return measurement -> {
-      Map<Attributes, Long> counts = new HashMap<>();
-      long[] threadIds = threadBean.getAllThreadIds();
-      for (ThreadInfo threadInfo : threadBean.getThreadInfo(threadIds)) {
-        if (threadInfo == null) {
-          continue;
-        }
-        Attributes threadAttributes = threadAttributes(threadInfo);
-        counts.compute(threadAttributes, (k, value) -> value == null ? 1 : value + 1);
+    return measurement -> recordThreadStateCounts(measurement, countThreadStates(threadBean));
+  }
+
+  // Visible for benchmarks
+  static long[] countThreadStates(Thread[] threads) {
+    long[] counts = new long[THREAD_STATE_ATTRIBUTES.length];
+    for (Thread thread : threads) {
+      // the array returned by getThreads() may have trailing empty slots
+      if (thread == null) {
+        continue;
       }
-      counts.forEach((threadAttributes, count) -> measurement.record(count, threadAttributes));
-    };
+      counts[threadStateIndex(thread.isDaemon(), thread.getState())]++;
+    }
+    return counts;
+  }
+
+  // Visible for benchmarks
+  static long[] countThreadStates(ThreadMXBean threadBean) {
+    long[] counts = new long[THREAD_STATE_ATTRIBUTES.length];
+    // without a stack trace to capture, getThreadInfo() doesn't need to stop the world
+    long[] threadIds = threadBean.getAllThreadIds();
+    for (ThreadInfo threadInfo : threadBean.getThreadInfo(threadIds)) {
+      if (threadInfo == null) {
+        continue;
+      }
+      counts[threadStateIndex(isDaemon(threadInfo), threadInfo.getThreadState())]++;
+    }
+    return counts;
   }
 
-  private static Attributes threadAttributes(ThreadInfo threadInfo) {
-    boolean isDaemon;
+  private static void recordThreadStateCounts(
+      ObservableLongMeasurement measurement, long[] counts) {
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] != 0) {
+        measurement.record(counts[i], THREAD_STATE_ATTRIBUTES[i]);
+      }
+    }
+  }
+
+  private static boolean isDaemon(ThreadInfo threadInfo) {
     try {
-      isDaemon = (boolean) requireNonNull(THREAD_INFO_IS_DAEMON).invoke(threadInfo);
+      return (boolean) requireNonNull(THREAD_INFO_IS_DAEMON).invoke(threadInfo);
     } catch (Throwable t) {
       throw new IllegalStateException("Unexpected error happened during ThreadInfo#isDaemon()", t);
     }
-    String threadState = threadInfo.getThreadState().name().toLowerCase(Locale.ROOT);
-    return Attributes.of(JVM_THREAD_DAEMON, isDaemon, JVM_THREAD_STATE, threadState);
-  }
-
-  private static Attributes threadAttributes(Thread thread) {
-    boolean isDaemon = thread.isDaemon();
-    String threadState = thread.getState().name().toLowerCase(Locale.ROOT);
-    return Attributes.of(JVM_THREAD_DAEMON, isDaemon, JVM_THREAD_STATE, threadState);
   }
 
   protected Threads() {}
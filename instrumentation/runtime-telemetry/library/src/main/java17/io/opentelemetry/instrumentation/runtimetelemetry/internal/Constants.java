@@ -51,6 +51,11 @@ public final class Constants {
   public static final String METRIC_NAME_MEMORY_ALLOCATION = "jvm.memory.allocation";
   public static final String METRIC_DESCRIPTION_MEMORY_ALLOCATION =
       "Measure of memory allocations.";
+  public static final String METRIC_NAME_MEMORY_ALLOCATION_SAMPLED =
+      "jvm.memory.allocation.sampled";
+  public static final String METRIC_DESCRIPTION_MEMORY_ALLOCATION_SAMPLED =
+      "Estimated bytes allocated by the JVM, sampled by JFR and attributed to the HTTP server route"
+          + " handled by the allocating thread.";
   public static final String METRIC_NAME_MEMORY_INIT = "jvm.memory.init";
   public static final String METRIC_DESCRIPTION_MEMORY_INIT =
       "Measure of initial memory requested.";
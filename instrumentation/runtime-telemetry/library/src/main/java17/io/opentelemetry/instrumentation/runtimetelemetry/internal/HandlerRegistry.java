@@ -20,6 +20,7 @@ import io.opentelemetry.instrumentation.runtimetelemetry.internal.memory.G1HeapS
 import io.opentelemetry.instrumentation.runtimetelemetry.internal.memory.MetaspaceSummaryHandler;
 import io.opentelemetry.instrumentation.runtimetelemetry.internal.memory.ObjectAllocationInNewTlabHandler;
 import io.opentelemetry.instrumentation.runtimetelemetry.internal.memory.ObjectAllocationOutsideTlabHandler;
+import io.opentelemetry.instrumentation.runtimetelemetry.internal.memory.ObjectAllocationSampleHandler;
 import io.opentelemetry.instrumentation.runtimetelemetry.internal.memory.ParallelHeapSummaryHandler;
 import io.opentelemetry.instrumentation.runtimetelemetry.internal.network.NetworkReadHandler;
 import io.opentelemetry.instrumentation.runtimetelemetry.internal.network.NetworkWriteHandler;
@@ -151,6 +152,11 @@ final class HandlerRegistry {
         availableEventNames,
         "jdk.ObjectAllocationOutsideTLAB",
         () -> ObjectAllocationOutsideTlabHandler.create(meter, effectiveMetricNamePredicate));
+    addIfAvailable(
+        handlers,
+        availableEventNames,
+        "jdk.ObjectAllocationSample",
+        () -> ObjectAllocationSampleHandler.create(meter, effectiveMetricNamePredicate));
     addIfAvailable(
         handlers,
         availableEventNames,
@@ -8,8 +8,11 @@ package io.opentelemetry.instrumentation.runtimetelemetry.internal;
 import static java.util.Collections.emptySet;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.api.logs.Logger;
 import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.instrumentation.runtimetelemetry.internal.cpu.ExecutionSampleHandler;
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +34,7 @@ import jdk.jfr.consumer.RecordingStream;
 public class JfrConfig {
 
   private boolean useLegacyCpuCountMetric = false;
+  @Nullable private Logger cpuProfilerLogger;
 
   public static JfrConfig create() {
     return new JfrConfig();
@@ -48,6 +52,16 @@ public class JfrConfig {
     return this;
   }
 
+  /**
+   * Sets the logger used to emit the {@code jvm.cpu.profile} events of the CPU profiler. The
+   * profiler is only enabled when a logger is set.
+   */
+  @CanIgnoreReturnValue
+  public JfrConfig setCpuProfilerLogger(@Nullable Logger logger) {
+    this.cpuProfilerLogger = logger;
+    return this;
+  }
+
   public JfrTelemetry buildJfrTelemetry(
       Predicate<String> metricNamePredicate,
       Meter meter,
@@ -59,7 +73,8 @@ public class JfrConfig {
             metricNamePredicate,
             useLegacyCpuCountMetric,
             requireCompleteJmxReplacement,
-            emitExperimentalJmxMetrics);
+            emitExperimentalJmxMetrics,
+            cpuProfilerLogger);
     if (telemetry == null) {
       return new JfrTelemetry(null, emptySet());
     }
@@ -112,6 +127,7 @@ public class JfrConfig {
             EventSettings eventSettings = recordingStream.enable(handler.getEventName());
             handler.getPollingDuration().ifPresent(eventSettings::withPeriod);
             handler.getThreshold().ifPresent(eventSettings::withThreshold);
+            handler.getThrottle().ifPresent(throttle -> eventSettings.with("throttle", throttle));
             recordingStream.onEvent(handler.getEventName(), handler);
           });
       recordingStream.onMetadata(event -> startUpLatch.countDown());
@@ -143,17 +159,22 @@ public class JfrConfig {
         Predicate<String> metricNamePredicate,
         boolean useLegacyCpuCountMetric,
         boolean requireCompleteJmxReplacement,
-        boolean emitExperimentalJmxMetrics) {
+        boolean emitExperimentalJmxMetrics,
+        @Nullable Logger cpuProfilerLogger) {
       if (!isJfrAvailable()) {
         return null;
       }
       List<RecordedEventHandler> handlers =
-          HandlerRegistry.getHandlers(
-              meter,
-              metricNamePredicate,
-              useLegacyCpuCountMetric,
-              requireCompleteJmxReplacement,
-              emitExperimentalJmxMetrics);
+          new ArrayList<>(
+              HandlerRegistry.getHandlers(
+                  meter,
+                  metricNamePredicate,
+                  useLegacyCpuCountMetric,
+                  requireCompleteJmxReplacement,
+                  emitExperimentalJmxMetrics));
+      if (cpuProfilerLogger != null) {
+        handlers.add(new ExecutionSampleHandler(cpuProfilerLogger));
+      }
       if (handlers.isEmpty()) {
         return null;
       }
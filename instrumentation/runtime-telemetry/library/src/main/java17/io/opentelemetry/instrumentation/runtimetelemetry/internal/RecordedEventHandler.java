@@ -75,6 +75,16 @@ public interface RecordedEventHandler
     return Optional.empty();
   }
 
+  /**
+   * Optionally returns a throttle for JFR events that support it, if present
+   *
+   * @return {@link Optional} of the throttle setting, e.g. {@code 100/s}; empty {@link Optional} if
+   *     not throttled
+   */
+  default Optional<String> getThrottle() {
+    return Optional.empty();
+  }
+
   static void closeObservables(List<AutoCloseable> observables) {
     observables.forEach(
         observable -> {
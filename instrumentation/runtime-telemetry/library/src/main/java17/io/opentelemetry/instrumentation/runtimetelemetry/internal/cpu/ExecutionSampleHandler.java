@@ -0,0 +1,186 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimetelemetry.internal.cpu;
+
+import static io.opentelemetry.semconv.HttpAttributes.HTTP_ROUTE;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.instrumentation.runtimetelemetry.internal.RecordedEventHandler;
+import io.opentelemetry.instrumentation.runtimetelemetry.internal.ServerRequestThreads;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+
+/**
+ * This class handles the CPU execution sample JFR events. Samples taken while a thread was handling
+ * a server request are attributed to the {@code http.route} of that request, as tracked by {@link
+ * ServerRequestThreads}, and aggregated into folded stacks that are periodically emitted as {@code
+ * jvm.cpu.profile} events.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ExecutionSampleHandler implements RecordedEventHandler {
+  private static final String EVENT_NAME = "jdk.ExecutionSample";
+  private static final String PROFILE_EVENT_NAME = "jvm.cpu.profile";
+  private static final AttributeKey<Long> SAMPLE_COUNT = AttributeKey.longKey("jvm.cpu.samples");
+
+  private static final Duration SAMPLING_PERIOD = Duration.ofMillis(20);
+  private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(60);
+  private static final int MAX_FRAMES = 64;
+  // bounds the memory used between two flushes, stacks seen after reaching it are dropped
+  private static final int MAX_STACKS = 10_000;
+
+  private final Logger logger;
+  private final RouteLookup routeLookup;
+  private final int maxStacks;
+  private final ScheduledExecutorService flushExecutor;
+  // route -> folded stack -> sample count, guarded by this
+  private final Map<String, Map<String, long[]>> samples = new HashMap<>();
+  private final StringBuilder stackBuilder = new StringBuilder();
+  private int stackCount;
+
+  public ExecutionSampleHandler(Logger logger) {
+    this(
+        logger,
+        (threadId, time) ->
+            ServerRequestThreads.getHttpRoute(threadId, ServerRequestThreads.toNanoTime(time)),
+        MAX_STACKS,
+        FLUSH_INTERVAL);
+  }
+
+  // Visible for testing
+  ExecutionSampleHandler(
+      Logger logger, RouteLookup routeLookup, int maxStacks, Duration flushInterval) {
+    this.logger = logger;
+    this.routeLookup = routeLookup;
+    this.maxStacks = maxStacks;
+    ServerRequestThreads.setEnabled(true);
+    // flushing can't wait for the next sample, none arrive while the application is idle
+    flushExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "OpenTelemetry JFR-CPU-Profile-Flusher");
+              thread.setDaemon(true);
+              thread.setContextClassLoader(null);
+              return thread;
+            });
+    long intervalMillis = flushInterval.toMillis();
+    flushExecutor.scheduleAtFixedRate(
+        this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public Set<String> getMetricNames() {
+    return Set.of();
+  }
+
+  @Override
+  public Optional<Duration> getPollingDuration() {
+    return Optional.of(SAMPLING_PERIOD);
+  }
+
+  @Override
+  public synchronized void accept(RecordedEvent ev) {
+    RecordedThread thread = ev.getThread("sampledThread");
+    RecordedStackTrace stackTrace = ev.getStackTrace();
+    if (thread == null || stackTrace == null) {
+      return;
+    }
+    String route = routeLookup.getHttpRoute(thread.getJavaThreadId(), ev.getStartTime());
+    if (route != null) {
+      record(route, stackTrace.getFrames());
+    }
+  }
+
+  private void record(String route, List<RecordedFrame> frames) {
+    String stack = fold(frames);
+    Map<String, long[]> stacks = samples.get(route);
+    long[] count = stacks == null ? null : stacks.get(stack);
+    if (count == null) {
+      if (stackCount >= maxStacks) {
+        return;
+      }
+      if (stacks == null) {
+        stacks = new HashMap<>();
+        samples.put(route, stacks);
+      }
+      count = new long[1];
+      stacks.put(stack, count);
+      stackCount++;
+    }
+    count[0]++;
+  }
+
+  // frames are ordered from the leaf to the root, folded stacks list them from the root
+  private String fold(List<RecordedFrame> frames) {
+    StringBuilder sb = stackBuilder;
+    sb.setLength(0);
+    int depth = Math.min(frames.size(), MAX_FRAMES);
+    for (int i = depth - 1; i >= 0; i--) {
+      RecordedMethod method = frames.get(i).getMethod();
+      if (sb.length() > 0) {
+        sb.append(';');
+      }
+      if (method == null) {
+        sb.append("unknown");
+      } else {
+        sb.append(method.getType().getName()).append('.').append(method.getName());
+      }
+    }
+    return sb.toString();
+  }
+
+  // Visible for testing
+  synchronized void flush() {
+    for (Map.Entry<String, Map<String, long[]>> routeSamples : samples.entrySet()) {
+      String route = routeSamples.getKey();
+      for (Map.Entry<String, long[]> stackSamples : routeSamples.getValue().entrySet()) {
+        logger
+            .logRecordBuilder()
+            .setEventName(PROFILE_EVENT_NAME)
+            .setBody(stackSamples.getKey())
+            .setAttribute(HTTP_ROUTE, route)
+            .setAttribute(SAMPLE_COUNT, stackSamples.getValue()[0])
+            .emit();
+      }
+    }
+    samples.clear();
+    stackCount = 0;
+  }
+
+  @Override
+  public void close() {
+    flushExecutor.shutdown();
+    flush();
+    ServerRequestThreads.setEnabled(false);
+  }
+
+  /** Looks up the {@code http.route} of the request a thread was handling at the given time. */
+  interface RouteLookup {
+    @Nullable
+    String getHttpRoute(long threadId, Instant time);
+  }
+}
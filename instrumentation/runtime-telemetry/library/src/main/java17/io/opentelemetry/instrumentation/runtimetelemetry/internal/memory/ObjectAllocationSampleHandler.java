@@ -0,0 +1,107 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimetelemetry.internal.memory;
+
+import static io.opentelemetry.semconv.HttpAttributes.HTTP_ROUTE;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.instrumentation.runtimetelemetry.internal.Constants;
+import io.opentelemetry.instrumentation.runtimetelemetry.internal.RecordedEventHandler;
+import io.opentelemetry.instrumentation.runtimetelemetry.internal.ServerRequestThreads;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+
+/**
+ * This class handles the throttled allocation sample JFR events, and attributes the estimated
+ * allocated bytes to the {@code http.route} of the server request that the allocating thread was
+ * handling, as tracked by {@link ServerRequestThreads}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ObjectAllocationSampleHandler implements RecordedEventHandler {
+  private static final String EVENT_NAME = "jdk.ObjectAllocationSample";
+  private static final String WEIGHT = "weight";
+  // JFR emits at most this many samples, which bounds the overhead of the attribution
+  private static final String THROTTLE = "150/s";
+  private static final int MAX_ROUTES = 1000;
+
+  private final LongCounter counter;
+  // only accessed from the JFR event stream thread
+  private final Map<String, Attributes> routeAttributes = new HashMap<>();
+
+  @Nullable
+  public static ObjectAllocationSampleHandler create(
+      Meter meter, Predicate<String> metricNamePredicate) {
+    return metricNamePredicate.test(Constants.METRIC_NAME_MEMORY_ALLOCATION_SAMPLED)
+        ? new ObjectAllocationSampleHandler(meter)
+        : null;
+  }
+
+  public ObjectAllocationSampleHandler(Meter meter) {
+    counter =
+        meter
+            .counterBuilder(Constants.METRIC_NAME_MEMORY_ALLOCATION_SAMPLED)
+            .setDescription(Constants.METRIC_DESCRIPTION_MEMORY_ALLOCATION_SAMPLED)
+            .setUnit(Constants.BYTES)
+            .build();
+    ServerRequestThreads.setEnabled(true);
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public Set<String> getMetricNames() {
+    return Set.of(Constants.METRIC_NAME_MEMORY_ALLOCATION_SAMPLED);
+  }
+
+  @Override
+  public Optional<String> getThrottle() {
+    return Optional.of(THROTTLE);
+  }
+
+  @Override
+  public void accept(RecordedEvent ev) {
+    String route = null;
+    RecordedThread thread = ev.getThread();
+    if (thread != null) {
+      route =
+          ServerRequestThreads.getHttpRoute(
+              thread.getJavaThreadId(), ServerRequestThreads.toNanoTime(ev.getStartTime()));
+    }
+    counter.add(ev.getLong(WEIGHT), getAttributes(route));
+  }
+
+  private Attributes getAttributes(@Nullable String route) {
+    if (route == null) {
+      return Attributes.empty();
+    }
+    Attributes attributes = routeAttributes.get(route);
+    if (attributes == null) {
+      attributes = Attributes.of(HTTP_ROUTE, route);
+      if (routeAttributes.size() < MAX_ROUTES) {
+        routeAttributes.put(route, attributes);
+      }
+    }
+    return attributes;
+  }
+
+  @Override
+  public void close() {
+    ServerRequestThreads.setEnabled(false);
+  }
+}
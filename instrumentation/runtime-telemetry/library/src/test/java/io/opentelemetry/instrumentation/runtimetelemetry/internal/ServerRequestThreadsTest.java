@@ -0,0 +1,85 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimetelemetry.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.instrumenter.AttributesExtractor;
+import io.opentelemetry.instrumentation.api.instrumenter.ContextCustomizer;
+import io.opentelemetry.instrumentation.api.internal.HttpRouteState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ServerRequestThreadsTest {
+
+  private static final Object REQUEST = new Object();
+
+  private final ContextCustomizer<Object> contextCustomizer =
+      ServerRequestThreads.contextCustomizer();
+  private final AttributesExtractor<Object, Object> attributesExtractor =
+      ServerRequestThreads.attributesExtractor();
+  private final long threadId = Thread.currentThread().getId();
+
+  @AfterEach
+  void tearDown() {
+    ServerRequestThreads.setEnabled(false);
+  }
+
+  @Test
+  void attributesToRequestHandledAtTheTime() {
+    ServerRequestThreads.setEnabled(true);
+    assertThat(ServerRequestThreads.isEnabled()).isTrue();
+
+    long beforeFirst = System.nanoTime();
+    HttpRouteState firstRoute = HttpRouteState.create("GET", null, 0);
+    Context first = start(firstRoute.storeInContext(Context.root()));
+    // the route is usually only known after the request has started
+    firstRoute.update(first, 1, "/first");
+    long duringFirst = System.nanoTime();
+    waitForNanoTimeAfter(duringFirst);
+    end(first);
+    waitForNanoTimeAfter(System.nanoTime());
+
+    Context second =
+        start(HttpRouteState.create("GET", "/second", 1).storeInContext(Context.root()));
+    long duringSecond = System.nanoTime();
+
+    assertThat(ServerRequestThreads.getHttpRoute(threadId, beforeFirst - 1)).isNull();
+    assertThat(ServerRequestThreads.getHttpRoute(threadId, duringFirst)).isEqualTo("/first");
+    assertThat(ServerRequestThreads.getHttpRoute(threadId, duringSecond)).isEqualTo("/second");
+    assertThat(ServerRequestThreads.getHttpRoute(threadId + 1, duringSecond)).isNull();
+
+    end(second);
+    ServerRequestThreads.removeInactive(System.nanoTime() + 1);
+    assertThat(ServerRequestThreads.getHttpRoute(threadId, duringSecond)).isNull();
+  }
+
+  @Test
+  void doesNotTrackWhenDisabled() {
+    assertThat(ServerRequestThreads.isEnabled()).isFalse();
+    Context context =
+        start(HttpRouteState.create("GET", "/route", 1).storeInContext(Context.root()));
+
+    assertThat(ServerRequestThreads.getHttpRoute(threadId, System.nanoTime())).isNull();
+    end(context);
+  }
+
+  private Context start(Context parentContext) {
+    return contextCustomizer.onStart(parentContext, REQUEST, Attributes.empty());
+  }
+
+  private void end(Context context) {
+    attributesExtractor.onEnd(Attributes.builder(), context, REQUEST, null, null);
+  }
+
+  private static void waitForNanoTimeAfter(long nanoTime) {
+    while (System.nanoTime() == nanoTime) {
+      Thread.yield();
+    }
+  }
+}
@@ -17,11 +17,14 @@ import io.opentelemetry.api.incubator.ExtendedOpenTelemetry;
 import io.opentelemetry.api.incubator.config.DeclarativeConfigProperties;
 import io.opentelemetry.instrumentation.runtimetelemetry.internal.Internal;
 import io.opentelemetry.instrumentation.runtimetelemetry.internal.JfrConfig;
+import io.opentelemetry.instrumentation.runtimetelemetry.internal.cpu.ExecutionSampleHandler;
 import io.opentelemetry.instrumentation.testing.internal.AutoCleanupExtension;
 import jdk.jfr.FlightRecorder;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class InternalJfrConfigTest {
 
@@ -84,6 +87,25 @@ class InternalJfrConfigTest {
         .doesNotContain("jvm.cpu.longlock", "jvm.class.count");
   }
 
+  // "" is the unified configuration, the others are the deprecated java17 flags
+  @ParameterizedTest
+  @ValueSource(strings = {"", "enabled", "enable_all"})
+  void cpuProfilerIsEnabledOnEveryConfigurationPath(String java17Flag) {
+    ensureJfrAvailable();
+
+    TestConfig config = new TestConfig();
+    when(config.runtimeTelemetry.get("cpu_profiler/development").getBoolean("enabled", false))
+        .thenReturn(true);
+    if (!java17Flag.isEmpty()) {
+      when(config.runtimeTelemetryJava17.getBoolean(java17Flag, false)).thenReturn(true);
+    }
+
+    JfrConfig.JfrRuntimeMetrics jfrRuntimeMetrics = config.configureJfr();
+
+    assertThat(jfrRuntimeMetrics.getRecordedEventHandlers())
+        .hasAtLeastOneElementOfType(ExecutionSampleHandler.class);
+  }
+
   private static void ensureJfrAvailable() {
     try {
       Class.forName("jdk.jfr.FlightRecorder");
@@ -20,6 +20,7 @@ import io.opentelemetry.sdk.metrics.SdkMeterProvider;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import java.util.Collection;
+import java.util.Set;
 import jdk.jfr.FlightRecorder;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
@@ -93,6 +94,17 @@ class RuntimeTelemetryBuilderTest {
         .containsExactlyInAnyOrder("jvm.cpu.longlock", "jvm.class.count");
   }
 
+  @Test
+  void allocationSampledMetricIsOnlySelectedByName() {
+    assertThat(jfrMetricNames(include("*"))).doesNotContain("jvm.memory.allocation.sampled");
+    assertThat(jfrMetricNames(include("jvm.memory.*")))
+        .doesNotContain("jvm.memory.allocation.sampled");
+    assertThat(jfrMetricNames(IncludeExclude.builder().setExcluded(singletonList("x")).build()))
+        .doesNotContain("jvm.memory.allocation.sampled");
+    assertThat(jfrMetricNames(include("jvm.memory.allocation.sampled")))
+        .containsExactly("jvm.memory.allocation.sampled");
+  }
+
   @Test
   void selectorMatchingNoMetricsDoesNotStartRecording() {
     RuntimeTelemetryBuilder builder = RuntimeTelemetry.builder(OpenTelemetry.noop());
@@ -324,6 +336,17 @@ class RuntimeTelemetryBuilderTest {
     return new TestTelemetry(reader);
   }
 
+  private Set<String> jfrMetricNames(IncludeExclude jfrMetrics) {
+    RuntimeTelemetryBuilder builder = RuntimeTelemetry.builder(OpenTelemetry.noop());
+    Experimental.setJfrMetrics(builder, jfrMetrics);
+    RuntimeTelemetry runtimeTelemetry = builder.build();
+    try {
+      return ((JfrConfig.JfrRuntimeMetrics) runtimeTelemetry.getJfrTelemetry()).getMetricNames();
+    } finally {
+      runtimeTelemetry.close();
+    }
+  }
+
   private static IncludeExclude include(String... patterns) {
     return IncludeExclude.builder().setIncluded(asList(patterns)).build();
   }
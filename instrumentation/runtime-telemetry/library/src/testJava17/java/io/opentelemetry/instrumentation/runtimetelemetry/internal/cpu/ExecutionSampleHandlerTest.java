@@ -0,0 +1,204 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.runtimetelemetry.internal.cpu;
+
+import static io.opentelemetry.semconv.HttpAttributes.HTTP_ROUTE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ExecutionSampleHandlerTest {
+
+  private static final AttributeKey<Long> SAMPLE_COUNT = AttributeKey.longKey("jvm.cpu.samples");
+  private static final Duration NEVER = Duration.ofDays(1);
+
+  private final InMemoryLogRecordExporter exporter = InMemoryLogRecordExporter.create();
+  private final SdkLoggerProvider loggerProvider =
+      SdkLoggerProvider.builder()
+          .addLogRecordProcessor(SimpleLogRecordProcessor.create(exporter))
+          .build();
+  // thread id -> route of the request it is handling
+  private final Map<Long, String> routes = new HashMap<>();
+  private final List<ExecutionSampleHandler> handlers = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    handlers.forEach(ExecutionSampleHandler::close);
+    loggerProvider.close();
+  }
+
+  @Test
+  void foldsStacksPerRoute() {
+    ExecutionSampleHandler handler = handler(100, NEVER);
+    routes.put(1L, "/users/{id}");
+    routes.put(2L, "/orders");
+
+    handler.accept(sample(1, "app.Main.run", "app.Users.get", "app.Db.query"));
+    handler.accept(sample(1, "app.Main.run", "app.Users.get", "app.Db.query"));
+    handler.accept(sample(1, "app.Main.run", "app.Users.get"));
+    handler.accept(sample(2, "app.Main.run", "app.Users.get", "app.Db.query"));
+    handler.accept(sample(2, "app.Main.run", null));
+    // not handling a request
+    handler.accept(sample(3, "app.Main.run", "app.Users.get", "app.Db.query"));
+    handler.flush();
+
+    assertThat(profiles())
+        .containsExactlyInAnyOrder(
+            "/users/{id} app.Main.run;app.Users.get;app.Db.query 2",
+            "/users/{id} app.Main.run;app.Users.get 1",
+            "/orders app.Main.run;app.Users.get;app.Db.query 1",
+            "/orders app.Main.run;unknown 1");
+    assertThat(exporter.getFinishedLogRecordItems())
+        .allSatisfy(log -> assertThat(log.getEventName()).isEqualTo("jvm.cpu.profile"));
+  }
+
+  @Test
+  void flushStartsOver() {
+    ExecutionSampleHandler handler = handler(100, NEVER);
+    routes.put(1L, "/users/{id}");
+
+    handler.accept(sample(1, "app.Main.run", "app.Users.get"));
+    handler.flush();
+    handler.accept(sample(1, "app.Main.run", "app.Users.get"));
+    handler.flush();
+    handler.flush();
+
+    assertThat(profiles())
+        .containsExactly(
+            "/users/{id} app.Main.run;app.Users.get 1", "/users/{id} app.Main.run;app.Users.get 1");
+  }
+
+  @Test
+  void dropsNewStacksOverTheLimitUntilTheNextFlush() {
+    ExecutionSampleHandler handler = handler(2, NEVER);
+    routes.put(1L, "/users/{id}");
+    routes.put(2L, "/orders");
+
+    handler.accept(sample(1, "app.Main.run", "app.Users.get"));
+    handler.accept(sample(2, "app.Main.run", "app.Orders.list"));
+    handler.accept(sample(1, "app.Main.run", "app.Users.update"));
+    handler.accept(sample(2, "app.Main.run", "app.Users.get"));
+    // stacks that are already counted keep being counted
+    handler.accept(sample(1, "app.Main.run", "app.Users.get"));
+    handler.flush();
+
+    assertThat(profiles())
+        .containsExactlyInAnyOrder(
+            "/users/{id} app.Main.run;app.Users.get 2", "/orders app.Main.run;app.Orders.list 1");
+
+    exporter.reset();
+    handler.accept(sample(1, "app.Main.run", "app.Users.update"));
+    handler.flush();
+
+    assertThat(profiles()).containsExactly("/users/{id} app.Main.run;app.Users.update 1");
+  }
+
+  @Test
+  void flushesOnATimer() {
+    ExecutionSampleHandler handler = handler(100, Duration.ofMillis(100));
+    routes.put(1L, "/users/{id}");
+
+    handler.accept(sample(1, "app.Main.run", "app.Users.get"));
+
+    // without any further samples
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(profiles()).containsExactly("/users/{id} app.Main.run;app.Users.get 1"));
+  }
+
+  @Test
+  void closeFlushes() {
+    ExecutionSampleHandler handler = handler(100, NEVER);
+    routes.put(1L, "/users/{id}");
+
+    handler.accept(sample(1, "app.Main.run", "app.Users.get"));
+    handlers.remove(handler);
+    handler.close();
+
+    assertThat(profiles()).containsExactly("/users/{id} app.Main.run;app.Users.get 1");
+  }
+
+  private ExecutionSampleHandler handler(int maxStacks, Duration flushInterval) {
+    ExecutionSampleHandler handler =
+        new ExecutionSampleHandler(
+            loggerProvider.get("test"),
+            (threadId, time) -> routes.get(threadId),
+            maxStacks,
+            flushInterval);
+    handlers.add(handler);
+    return handler;
+  }
+
+  // renders each emitted profile as "<route> <folded stack> <sample count>"
+  private List<String> profiles() {
+    return exporter.getFinishedLogRecordItems().stream()
+        .map(ExecutionSampleHandlerTest::profile)
+        .collect(Collectors.toList());
+  }
+
+  private static String profile(LogRecordData log) {
+    return log.getAttributes().get(HTTP_ROUTE)
+        + " "
+        + log.getBodyValue().asString()
+        + " "
+        + log.getAttributes().get(SAMPLE_COUNT);
+  }
+
+  // the methods are listed from the root, a null method is a frame without method information
+  private static RecordedEvent sample(long threadId, String... methods) {
+    List<RecordedFrame> frames = new ArrayList<>();
+    // JFR lists the frames from the leaf
+    for (int i = methods.length - 1; i >= 0; i--) {
+      RecordedMethod method = methods[i] == null ? null : method(methods[i]);
+      RecordedFrame frame = mock(RecordedFrame.class);
+      when(frame.getMethod()).thenReturn(method);
+      frames.add(frame);
+    }
+    RecordedStackTrace stackTrace = mock(RecordedStackTrace.class);
+    when(stackTrace.getFrames()).thenReturn(frames);
+    RecordedThread thread = mock(RecordedThread.class);
+    when(thread.getJavaThreadId()).thenReturn(threadId);
+
+    RecordedEvent event = mock(RecordedEvent.class);
+    when(event.getThread("sampledThread")).thenReturn(thread);
+    when(event.getStackTrace()).thenReturn(stackTrace);
+    when(event.getStartTime()).thenReturn(Instant.EPOCH);
+    return event;
+  }
+
+  private static RecordedMethod method(String qualifiedName) {
+    int separator = qualifiedName.lastIndexOf('.');
+    RecordedClass type = mock(RecordedClass.class);
+    when(type.getName()).thenReturn(qualifiedName.substring(0, separator));
+    RecordedMethod method = mock(RecordedMethod.class);
+    when(method.getType()).thenReturn(type);
+    when(method.getName()).thenReturn(qualifiedName.substring(separator + 1));
+    return method;
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.runtimetelemetry;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PackageCacheTest {
+
+  @Test
+  void entriesAreReloadedFromFile(@TempDir Path tempDir) throws IOException {
+    File archive = Files.write(tempDir.resolve("test.jar"), "content".getBytes(UTF_8)).toFile();
+    Path cacheFile = tempDir.resolve("packages.cache");
+
+    PackageCache cache = PackageCache.create(cacheFile);
+    cache.put(archive, entry(archive, "com.example:test", null));
+    cache.save();
+
+    PackageCache.Entry entry = PackageCache.create(cacheFile).get(archive);
+    assertThat(entry).isNotNull();
+    assertThat(entry.packageName).isEqualTo("com.example:test");
+    assertThat(entry.version).isNull();
+    assertThat(entry.packageDescription).isEqualTo("Test by Example");
+    assertThat(entry.sha256Checksum).isEqualTo("abc123");
+  }
+
+  @Test
+  void changedArchiveIsNotReturned(@TempDir Path tempDir) throws IOException {
+    File archive = Files.write(tempDir.resolve("test.jar"), "content".getBytes(UTF_8)).toFile();
+
+    PackageCache cache = PackageCache.create(null);
+    cache.put(archive, entry(archive, "com.example:test", "1.0"));
+    assertThat(cache.get(archive)).isNotNull();
+
+    Files.write(archive.toPath(), "changed content".getBytes(UTF_8));
+    assertThat(cache.get(archive)).isNull();
+  }
+
+  @Test
+  void corruptFileIsIgnored(@TempDir Path tempDir) throws IOException {
+    File archive = Files.write(tempDir.resolve("test.jar"), "content".getBytes(UTF_8)).toFile();
+    Path cacheFile = Files.write(tempDir.resolve("packages.cache"), new byte[] {0, 0, 0, 1, 0});
+
+    assertThat(PackageCache.create(cacheFile).get(archive)).isNull();
+  }
+
+  private static PackageCache.Entry entry(
+      File archive, String packageName, @Nullable String version) {
+    return new PackageCache.Entry(
+        archive.length(),
+        archive.lastModified(),
+        packageName,
+        version,
+        "Test by Example",
+        "abc123");
+  }
+}